@@ -14,10 +14,15 @@ import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.bindings.scripts.ScriptExecutor;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.events.AsyncEventListener;
+import io.cloudslang.lang.runtime.events.EventDispatchPolicy;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.api.Score;
 import io.cloudslang.score.api.TriggeringProperties;
 import io.cloudslang.score.events.EventBus;
@@ -28,10 +33,12 @@ import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static ch.lambdaj.Lambda.filter;
 import static org.hamcrest.Matchers.notNullValue;
@@ -53,6 +60,15 @@ public class SlangImpl implements Slang {
     private Score score;
     @Autowired
     private EventBus eventBus;
+    @Autowired
+    private ScriptExecutor scriptExecutor;
+
+    // when no policy is set, events are delivered on the threads firing them
+    private EventDispatchPolicy eventDispatchPolicy = getEventDispatchPolicy();
+    private int eventQueueSize = Integer.getInteger(SlangSystemPropertyConstant.CSLANG_EVENTS_QUEUE_SIZE.getValue(), 1024);
+    private int eventBatchSize = Integer.getInteger(SlangSystemPropertyConstant.CSLANG_EVENTS_BATCH_SIZE.getValue(), 64);
+    private int eventSampleRate = Integer.getInteger(SlangSystemPropertyConstant.CSLANG_EVENTS_SAMPLE_RATE.getValue(), 10);
+    private final Map<ScoreEventListener, AsyncEventListener> asyncListeners = new ConcurrentHashMap<>();
 
     @Override
     public CompilationArtifact compile(SlangSource source, Set<SlangSource> dependencies) {
@@ -61,7 +77,10 @@ public class SlangImpl implements Slang {
         Set<SlangSource> dependencySources = new HashSet<>(filter(notNullValue(), dependencies));
 
         try {
-            return compiler.compile(source, dependencySources);
+            CompilationArtifact compilationArtifact = compiler.compile(source, dependencySources);
+            // the python actions are compiled once per artifact, ahead of the runs triggering it
+            scriptExecutor.precompileActions(compilationArtifact);
+            return compilationArtifact;
         } catch (Exception e) {
             logger.error("Failed compilation for source : " + source.getFileName() + " ,Exception is : " + e.getMessage());
             throw new RuntimeException(e);
@@ -108,12 +127,27 @@ public class SlangImpl implements Slang {
 
     @Override
     public void subscribeOnEvents(ScoreEventListener eventListener, Set<String> eventTypes) {
-        eventBus.subscribe(eventListener, eventTypes);
+        ScoreEventListener subscribedListener = eventListener;
+        if (eventDispatchPolicy != null) {
+            subscribedListener = getAsyncListener(eventListener);
+        }
+        eventBus.subscribe(subscribedListener, eventTypes);
+        LanguageEventSubscriptions.subscribe(eventListener, eventTypes);
     }
 
     @Override
     public void unSubscribeOnEvents(ScoreEventListener eventListener) {
-        eventBus.unsubscribe(eventListener);
+        AsyncEventListener asyncListener = asyncListeners.remove(eventListener);
+        eventBus.unsubscribe(asyncListener == null ? eventListener : asyncListener);
+        LanguageEventSubscriptions.unsubscribe(eventListener);
+        if (asyncListener != null) {
+            try {
+                asyncListener.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while delivering the remaining events", e);
+            }
+        }
     }
 
     @Override
@@ -127,6 +161,29 @@ public class SlangImpl implements Slang {
         return compiler.loadSystemProperties(source);
     }
 
+    private synchronized AsyncEventListener getAsyncListener(ScoreEventListener eventListener) {
+        AsyncEventListener asyncListener = asyncListeners.get(eventListener);
+        if (asyncListener == null) {
+            asyncListener = new AsyncEventListener(eventListener, eventDispatchPolicy,
+                    eventQueueSize, eventBatchSize, eventSampleRate).start();
+            asyncListeners.put(eventListener, asyncListener);
+        }
+        return asyncListener;
+    }
+
+    private static EventDispatchPolicy getEventDispatchPolicy() {
+        String policy = System.getProperty(SlangSystemPropertyConstant.CSLANG_EVENTS_DISPATCH_POLICY.getValue());
+        if (policy == null || policy.isEmpty()) {
+            return null;
+        }
+        try {
+            return EventDispatchPolicy.valueOf(policy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown events dispatch policy: " + policy + ". Supported policies are: "
+                    + Arrays.toString(EventDispatchPolicy.values()), e);
+        }
+    }
+
     private Set<String> getAllEventTypes() {
         Set<String> eventTypes = new HashSet<>();
         eventTypes.add(EventConstants.SCORE_FINISHED_EVENT);
@@ -18,7 +18,9 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.runtime.bindings.scripts.ScriptExecutor;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import io.cloudslang.score.api.ExecutionPlan;
 import io.cloudslang.score.api.Score;
 import io.cloudslang.score.api.TriggeringProperties;
@@ -74,9 +76,12 @@ public class SlangImplTest {
     @Autowired
     private EventBus eventBus;
 
+    @Autowired
+    private ScriptExecutor scriptExecutor;
+
     @Before
     public void init(){
-        Mockito.reset(score, compiler);
+        Mockito.reset(score, compiler, scriptExecutor);
     }
 
     @Test
@@ -100,6 +105,7 @@ public class SlangImplTest {
         CompilationArtifact compilationArtifact = slang.compile(tempFile, new HashSet<SlangSource>());
         Assert.assertNotNull(compilationArtifact);
         Mockito.verify(compiler).compile(tempFile, new HashSet<SlangSource>());
+        Mockito.verify(scriptExecutor).precompileActions(emptyCompilationArtifact);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -163,6 +169,7 @@ public class SlangImplTest {
         Assert.assertNotNull(runEnv);
         Assert.assertTrue(triggeringProperties.getContext().containsKey(ScoreLangConstants.USER_INPUTS_KEY));
         Assert.assertTrue(runEnv.getSystemProperties().contains(expectedSystemProperty));
+        Mockito.verifyZeroInteractions(scriptExecutor);
     }
 
     @Test
@@ -278,6 +285,16 @@ public class SlangImplTest {
         public EventBus eventBus(){
             return Mockito.mock(EventBus.class);
         }
+
+        @Bean
+        public ScriptExecutor scriptExecutor() {
+            return Mockito.mock(ScriptExecutor.class);
+        }
+
+        @Bean
+        public PythonRuntimeService pythonRuntimeService() {
+            return Mockito.mock(PythonRuntimeService.class);
+        }
     }
 
 }
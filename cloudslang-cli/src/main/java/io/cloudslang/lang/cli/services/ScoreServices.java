@@ -13,8 +13,10 @@ import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.score.events.ScoreEventListener;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Bonczidai Levente
@@ -25,4 +27,5 @@ public interface ScoreServices {
     void subscribe(ScoreEventListener eventHandler, Set<String> eventTypes);
     Long trigger(CompilationArtifact compilationArtifact, Map<String, Value> inputs, Set<SystemProperty> systemProperties);
     Long triggerSync(CompilationArtifact compilationArtifact, Map<String, Value> inputs, Set<SystemProperty> systemProperties, boolean quiet, boolean debug);
+    Map<Long, String> triggerSyncBatch(CompilationArtifact compilationArtifact, List<Map<String, Value>> inputsList, Set<SystemProperty> systemProperties, long timeout, TimeUnit unit);
 }
@@ -18,10 +18,13 @@ import io.cloudslang.lang.entities.CompilationArtifact;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static io.cloudslang.lang.entities.ScoreLangConstants.*;
 
@@ -79,25 +82,77 @@ public class ScoreServicesImpl implements ScoreServices{
         scoreEventListener.setIsDebugMode(debug);
         slang.subscribeOnEvents(scoreEventListener, handlerTypes);
 
-        Long executionId = trigger(compilationArtifact, inputs, systemProperties);
-
-        while(!scoreEventListener.isFlowFinished()){
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException ignore) {}
+        Long executionId;
+        try {
+            executionId = trigger(compilationArtifact, inputs, systemProperties);
+            scoreEventListener.awaitFlowFinished();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the execution to finish", e);
+        } finally {
+            slang.unSubscribeOnEvents(scoreEventListener);
         }
-        slang.unSubscribeOnEvents(scoreEventListener);
 
         String errorMessageFlowExecution = scoreEventListener.getErrorMessage();
         if (StringUtils.isNotEmpty(errorMessageFlowExecution)) {
-
-            if (errorMessageFlowExecution.contains("supplied using a system property")) {
-                errorMessageFlowExecution += "\n\nA system property file can be included using --spf <path_to_file>";
-            }
             // exception occurred during flow execution
-            throw new RuntimeException(errorMessageFlowExecution);
+            throw new RuntimeException(addErrorMessageHint(errorMessageFlowExecution));
         }
 
         return executionId;
     }
+
+    /**
+     * This method will trigger a run of the flow for each of the given inputs, and wait for all of them to finish.
+     * @param compilationArtifact the artifact to trigger
+     * @param inputsList : flow inputs of each run
+     * @param timeout : maximum time to wait for all the runs to finish
+     * @return the error message of each run by its executionId, in trigger order. Runs with no error have an empty message
+     */
+    @Override
+    public Map<Long, String> triggerSyncBatch(CompilationArtifact compilationArtifact, List<Map<String, Value>> inputsList,
+                                              Set<SystemProperty> systemProperties, long timeout, TimeUnit unit) {
+        Set<String> handlerTypes = new HashSet<>();
+        handlerTypes.add(EventConstants.SCORE_FINISHED_EVENT);
+        handlerTypes.add(EventConstants.SCORE_ERROR_EVENT);
+        handlerTypes.add(EventConstants.SCORE_FAILURE_EVENT);
+        handlerTypes.add(SLANG_EXECUTION_EXCEPTION);
+
+        SyncTriggerEventListener scoreEventListener = new SyncTriggerEventListener();
+        slang.subscribeOnEvents(scoreEventListener, handlerTypes);
+
+        Map<Long, String> errorMessages = new LinkedHashMap<>();
+        try {
+            List<Long> executionIds = new ArrayList<>(inputsList.size());
+            for (Map<String, Value> inputs : inputsList) {
+                executionIds.add(trigger(compilationArtifact, inputs, systemProperties));
+            }
+
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            for (Long executionId : executionIds) {
+                long remaining = deadline - System.nanoTime();
+                if (!scoreEventListener.awaitExecutionFinished(executionId, remaining, TimeUnit.NANOSECONDS)) {
+                    throw new RuntimeException("Timed out waiting for execution: " + executionId + " to finish. " +
+                            errorMessages.size() + " out of " + executionIds.size() + " executions finished");
+                }
+                String errorMessage = scoreEventListener.getErrorMessage(executionId);
+                errorMessages.put(executionId, StringUtils.isEmpty(errorMessage) ? errorMessage : addErrorMessageHint(errorMessage));
+                scoreEventListener.removeExecution(executionId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the executions to finish", e);
+        } finally {
+            slang.unSubscribeOnEvents(scoreEventListener);
+        }
+
+        return errorMessages;
+    }
+
+    private String addErrorMessageHint(String errorMessage) {
+        if (errorMessage.contains("supplied using a system property")) {
+            errorMessage += "\n\nA system property file can be included using --spf <path_to_file>";
+        }
+        return errorMessage;
+    }
 }
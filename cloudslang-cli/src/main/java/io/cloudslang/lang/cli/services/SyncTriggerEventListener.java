@@ -14,6 +14,7 @@ import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.runtime.env.ExecutionPath;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.lang.runtime.events.ScoreEventUtils;
 import io.cloudslang.score.events.EventConstants;
 import io.cloudslang.score.events.ScoreEvent;
 import io.cloudslang.score.events.ScoreEventListener;
@@ -26,6 +27,10 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -48,7 +53,9 @@ public class SyncTriggerEventListener implements ScoreEventListener{
     public static final String FINISHED_WITH_RESULT = " finished with result: ";
 
     private AtomicBoolean flowFinished = new AtomicBoolean(false);
+    private CountDownLatch flowFinishedLatch = new CountDownLatch(1);
     private AtomicReference<String> errorMessage = new AtomicReference<>("");
+    private ConcurrentMap<Long, ExecutionCompletion> executions = new ConcurrentHashMap<>();
     private boolean isDebugMode = false;
 
     public void setIsDebugMode(boolean isDebugMode){
@@ -58,27 +65,59 @@ public class SyncTriggerEventListener implements ScoreEventListener{
         return flowFinished.get();
     }
 
+    /**
+     * Blocks until a flow listened to by this listener finished
+     */
+    public void awaitFlowFinished() throws InterruptedException {
+        flowFinishedLatch.await();
+    }
+
     public String getErrorMessage() {
         return errorMessage.get();
     }
 
+    /**
+     * Blocks until the given execution finished, or until the timeout elapsed.
+     * Events of the execution which arrived before this call are taken into account.
+     *
+     * @return true if the execution finished, false if the timeout elapsed first
+     */
+    public boolean awaitExecutionFinished(Long executionId, long timeout, TimeUnit unit) throws InterruptedException {
+        return getExecutionCompletion(executionId).finished.await(timeout, unit);
+    }
+
+    /**
+     * @return the error message of the given execution, or an empty string if it had no error
+     */
+    public String getErrorMessage(Long executionId) {
+        return getExecutionCompletion(executionId).errorMessage.get();
+    }
+
+    /**
+     * Stops tracking the given execution
+     */
+    public void removeExecution(Long executionId) {
+        executions.remove(executionId);
+    }
+
     @Override
     public synchronized void onEvent(ScoreEvent scoreEvent) throws InterruptedException {
         @SuppressWarnings("unchecked") Map<String,Serializable> data = (Map<String,Serializable>)scoreEvent.getData();
+        Long executionId = ScoreEventUtils.getExecutionId(scoreEvent);
         switch (scoreEvent.getEventType()){
             case EventConstants.SCORE_FINISHED_EVENT :
-                flowFinished.set(true);
+                setFlowFinished(executionId);
                 break;
             case EventConstants.SCORE_ERROR_EVENT :
-                errorMessage.set(SCORE_ERROR_EVENT_MSG + data.get(EventConstants.SCORE_ERROR_LOG_MSG) + " , " +
+                setErrorMessage(executionId, SCORE_ERROR_EVENT_MSG + data.get(EventConstants.SCORE_ERROR_LOG_MSG) + " , " +
                         data.get(EventConstants.SCORE_ERROR_MSG));
                 break;
             case EventConstants.SCORE_FAILURE_EVENT :
                 printWithColor(Ansi.Color.RED,FLOW_FINISHED_WITH_FAILURE_MSG);
-                flowFinished.set(true);
+                setFlowFinished(executionId);
                 break;
             case ScoreLangConstants.SLANG_EXECUTION_EXCEPTION:
-                errorMessage.set(SLANG_STEP_ERROR_MSG + data.get(LanguageEventData.EXCEPTION));
+                setErrorMessage(executionId, SLANG_STEP_ERROR_MSG + data.get(LanguageEventData.EXCEPTION));
                 break;
             case ScoreLangConstants.EVENT_STEP_START:
                 LanguageEventData eventData = (LanguageEventData) data;
@@ -119,12 +158,39 @@ public class SyncTriggerEventListener implements ScoreEventListener{
                 }
                 break;
             case ScoreLangConstants.EVENT_EXECUTION_FINISHED :
-                flowFinished.set(true);
+                setFlowFinished(executionId);
                 printFinishEvent(data);
                 break;
         }
     }
 
+    private void setFlowFinished(Long executionId) {
+        flowFinished.set(true);
+        flowFinishedLatch.countDown();
+        if (executionId != null) {
+            getExecutionCompletion(executionId).finished.countDown();
+        }
+    }
+
+    private void setErrorMessage(Long executionId, String message) {
+        errorMessage.set(message);
+        if (executionId != null) {
+            getExecutionCompletion(executionId).errorMessage.set(message);
+        }
+    }
+
+    private ExecutionCompletion getExecutionCompletion(Long executionId) {
+        ExecutionCompletion completion = executions.get(executionId);
+        if (completion == null) {
+            ExecutionCompletion newCompletion = new ExecutionCompletion();
+            completion = executions.putIfAbsent(executionId, newCompletion);
+            if (completion == null) {
+                completion = newCompletion;
+            }
+        }
+        return completion;
+    }
+
     public static Map<String, Serializable> extractNotEmptyOutputs(Map<String, Serializable> data) {
 
         Map<String, Serializable> originalOutputs = (Map<String, Serializable>) data.get(LanguageEventData.OUTPUTS);
@@ -165,5 +231,9 @@ public class SyncTriggerEventListener implements ScoreEventListener{
         AnsiConsole.out().print(ansi().fg(Ansi.Color.WHITE));
 
     }
-}
 
+    private static class ExecutionCompletion {
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private final AtomicReference<String> errorMessage = new AtomicReference<>("");
+    }
+}
@@ -36,9 +36,15 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static junit.framework.Assert.assertEquals;
 import static org.mockito.Matchers.anySetOf;
@@ -236,6 +242,76 @@ public class ScoreServicesImplTest {
         scoreServicesImpl.triggerSync(compilationArtifact, inputs, systemProperties, false, false);
     }
 
+    @Test (timeout = DEFAULT_TIMEOUT)
+    public void testTriggerSyncBatch() throws Exception {
+        CompilationArtifact compilationArtifact = mock(CompilationArtifact.class);
+        Set<SystemProperty> systemProperties  = Sets.newHashSet(
+                new SystemProperty("ns", "b", "c")
+        );
+        List<Map<String, Value>> inputsList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Value> inputs = new HashMap<>();
+            inputs.put("a", ValueFactory.create(i));
+            inputsList.add(inputs);
+        }
+        final ArgumentCaptor<ScoreEventListener> scoreEventListenerArg = ArgumentCaptor.forClass(ScoreEventListener.class);
+        doNothing().when(slang).subscribeOnEvents(scoreEventListenerArg.capture(), anySetOf(String.class));
+        final AtomicLong executionIds = new AtomicLong();
+
+        /* each run finishes from its own thread, the second one with an error */
+        when(slang.run(any(CompilationArtifact.class), anyMapOf(String.class, Value.class), anySetOf(SystemProperty.class)))
+                .thenAnswer(new Answer<Long>() {
+                    public Long answer(InvocationOnMock invocation) {
+                        final long executionId = executionIds.incrementAndGet();
+                        Thread eventDispatcherThread = new Thread() {
+                            public void run(){
+                                try {
+                                    Thread.sleep(DEFAULT_THREAD_SLEEP_TIME / executionId);
+                                    if (executionId == 2) {
+                                        LanguageEventData exceptionData = new LanguageEventData();
+                                        exceptionData.setExecutionId(executionId);
+                                        exceptionData.put(LanguageEventData.EXCEPTION, "exception message");
+                                        scoreEventListenerArg.getValue().onEvent(
+                                                new ScoreEvent(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION, exceptionData));
+                                    }
+                                    HashMap<String, Serializable> finishedData = new HashMap<>();
+                                    finishedData.put(EventConstants.EXECUTION_ID_CONTEXT, executionId);
+                                    scoreEventListenerArg.getValue().onEvent(
+                                            new ScoreEvent(EventConstants.SCORE_FINISHED_EVENT, finishedData));
+                                } catch (InterruptedException ignore) {}
+                            }
+                        };
+                        eventDispatcherThread.start();
+                        return executionId;
+                    }
+                });
+
+        Map<Long, String> errorMessages = scoreServicesImpl.triggerSyncBatch(
+                compilationArtifact, inputsList, systemProperties, DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), new ArrayList<>(errorMessages.keySet()));
+        assertEquals("", errorMessages.get(1L));
+        assertEquals(SyncTriggerEventListener.SLANG_STEP_ERROR_MSG + "exception message", errorMessages.get(2L));
+        assertEquals("", errorMessages.get(3L));
+        for (Map<String, Value> inputs : inputsList) {
+            verify(slang).run(compilationArtifact, inputs, systemProperties);
+        }
+        verify(slang).unSubscribeOnEvents(scoreEventListenerArg.getValue());
+    }
+
+    @Test (timeout = DEFAULT_TIMEOUT)
+    public void testTriggerSyncBatchTimeout() throws Exception {
+        CompilationArtifact compilationArtifact = mock(CompilationArtifact.class);
+        List<Map<String, Value>> inputsList = new ArrayList<>();
+        inputsList.add(new HashMap<String, Value>());
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Timed out waiting for execution: " + DEFAULT_EXECUTION_ID);
+
+        scoreServicesImpl.triggerSyncBatch(compilationArtifact, inputsList, new HashSet<SystemProperty>(),
+                DEFAULT_THREAD_SLEEP_TIME, TimeUnit.MILLISECONDS);
+    }
+
     @Configuration
     static class Config {
 
@@ -10,7 +10,10 @@
 
 package io.cloudslang.lang.cli.services;
 
+import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
 import org.junit.Assert;
@@ -25,6 +28,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Date: 2/26/2015
@@ -131,6 +135,24 @@ public class SyncTriggerEventListenerTest {
         Assert.assertTrue("outputs different than expected", MapUtils.isEmpty(actualFilteredOutputs));
     }
 
+    @Test
+    public void testCompletionIsTrackedByExecutionId() throws InterruptedException {
+        SyncTriggerEventListener listener = new SyncTriggerEventListener();
+        LanguageEventData exception = new LanguageEventData();
+        exception.setExecutionId(1L);
+        exception.put(LanguageEventData.EXCEPTION, "failed");
+        HashMap<String, Serializable> finished = new HashMap<>();
+        finished.put(EventConstants.EXECUTION_ID_CONTEXT, 1L);
+
+        listener.onEvent(new ScoreEvent(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION, exception));
+        listener.onEvent(new ScoreEvent(EventConstants.SCORE_FINISHED_EVENT, finished));
+
+        Assert.assertTrue(listener.awaitExecutionFinished(1L, 0, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(SyncTriggerEventListener.SLANG_STEP_ERROR_MSG + "failed", listener.getErrorMessage(1L));
+        Assert.assertFalse(listener.awaitExecutionFinished(2L, 10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals("", listener.getErrorMessage(2L));
+    }
+
     @Configuration
     static class Config {
 
@@ -9,6 +9,8 @@ import io.cloudslang.lang.compiler.modeller.MetadataModeller;
 import io.cloudslang.lang.compiler.modeller.MetadataModellerImpl;
 import io.cloudslang.lang.compiler.parser.MetadataParser;
 import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
+import io.cloudslang.lang.runtime.bindings.scripts.ScriptExecutor;
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import io.cloudslang.score.api.Score;
 import io.cloudslang.score.events.EventBus;
 import org.junit.Assert;
@@ -122,6 +124,16 @@ public class MetadataHelperTest {
             return mock(EventBus.class);
         }
 
+        @Bean
+        public ScriptExecutor scriptExecutor() {
+            return mock(ScriptExecutor.class);
+        }
+
+        @Bean
+        public PythonRuntimeService pythonRuntimeService() {
+            return mock(PythonRuntimeService.class);
+        }
+
         @Bean
         public MetadataExtractor metadataExtractor() {
             return new MetadataExtractorImpl();
@@ -44,6 +44,16 @@ public interface SlangCompiler {
      */
     ExecutableModellingResult preCompileSource(SlangSource source);
 
+    /**
+     * Pre-compile CloudSlang sources into {@link ExecutableModellingResult}s.
+     * The sources are pre-compiled in parallel when the <code>cslang.compiler.parallelism</code>
+     * system property is greater than one.
+     * @param sources the {@link SlangSource}s
+     * @return the results in the order of the given sources. An exception thrown while pre-compiling
+     * a source is returned as the only error of its result.
+     */
+    List<ExecutableModellingResult> preCompileSources(List<SlangSource> sources);
+
     /**
      * Validate that the given {@Link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
      * its wiring to its dependencies
@@ -8,6 +8,7 @@
  */
 package io.cloudslang.lang.compiler;
 
+import io.cloudslang.lang.compiler.caching.ModellingResultCache;
 import io.cloudslang.lang.compiler.modeller.SlangModeller;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
@@ -16,14 +17,18 @@ import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.compiler.validator.CompileValidator;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.utils.SetUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.Validate;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -32,6 +37,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static io.cloudslang.lang.compiler.SlangTextualKeys.SENSITIVE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.VALUE_KEY;
@@ -61,47 +70,125 @@ public class SlangCompilerImpl implements SlangCompiler {
     @Autowired
     private CompileValidator compileValidator;
 
-    @Override
-    public CompilationArtifact compile(SlangSource source, Set<SlangSource> dependencySources) {
+    private final ModellingResultCache modellingResultCache = createModellingResultCache();
 
-        Executable executable = preCompile(source);
+    private int parallelism = Integer.getInteger(SlangSystemPropertyConstant.CSLANG_COMPILER_PARALLELISM.getValue(), 1);
 
-        // we transform also all of the files in the given dependency sources to model objects
-        Map<Executable, SlangSource> executablePairs = new HashMap<>();
-        executablePairs.put(executable, source);
+    private ForkJoinPool preCompilePool;
 
+    @Override
+    public CompilationArtifact compile(SlangSource source, Set<SlangSource> dependencySources) {
+        List<SlangSource> sources = new ArrayList<>();
+        sources.add(source);
+        // we transform also all of the files in the given dependency sources to model objects
         if (CollectionUtils.isNotEmpty(dependencySources)) {
-            for (SlangSource currentSource : dependencySources) {
-                Executable preCompiledCurrentSource = preCompile(currentSource);
+            sources.addAll(dependencySources);
+        }
+        List<ExecutableModellingResult> results = preCompileSources(sources);
 
-                compileValidator.validateNoDuplicateExecutables(preCompiledCurrentSource, currentSource, executablePairs);
+        Executable executable = getExecutable(results.get(0));
+        Set<Executable> executables = new HashSet<>();
+        executables.add(executable);
+        Map<String, SlangSource> sourcesByExecutableId = new HashMap<>();
+        compileValidator.validateNoDuplicateExecutables(executable, source, sourcesByExecutableId);
 
-                executablePairs.put(preCompiledCurrentSource, currentSource);
-            }
+        for (int i = 1; i < sources.size(); i++) {
+            SlangSource currentSource = sources.get(i);
+            Executable preCompiledCurrentSource = getExecutable(results.get(i));
+
+            compileValidator.validateNoDuplicateExecutables(preCompiledCurrentSource, currentSource, sourcesByExecutableId);
+
+            executables.add(preCompiledCurrentSource);
         }
 
-        executablePairs.remove(executable);
-        return scoreCompiler.compile(executable, executablePairs.keySet());
+        executables.remove(executable);
+        return scoreCompiler.compile(executable, executables);
     }
 
     @Override
     public Executable preCompile(SlangSource source) {
-        ExecutableModellingResult result = preCompileSource(source);
-        if (result.getErrors().size() > 0) {
-            throw result.getErrors().get(0);
-        }
-        return result.getExecutable();
+        return getExecutable(preCompileSource(source));
     }
 
     @Override
     public ExecutableModellingResult preCompileSource(SlangSource source) {
         Validate.notNull(source, "You must supply a source to compile");
 
-        //first thing we parse the yaml file into java maps
-        ParsedSlang parsedSlang = yamlParser.parse(source);
+        ExecutableModellingResult result = modellingResultCache.get(source);
+        if (result == null) {
+            //first thing we parse the yaml file into java maps
+            ParsedSlang parsedSlang = yamlParser.parse(source);
 
-        // Then we transform the parsed Slang source to a Slang model
-        return slangModeller.createModel(parsedSlang);
+            // Then we transform the parsed Slang source to a Slang model
+            result = slangModeller.createModel(parsedSlang);
+            modellingResultCache.put(source, result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<ExecutableModellingResult> preCompileSources(List<SlangSource> sources) {
+        List<ExecutableModellingResult> results = new ArrayList<>(sources.size());
+        if (getParallelism() <= 1 || sources.size() <= 1) {
+            for (SlangSource source : sources) {
+                results.add(safePreCompileSource(source));
+            }
+            return results;
+        }
+
+        List<Callable<ExecutableModellingResult>> tasks = new ArrayList<>(sources.size());
+        for (final SlangSource source : sources) {
+            tasks.add(new Callable<ExecutableModellingResult>() {
+                @Override
+                public ExecutableModellingResult call() {
+                    return safePreCompileSource(source);
+                }
+            });
+        }
+        // invokeAll returns the futures in the order of the tasks, keeping the errors order deterministic
+        for (Future<ExecutableModellingResult> future : getPreCompilePool().invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Pre-compilation was interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new RuntimeException("Error pre-compiling sources: " + ex.getCause().getMessage(), ex.getCause());
+            }
+        }
+        return results;
+    }
+
+    public synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism the number of sources pre-compiled concurrently by {@link #preCompileSources(List)}
+     */
+    public synchronized void setParallelism(int parallelism) {
+        Validate.isTrue(parallelism > 0, "Parallelism must be positive");
+        if (parallelism != this.parallelism && preCompilePool != null) {
+            preCompilePool.shutdown();
+            preCompilePool = null;
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Stops the pre-compilation threads when the context is closed. A later call to {@link #preCompileSources(List)}
+     * starts a new pool.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (preCompilePool != null) {
+            preCompilePool.shutdown();
+            preCompilePool = null;
+        }
+    }
+
+    public ModellingResultCache getModellingResultCache() {
+        return modellingResultCache;
     }
 
     @Override
@@ -122,6 +209,37 @@ public class SlangCompilerImpl implements SlangCompiler {
         }
     }
 
+    private ExecutableModellingResult safePreCompileSource(SlangSource source) {
+        try {
+            return preCompileSource(source);
+        } catch (RuntimeException ex) {
+            List<RuntimeException> errors = new ArrayList<>();
+            errors.add(ex);
+            return new ExecutableModellingResult(null, errors);
+        }
+    }
+
+    private Executable getExecutable(ExecutableModellingResult result) {
+        if (result.getErrors().size() > 0) {
+            throw result.getErrors().get(0);
+        }
+        return result.getExecutable();
+    }
+
+    private synchronized ForkJoinPool getPreCompilePool() {
+        if (preCompilePool == null) {
+            preCompilePool = new ForkJoinPool(parallelism);
+        }
+        return preCompilePool;
+    }
+
+    private static ModellingResultCache createModellingResultCache() {
+        long maximumSize = Long.getLong(
+                SlangSystemPropertyConstant.CSLANG_COMPILER_CACHE_SIZE.getValue(), ModellingResultCache.DEFAULT_MAXIMUM_SIZE);
+        String cacheDirectory = System.getProperty(SlangSystemPropertyConstant.CSLANG_COMPILER_CACHE_DIR.getValue());
+        return new ModellingResultCache(maximumSize, StringUtils.isEmpty(cacheDirectory) ? null : new File(cacheDirectory));
+    }
+
     private ParsedSlang parseSystemPropertiesFile(SlangSource source) {
         ParsedSlang parsedSlang = yamlParser.parse(source);
         if (!ParsedSlang.Type.SYSTEM_PROPERTY_FILE.equals(parsedSlang.getType())) {
@@ -45,6 +45,8 @@ public interface SlangTextualKeys {
     String PUBLISH_KEY = "publish";
     String NAVIGATION_KEY = "navigate";
     String PARALLEL_LOOP_KEY = "parallel_loop";
+    String MAX_PARALLELISM_KEY = "max_parallelism";
+    String CHUNK_SIZE_KEY = "chunk_size";
 
     //inputs
     String VALUE_KEY = "value";
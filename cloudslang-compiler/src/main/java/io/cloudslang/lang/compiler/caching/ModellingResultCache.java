@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.bindings.InOutParam;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of {@link ExecutableModellingResult}s keyed by a hash of the source content and file name,
+ * and of the classes of the compiler, so a source is parsed and modelled again only when it or the compiler changes.
+ *
+ * Results are kept serialized and every lookup returns a new copy, since the compiler
+ * alters the models it is given. When a cache directory is set the results are also written to it,
+ * one file per content hash, making the directory a persistent index shared between runs.
+ * Entries that cannot be read back are ignored.
+ */
+public class ModellingResultCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 5000;
+
+    private static final String MODEL_FILE_EXTENSION = ".model";
+    private static final String FORMAT_VERSION = "1";
+
+    private static final Logger logger = Logger.getLogger(ModellingResultCache.class);
+
+    private static volatile String classesFingerprint;
+
+    private final Cache<String, byte[]> cache;
+    private final File cacheDirectory;
+    private final String compilerFingerprint;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public ModellingResultCache() {
+        this(DEFAULT_MAXIMUM_SIZE, null);
+    }
+
+    /**
+     * @param maximumSize the maximum number of results kept in memory
+     * @param cacheDirectory the directory the results are persisted to, or null to keep them only in memory
+     */
+    public ModellingResultCache(long maximumSize, File cacheDirectory) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.cacheDirectory = cacheDirectory;
+        this.compilerFingerprint = getCompilerFingerprint();
+    }
+
+    public ExecutableModellingResult get(SlangSource source) {
+        String key = createKey(source);
+        byte[] serializedResult = cache.getIfPresent(key);
+        if (serializedResult == null) {
+            serializedResult = readFromDisk(key);
+            if (serializedResult != null) {
+                cache.put(key, serializedResult);
+            }
+        }
+        ExecutableModellingResult result = deserialize(key, serializedResult);
+        if (result == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    public void put(SlangSource source, ExecutableModellingResult result) {
+        byte[] serializedResult;
+        try {
+            serializedResult = SerializationUtils.serialize(result);
+        } catch (SerializationException ex) {
+            logger.debug("Modelling result of source: " + source.getFileName() + " cannot be cached", ex);
+            return;
+        }
+        String key = createKey(source);
+        cache.put(key, serializedResult);
+        writeToDisk(key, serializedResult);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private String createKey(SlangSource source) {
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(FORMAT_VERSION, StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(compilerFingerprint, StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(String.valueOf(source.getFileName()), StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(String.valueOf(source.getFileExtension()), StandardCharsets.UTF_8)
+                .putChar('\0')
+                .putString(source.getSource(), StandardCharsets.UTF_8);
+        return hasher.hash().toString();
+    }
+
+    /**
+     * The version of the compiler is the same for all its development and snapshot builds,
+     * so the classes of the compiler and of the entities it models are hashed instead, once.
+     */
+    static String getCompilerFingerprint() {
+        if (classesFingerprint == null) {
+            Hasher hasher = Hashing.sha256().newHasher();
+            putCodeSource(hasher, ModellingResultCache.class);
+            putCodeSource(hasher, InOutParam.class);
+            classesFingerprint = hasher.hash().toString();
+        }
+        return classesFingerprint;
+    }
+
+    /**
+     * Hashes the jar or the classes directory the given class is loaded from. When it cannot be read,
+     * a value unique to this process is hashed instead, so its results are not shared with other runs.
+     */
+    private static void putCodeSource(Hasher hasher, Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        try {
+            if (location == null || !"file".equals(location.getProtocol())) {
+                throw new IOException("Code source of " + type.getName() + " is not a file: " + location);
+            }
+            putClasses(hasher, new File(location.toURI()));
+        } catch (IOException | URISyntaxException ex) {
+            logger.debug("Modelling results are not shared between runs, the compiler classes cannot be read", ex);
+            hasher.putString(UUID.randomUUID().toString(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * @param location a jar, or a directory of class files
+     */
+    static void putClasses(Hasher hasher, File location) throws IOException {
+        if (location.isDirectory()) {
+            List<File> classFiles = new ArrayList<>(FileUtils.listFiles(location, new String[]{"class"}, true));
+            Collections.sort(classFiles);
+            for (File classFile : classFiles) {
+                hasher.putString(location.toURI().relativize(classFile.toURI()).getPath(), StandardCharsets.UTF_8)
+                        .putChar('\0')
+                        .putBytes(FileUtils.readFileToByteArray(classFile));
+            }
+        } else {
+            hasher.putBytes(FileUtils.readFileToByteArray(location));
+        }
+    }
+
+    private ExecutableModellingResult deserialize(String key, byte[] serializedResult) {
+        if (serializedResult == null) {
+            return null;
+        }
+        try {
+            return (ExecutableModellingResult) SerializationUtils.deserialize(serializedResult);
+        } catch (SerializationException | ClassCastException ex) {
+            logger.debug("Ignoring unreadable cached modelling result: " + key, ex);
+            cache.invalidate(key);
+            return null;
+        }
+    }
+
+    private byte[] readFromDisk(String key) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        File modelFile = new File(cacheDirectory, key + MODEL_FILE_EXTENSION);
+        if (!modelFile.isFile()) {
+            return null;
+        }
+        try {
+            return FileUtils.readFileToByteArray(modelFile);
+        } catch (IOException ex) {
+            logger.debug("Error reading cached modelling result: " + modelFile.getPath(), ex);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, byte[] serializedResult) {
+        if (cacheDirectory == null) {
+            return;
+        }
+        File modelFile = new File(cacheDirectory, key + MODEL_FILE_EXTENSION);
+        try {
+            FileUtils.forceMkdir(cacheDirectory);
+            // write to a temporary file first so concurrent readers never see a partial entry
+            File temporaryFile = File.createTempFile(key, null, cacheDirectory);
+            try {
+                FileUtils.writeByteArrayToFile(temporaryFile, serializedResult);
+                Files.move(temporaryFile.toPath(), modelFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                FileUtils.deleteQuietly(temporaryFile);
+            }
+        } catch (IOException ex) {
+            logger.warn("Error writing cached modelling result: " + modelFile.getPath() + ". " + ex.getMessage());
+        }
+    }
+}
@@ -19,6 +19,7 @@ import io.cloudslang.lang.entities.utils.ApplicationContextProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.introspector.BeanAccess;
 
@@ -27,6 +28,7 @@ import org.yaml.snakeyaml.introspector.BeanAccess;
 public class SlangCompilerSpringConfig {
 
     @Bean
+    @Scope("prototype")
     public Yaml yaml() {
         Yaml yaml = new Yaml();
         yaml.setBeanAccess(BeanAccess.FIELD);
@@ -12,7 +12,6 @@ package io.cloudslang.lang.compiler.modeller;
 /*
  * Created by orius123 on 05/11/14.
  */
-import ch.lambdaj.Lambda;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Step;
@@ -30,10 +29,6 @@ import org.springframework.stereotype.Component;
 import java.io.Serializable;
 import java.util.*;
 
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static org.hamcrest.Matchers.equalTo;
-
 @Component
 public class DependenciesHelper {
 
@@ -49,16 +44,27 @@ public class DependenciesHelper {
     public Map<String, Executable> matchReferences(Executable executable, Collection<Executable> availableDependencies) {
         Validate.isTrue(executable.getType().equals(SlangTextualKeys.FLOW_TYPE), "Executable: \'" + executable.getId() + "\' is not a flow, therefore it has no references");
         Map<String, Executable> resolvedDependencies = new HashMap<>();
-        return fetchFlowReferences(executable, availableDependencies, resolvedDependencies);
+        return fetchFlowReferences(executable, indexById(availableDependencies), resolvedDependencies);
+    }
+
+    private Map<String, Executable> indexById(Collection<Executable> executables) {
+        Map<String, Executable> executablesById = new HashMap<>();
+        for (Executable executable : executables) {
+            // the first executable with a given id is the one matched
+            if (!executablesById.containsKey(executable.getId())) {
+                executablesById.put(executable.getId(), executable);
+            }
+        }
+        return executablesById;
     }
 
     private Map<String, Executable> fetchFlowReferences(Executable executable,
-                                                                Collection<Executable> availableDependencies,
+                                                                Map<String, Executable> availableDependencies,
                                                                 Map<String, Executable> resolvedDependencies) {
         for (String refId : executable.getExecutableDependencies()) {
             //if it is already in the references we do nothing
             if (resolvedDependencies.get(refId) == null) {
-                Executable matchingRef = Lambda.selectFirst(availableDependencies, having(on(Executable.class).getId(), equalTo(refId)));
+                Executable matchingRef = availableDependencies.get(refId);
                 if (matchingRef == null) {
                     throw new RuntimeException("Reference: \'" + refId + "\' in executable: \'"
                             + executable.getName() + "\', wasn't found in path");
@@ -23,6 +23,7 @@ import io.cloudslang.lang.compiler.modeller.result.WorkflowModellingResult;
 import io.cloudslang.lang.compiler.modeller.transformers.Transformer;
 import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.validator.PreCompileValidator;
+import io.cloudslang.lang.entities.ParallelLoopStatement;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Argument;
 import io.cloudslang.lang.entities.bindings.Input;
@@ -55,7 +56,9 @@ import static ch.lambdaj.Lambda.filter;
 import static ch.lambdaj.Lambda.having;
 import static ch.lambdaj.Lambda.on;
 import static org.hamcrest.Matchers.equalTo;
+import static io.cloudslang.lang.compiler.SlangTextualKeys.CHUNK_SIZE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.FOR_KEY;
+import static io.cloudslang.lang.compiler.SlangTextualKeys.MAX_PARALLELISM_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.NAVIGATION_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.ON_FAILURE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.PARALLEL_LOOP_KEY;
@@ -98,10 +101,13 @@ public class ExecutableBuilder {
 
     private List<Transformer> preStepTransformers;
     private List<Transformer> postStepTransformers;
-    private List<String> stepAdditionalKeyWords = Arrays.asList(ScoreLangConstants.LOOP_KEY, SlangTextualKeys.DO_KEY, SlangTextualKeys.NAVIGATION_KEY);
+    private List<String> stepAdditionalKeyWords = Arrays.asList(ScoreLangConstants.LOOP_KEY, SlangTextualKeys.DO_KEY,
+            SlangTextualKeys.NAVIGATION_KEY, SlangTextualKeys.MAX_PARALLELISM_KEY, SlangTextualKeys.CHUNK_SIZE_KEY);
     private List<String> parallelLoopValidKeywords = Arrays.asList(
             SlangTextualKeys.DO_KEY,
-            SlangTextualKeys.FOR_KEY
+            SlangTextualKeys.FOR_KEY,
+            SlangTextualKeys.MAX_PARALLELISM_KEY,
+            SlangTextualKeys.CHUNK_SIZE_KEY
     );
 
     @PostConstruct
@@ -448,6 +454,9 @@ public class ExecutableBuilder {
         String errorMessagePrefix = "For step '" + stepName + "' syntax is illegal.\n";
         preStepData.putAll(transformersHandler.runTransformers(stepRawData, preStepTransformers, errors, errorMessagePrefix));
         postStepData.putAll(transformersHandler.runTransformers(stepRawData, postStepTransformers, errors, errorMessagePrefix));
+        if (stepRawData.containsKey(MAX_PARALLELISM_KEY) || stepRawData.containsKey(CHUNK_SIZE_KEY)) {
+            applyParallelLoopOptions(stepName, stepRawData, preStepData, errors);
+        }
 
         replaceOnFailureReference(postStepData, onFailureStepName);
 
@@ -483,6 +492,50 @@ public class ExecutableBuilder {
         return new StepModellingResult(step, errors);
     }
 
+    private void applyParallelLoopOptions(
+            String stepName,
+            Map<String, Object> stepRawData,
+            Map<String, Serializable> preStepData,
+            List<RuntimeException> errors) {
+        Serializable loopStatement = preStepData.get(PARALLEL_LOOP_KEY);
+        if (!(loopStatement instanceof ParallelLoopStatement)) {
+            String key = stepRawData.containsKey(MAX_PARALLELISM_KEY) ? MAX_PARALLELISM_KEY : CHUNK_SIZE_KEY;
+            errors.add(new RuntimeException("Step: " + stepName + " syntax is illegal.\n'" +
+                    key + "' can only be used below the '" + PARALLEL_LOOP_KEY + "' keyword."));
+            return;
+        }
+        int maxParallelism = getPositiveInteger(stepName, stepRawData, MAX_PARALLELISM_KEY, errors);
+        int chunkSize = getPositiveInteger(stepName, stepRawData, CHUNK_SIZE_KEY, errors);
+        if (maxParallelism < 0 || chunkSize < 0) {
+            return;
+        }
+        ParallelLoopStatement parallelLoopStatement = (ParallelLoopStatement) loopStatement;
+        preStepData.put(PARALLEL_LOOP_KEY, new ParallelLoopStatement(parallelLoopStatement.getVarName(),
+                parallelLoopStatement.getExpression(), maxParallelism, chunkSize));
+    }
+
+    /**
+     * @return the value of the key, 0 if the key is missing or -1 if the value is not a positive integer
+     */
+    private int getPositiveInteger(String stepName, Map<String, Object> stepRawData, String key, List<RuntimeException> errors) {
+        if (!stepRawData.containsKey(key)) {
+            return 0;
+        }
+        Object rawData = stepRawData.get(key);
+        int value;
+        try {
+            value = Integer.parseInt(String.valueOf(rawData).trim());
+        } catch (NumberFormatException ex) {
+            value = 0;
+        }
+        if (value <= 0) {
+            errors.add(new RuntimeException("Step: " + stepName + " syntax is illegal.\n'" +
+                    key + "' should be a positive integer, but was: " + rawData));
+            return -1;
+        }
+        return value;
+    }
+
     private void replaceOnFailureReference(
             Map<String, Serializable> postStepData,
             String onFailureStepName) {
@@ -26,6 +26,8 @@ import java.util.Set;
  */
 public class Decision extends Executable {
 
+    private static final long serialVersionUID = 1L;
+
     public Decision(
             Map<String, Serializable> preExecActionData,
             Map<String, Serializable> postExecActionData,
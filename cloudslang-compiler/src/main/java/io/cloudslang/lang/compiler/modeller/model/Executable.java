@@ -22,7 +22,9 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 /*
  * Created by orius123 on 05/11/14.
  */
-public abstract class Executable {
+public abstract class Executable implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected final Map<String, Serializable> preExecActionData;
     protected final Map<String, Serializable> postExecActionData;
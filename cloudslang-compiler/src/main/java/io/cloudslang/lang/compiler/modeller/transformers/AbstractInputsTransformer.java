@@ -107,6 +107,7 @@ public abstract class AbstractInputsTransformer extends InOutTransformer {
                 .withPrivateInput(privateInput)
                 .withFunctionDependencies(dependencyAccumulator.getFunctionDependencies())
                 .withSystemPropertyDependencies(dependencyAccumulator.getSystemPropertyDependencies())
+                .withVariableDependencies(dependencyAccumulator.getVariableDependencies())
                 .build();
     }
 
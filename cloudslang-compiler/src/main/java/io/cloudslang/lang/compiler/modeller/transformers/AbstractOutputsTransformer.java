@@ -111,12 +111,13 @@ public class AbstractOutputsTransformer  extends InOutTransformer {
                 outputName,
                 ValueFactory.create(outputExpression, sensitive),
                 accumulator.getFunctionDependencies(),
-                accumulator.getSystemPropertyDependencies()
+                accumulator.getSystemPropertyDependencies(),
+                accumulator.getVariableDependencies()
         );
     }
 
     private Output createRefOutput(String rawOutput) {
-        return new Output(rawOutput, ValueFactory.create(transformNameToExpression(rawOutput)));
+        return createOutput(rawOutput, transformNameToExpression(rawOutput), false);
     }
 
     private String transformNameToExpression(String name) {
@@ -97,7 +97,8 @@ public class DoTransformer extends InOutTransformer implements Transformer<Map<S
                     entry.getKey(),
                     ValueFactory.create(entryValue),
                     accumulator.getFunctionDependencies(),
-                    accumulator.getSystemPropertyDependencies()
+                    accumulator.getSystemPropertyDependencies(),
+                    accumulator.getVariableDependencies()
             );
         }
         throw new RuntimeException("Could not transform step argument: " + rawArgument);
@@ -12,6 +12,7 @@
 package io.cloudslang.lang.compiler.modeller.transformers;
 
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.utils.ExpressionNamesScanner;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -29,6 +30,7 @@ public abstract class InOutTransformer {
         String expression = ExpressionUtils.extractExpression(value);
         Set<String> systemPropertyDependencies = new HashSet<>();
         Set<ScriptFunction> functionDependencies = new HashSet<>();
+        Set<String> variableDependencies = new HashSet<>();
         if (expression != null) {
             systemPropertyDependencies = ExpressionUtils.extractSystemProperties(expression);
             if (CollectionUtils.isNotEmpty(systemPropertyDependencies)) {
@@ -42,18 +44,22 @@ public abstract class InOutTransformer {
             if (checkEmptyFunctionFound) {
                 functionDependencies.add(ScriptFunction.CHECK_EMPTY);
             }
+            variableDependencies = ExpressionNamesScanner.findVariableNames(expression, getFunctionFound);
         }
-        return new Accumulator(functionDependencies, systemPropertyDependencies);
+        return new Accumulator(functionDependencies, systemPropertyDependencies, variableDependencies);
     }
 
     protected static class Accumulator {
 
         private final Set<ScriptFunction> functionDependencies;
         private final Set<String> systemPropertyDependencies;
+        private final Set<String> variableDependencies;
 
-        public Accumulator(Set<ScriptFunction> functionDependencies, Set<String> systemPropertyDependencies) {
+        public Accumulator(Set<ScriptFunction> functionDependencies, Set<String> systemPropertyDependencies,
+                           Set<String> variableDependencies) {
             this.functionDependencies = functionDependencies;
             this.systemPropertyDependencies = systemPropertyDependencies;
+            this.variableDependencies = variableDependencies;
         }
 
         public Set<ScriptFunction> getFunctionDependencies() {
@@ -64,6 +70,13 @@ public abstract class InOutTransformer {
             return systemPropertyDependencies;
         }
 
+        /**
+         * @return the variables the expression may read, or null if it may read any variable
+         */
+        public Set<String> getVariableDependencies() {
+            return variableDependencies;
+        }
+
     }
 
 }
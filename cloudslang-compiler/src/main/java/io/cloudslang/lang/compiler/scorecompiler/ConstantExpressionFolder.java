@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.scorecompiler;
+
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
+import io.cloudslang.lang.entities.utils.PythonTokenizer;
+import io.cloudslang.lang.entities.utils.PythonTokenizer.Token;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Folds the expressions which read no variable, such as <code>${ 'prefix' + '-' + 'suffix' }</code>,
+ * <code>${ True }</code> or <code>${ 5 * 60 }</code>, into the literal values the python interpreter
+ * gives for them, so they are not evaluated at every run:
+ * <pre>
+ *     expression  := conjunction ('or' conjunction)*
+ *     conjunction := negation ('and' negation)*
+ *     negation    := 'not' negation | comparison
+ *     comparison  := sum [('==' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;=') sum]
+ *     sum         := product (('+' | '-') product)*
+ *     product     := unary ('*' unary)*
+ *     unary       := ('-' | '+') unary | atom
+ *     atom        := 'string' | "string" | integer | True | False | None | '(' expression ')'
+ * </pre>
+ * An expression is folded only when its result is known to be the one the interpreter gives,
+ * so operations mixing types, integers out of the int range and strings which are not printable ASCII
+ * are left to the interpreter. Sensitive values are never folded.
+ */
+final class ConstantExpressionFolder {
+
+    // marks an expression whose value is left to the interpreter, null being the value of None
+    private static final Object NOT_CONSTANT = new Object();
+    private static final int MAX_STRING_LENGTH = 10000;
+
+    private ConstantExpressionFolder() {
+    }
+
+    /**
+     * @return the inputs, their constant default values folded. A default folded to None or to an empty
+     * string is kept, since the input binding tells those apart from an empty literal.
+     */
+    static List<Input> foldInputs(List<Input> inputs) {
+        List<Input> foldedInputs = null;
+        for (int i = 0; i < inputs.size(); i++) {
+            Input input = inputs.get(i);
+            Value value = foldValue(input.getValue());
+            if (value != null && value.get() != null && !value.get().equals("")) {
+                foldedInputs = foldedInputs == null ? new ArrayList<>(inputs) : foldedInputs;
+                foldedInputs.set(i, new Input.InputBuilder(input.getName(), value.get())
+                        .withRequired(input.isRequired())
+                        .withPrivateInput(input.isPrivateInput())
+                        .withFunctionDependencies(input.getFunctionDependencies())
+                        .withSystemPropertyDependencies(input.getSystemPropertyDependencies())
+                        .withVariableDependencies(new HashSet<String>())
+                        .build());
+            }
+        }
+        return foldedInputs == null ? inputs : foldedInputs;
+    }
+
+    static List<Argument> foldArguments(List<Argument> arguments) {
+        List<Argument> foldedArguments = null;
+        for (int i = 0; i < arguments.size(); i++) {
+            Argument argument = arguments.get(i);
+            Value value = foldValue(argument.getValue());
+            if (value != null) {
+                foldedArguments = foldedArguments == null ? new ArrayList<>(arguments) : foldedArguments;
+                foldedArguments.set(i, new Argument(argument.getName(), value,
+                        argument.getFunctionDependencies(), argument.getSystemPropertyDependencies(), new HashSet<String>()));
+            }
+        }
+        return foldedArguments == null ? arguments : foldedArguments;
+    }
+
+    static List<Output> foldOutputs(List<Output> outputs) {
+        List<Output> foldedOutputs = null;
+        for (int i = 0; i < outputs.size(); i++) {
+            Output output = outputs.get(i);
+            Value value = foldValue(output.getValue());
+            if (value != null) {
+                foldedOutputs = foldedOutputs == null ? new ArrayList<>(outputs) : foldedOutputs;
+                foldedOutputs.set(i, new Output(output.getName(), value,
+                        output.getFunctionDependencies(), output.getSystemPropertyDependencies(), new HashSet<String>()));
+            }
+        }
+        return foldedOutputs == null ? outputs : foldedOutputs;
+    }
+
+    /**
+     * @return the results, their constant expressions folded to true or false so the result binding
+     * picks a constant true result, and skips a constant false one, without any evaluation.
+     * An expression which is not a boolean or an integer is kept for the binding to report.
+     */
+    static List<Result> foldResults(List<Result> results) {
+        List<Result> foldedResults = null;
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            Value value = foldValue(result.getValue());
+            Serializable content = value == null ? null : value.get();
+            if (content instanceof Integer) {
+                content = (Integer) content != 0;
+            }
+            if (content instanceof Boolean) {
+                foldedResults = foldedResults == null ? new ArrayList<>(results) : foldedResults;
+                foldedResults.set(i, new Result(result.getName(), ValueFactory.create(content),
+                        result.getFunctionDependencies(), result.getSystemPropertyDependencies(), new HashSet<String>()));
+            }
+        }
+        return foldedResults == null ? results : foldedResults;
+    }
+
+    /**
+     * @param rawValue the value, possibly an expression
+     * @return the literal value of a constant expression, or null if the value is not a constant expression
+     */
+    static Value foldValue(Value rawValue) {
+        if (rawValue == null || rawValue.isSensitive()) {
+            return null;
+        }
+        String expression = ExpressionUtils.extractExpression(rawValue.get());
+        if (expression == null) {
+            return null;
+        }
+        List<Token> tokens = PythonTokenizer.tokenize(expression);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        Parser parser = new Parser(tokens);
+        Object result = parser.parseExpression();
+        if (result == NOT_CONSTANT || !parser.isAtEnd()) {
+            return null;
+        }
+        // a folded string must not be read as an expression itself
+        if (ExpressionUtils.extractExpression((Serializable) result) != null) {
+            return null;
+        }
+        return ValueFactory.create((Serializable) result);
+    }
+
+    private static class Parser {
+
+        private final List<Token> tokens;
+        private int position;
+
+        private Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        private boolean isAtEnd() {
+            return position == tokens.size();
+        }
+
+        private Object parseExpression() {
+            Object left = parseConjunction();
+            while (left != NOT_CONSTANT && consumeName("or")) {
+                Object right = parseConjunction();
+                left = right == NOT_CONSTANT ? NOT_CONSTANT : isTrue(left) ? left : right;
+            }
+            return left;
+        }
+
+        private Object parseConjunction() {
+            Object left = parseNegation();
+            while (left != NOT_CONSTANT && consumeName("and")) {
+                Object right = parseNegation();
+                left = right == NOT_CONSTANT ? NOT_CONSTANT : isTrue(left) ? right : left;
+            }
+            return left;
+        }
+
+        private Object parseNegation() {
+            if (consumeName("not")) {
+                Object operand = parseNegation();
+                return operand == NOT_CONSTANT ? NOT_CONSTANT : !isTrue(operand);
+            }
+            return parseComparison();
+        }
+
+        private Object parseComparison() {
+            Object left = parseSum();
+            Token operator = peek();
+            if (left == NOT_CONSTANT || operator == null || !isComparisonOperator(operator)) {
+                return left;
+            }
+            position++;
+            Object right = parseSum();
+            return right == NOT_CONSTANT ? NOT_CONSTANT : compare(operator.getText(), left, right);
+        }
+
+        private Object parseSum() {
+            Object left = parseProduct();
+            while (left != NOT_CONSTANT && (isOperator(peek(), "+") || isOperator(peek(), "-"))) {
+                String operator = tokens.get(position++).getText();
+                Object right = parseProduct();
+                if (right == NOT_CONSTANT) {
+                    return NOT_CONSTANT;
+                }
+                if ("+".equals(operator) && left instanceof String && right instanceof String) {
+                    left = limitLength((String) left + right);
+                } else if (left instanceof Integer && right instanceof Integer) {
+                    long sum = "+".equals(operator) ? (long) (Integer) left + (Integer) right : (long) (Integer) left - (Integer) right;
+                    left = toInteger(sum);
+                } else {
+                    return NOT_CONSTANT;
+                }
+            }
+            return left;
+        }
+
+        private Object parseProduct() {
+            Object left = parseUnary();
+            while (left != NOT_CONSTANT && consumeOperator("*")) {
+                Object right = parseUnary();
+                if (right == NOT_CONSTANT) {
+                    return NOT_CONSTANT;
+                }
+                if (left instanceof Integer && right instanceof Integer) {
+                    left = toInteger((long) (Integer) left * (Integer) right);
+                } else if (left instanceof String && right instanceof Integer) {
+                    left = repeat((String) left, (Integer) right);
+                } else if (left instanceof Integer && right instanceof String) {
+                    left = repeat((String) right, (Integer) left);
+                } else {
+                    return NOT_CONSTANT;
+                }
+            }
+            return left;
+        }
+
+        private Object parseUnary() {
+            Token token = peek();
+            if (isOperator(token, "-") || isOperator(token, "+")) {
+                position++;
+                Object operand = parseUnary();
+                if (!(operand instanceof Integer)) {
+                    return NOT_CONSTANT;
+                }
+                return token.isOperator("-") ? toInteger(-(long) (Integer) operand) : operand;
+            }
+            return parseAtom();
+        }
+
+        private Object parseAtom() {
+            Token token = peek();
+            if (token == null) {
+                return NOT_CONSTANT;
+            }
+            position++;
+            switch (token.getType()) {
+                case STRING:
+                    return parseString(token);
+                case NUMBER:
+                    return parseNumber(token.getText());
+                case OPERATOR:
+                    if (token.isOperator("(")) {
+                        Object result = parseExpression();
+                        return consumeOperator(")") ? result : NOT_CONSTANT;
+                    }
+                    return NOT_CONSTANT;
+                case NAME:
+                    switch (token.getText()) {
+                        case "True":
+                            return true;
+                        case "False":
+                            return false;
+                        case "None":
+                            return null;
+                        default:
+                            return NOT_CONSTANT;
+                    }
+                default:
+                    return NOT_CONSTANT;
+            }
+        }
+
+        private boolean consumeName(String name) {
+            Token token = peek();
+            if (token != null && token.isName(name)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consumeOperator(String operator) {
+            if (isOperator(peek(), operator)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+    }
+
+    private static Object parseNumber(String token) {
+        // python reads a leading zero as an octal number, and a number out of the int range as a long
+        if (token.length() > 1 && token.startsWith("0") || token.length() > 10) {
+            return NOT_CONSTANT;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+                return NOT_CONSTANT;
+            }
+        }
+        return toInteger(Long.parseLong(token));
+    }
+
+    /**
+     * Only plain literals of printable ASCII characters are folded, their escapes limited to
+     * <code>\\ \' \" \n \t</code>, since the interpreter gives other literals a different type or encoding.
+     */
+    private static Object parseString(Token token) {
+        if (!token.getStringPrefix().isEmpty() || token.isTripleQuoted() || !token.isTerminated()) {
+            return NOT_CONSTANT;
+        }
+        String content = token.getContent();
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < ' ' || c > '~') {
+                return NOT_CONSTANT;
+            }
+            if (c == '\\' && ++i < content.length() && "\\'\"nt".indexOf(content.charAt(i)) < 0) {
+                return NOT_CONSTANT;
+            }
+        }
+        String value = token.getStringValue();
+        return value == null ? NOT_CONSTANT : value;
+    }
+
+    private static Object compare(String operator, Object left, Object right) {
+        switch (operator) {
+            case "==":
+            case "!=":
+                // python compares booleans and integers by value
+                if (left instanceof Boolean && right instanceof Integer || left instanceof Integer && right instanceof Boolean) {
+                    return NOT_CONSTANT;
+                }
+                boolean equal = left == null ? right == null : left.equals(right);
+                return "==".equals(operator) == equal;
+            default:
+                int comparison;
+                if (left instanceof Integer && right instanceof Integer) {
+                    comparison = ((Integer) left).compareTo((Integer) right);
+                } else if (left instanceof String && right instanceof String) {
+                    comparison = ((String) left).compareTo((String) right);
+                } else {
+                    return NOT_CONSTANT;
+                }
+                switch (operator) {
+                    case "<":
+                        return comparison < 0;
+                    case "<=":
+                        return comparison <= 0;
+                    case ">":
+                        return comparison > 0;
+                    default:
+                        return comparison >= 0;
+                }
+        }
+    }
+
+    private static boolean isComparisonOperator(Token token) {
+        return token.isOperator("==") || token.isOperator("!=") || token.isOperator("<") || token.isOperator("<=") ||
+                token.isOperator(">") || token.isOperator(">=");
+    }
+
+    private static boolean isOperator(Token token, String operator) {
+        return token != null && token.isOperator(operator);
+    }
+
+    private static boolean isTrue(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Integer) {
+            return (Integer) value != 0;
+        }
+        if (value instanceof String) {
+            return !((String) value).isEmpty();
+        }
+        return false;
+    }
+
+    private static Object toInteger(long value) {
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_CONSTANT : (Object) (int) value;
+    }
+
+    private static Object repeat(String text, int count) {
+        if ((long) text.length() * count > MAX_STRING_LENGTH) {
+            return NOT_CONSTANT;
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            result.append(text);
+        }
+        return result.toString();
+    }
+
+    private static Object limitLength(String text) {
+        return text.length() > MAX_STRING_LENGTH ? NOT_CONSTANT : text;
+    }
+}
@@ -11,12 +11,21 @@
 package io.cloudslang.lang.compiler.scorecompiler;
 
 import ch.lambdaj.Lambda;
+import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.model.Decision;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
 import io.cloudslang.lang.compiler.modeller.model.Operation;
 import io.cloudslang.lang.compiler.modeller.model.Step;
 import io.cloudslang.lang.entities.ExecutableType;
+import io.cloudslang.lang.entities.ListForLoopStatement;
+import io.cloudslang.lang.entities.MapForLoopStatement;
+import io.cloudslang.lang.entities.ParallelLoopStatement;
 import io.cloudslang.lang.entities.ResultNavigation;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+import io.cloudslang.lang.entities.VariableLayout;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
 import io.cloudslang.score.api.ExecutionPlan;
 import io.cloudslang.score.api.ExecutionStep;
@@ -24,11 +33,14 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static ch.lambdaj.Lambda.having;
 import static ch.lambdaj.Lambda.on;
@@ -49,6 +61,15 @@ public class ExecutionPlanBuilder {
     private static final long FLOW_END_STEP_ID = 0L;
     private static final long FLOW_START_STEP_ID = 1L;
 
+    // Flow plans carry a VariableLayout, and their contexts are backed by slots, when the
+    // cslang.compiler.variable.slots system property is true. Only nodes having VariableLayout and SlotMap
+    // can run those plans and read their run environments, so it should be enabled once every node
+    // of the cluster is upgraded.
+    private boolean variableSlots = Boolean.getBoolean(
+            SlangSystemPropertyConstant.CSLANG_COMPILER_VARIABLE_SLOTS.getValue());
+    private boolean constantFolding = Boolean.parseBoolean(
+            System.getProperty(SlangSystemPropertyConstant.CSLANG_COMPILER_CONSTANT_FOLDING.getValue(), "true"));
+
     public ExecutionPlan createOperationExecutionPlan(Operation compiledOp) {
         ExecutionPlan executionPlan = new ExecutionPlan();
         executionPlan.setName(compiledOp.getName());
@@ -57,11 +78,11 @@ public class ExecutionPlanBuilder {
 
         executionPlan.setBeginStep(1L);
 
-        executionPlan.addStep(stepFactory.createStartStep(1L, compiledOp.getPreExecActionData(), compiledOp.getInputs(),
+        executionPlan.addStep(stepFactory.createStartStep(1L, compiledOp.getPreExecActionData(), foldInputs(compiledOp.getInputs()),
                 compiledOp.getName()));
         executionPlan.addStep(stepFactory.createActionStep(2L, compiledOp.getAction().getActionData()));
-        executionPlan.addStep(stepFactory.createEndStep(3L, compiledOp.getPostExecActionData(), compiledOp.getOutputs(),
-                compiledOp.getResults(), compiledOp.getName(), ExecutableType.OPERATION));
+        executionPlan.addStep(stepFactory.createEndStep(3L, compiledOp.getPostExecActionData(), foldOutputs(compiledOp.getOutputs()),
+                foldResults(compiledOp.getResults()), compiledOp.getName(), ExecutableType.OPERATION));
         return executionPlan;
     }
 
@@ -75,13 +96,14 @@ public class ExecutionPlanBuilder {
 
         executionPlan.addStep(
                 stepFactory.createStartStep(
-                        1L, compiledDecision.getPreExecActionData(), compiledDecision.getInputs(), compiledDecision.getName()
+                        1L, compiledDecision.getPreExecActionData(), foldInputs(compiledDecision.getInputs()),
+                        compiledDecision.getName()
                 )
         );
         executionPlan.addStep(
                 stepFactory.createEndStep(
-                        2L, compiledDecision.getPostExecActionData(), compiledDecision.getOutputs(),
-                        compiledDecision.getResults(), compiledDecision.getName(), ExecutableType.DECISION
+                        2L, compiledDecision.getPostExecActionData(), foldOutputs(compiledDecision.getOutputs()),
+                        foldResults(compiledDecision.getResults()), compiledDecision.getName(), ExecutableType.DECISION
                 )
         );
         return executionPlan;
@@ -95,11 +117,13 @@ public class ExecutionPlanBuilder {
 
         executionPlan.setBeginStep(FLOW_START_STEP_ID);
         //flow start step
+        VariableLayout variableLayout = variableSlots ? createVariableLayout(compiledFlow) : null;
         executionPlan.addStep(stepFactory.createStartStep(FLOW_START_STEP_ID, compiledFlow.getPreExecActionData(),
-                compiledFlow.getInputs(), compiledFlow.getName()));
+                foldInputs(compiledFlow.getInputs()), compiledFlow.getName(), variableLayout));
         //flow end step
         executionPlan.addStep(stepFactory.createEndStep(FLOW_END_STEP_ID, compiledFlow.getPostExecActionData(),
-                compiledFlow.getOutputs(), compiledFlow.getResults(), compiledFlow.getName(), ExecutableType.FLOW));
+                foldOutputs(compiledFlow.getOutputs()), foldResults(compiledFlow.getResults()), compiledFlow.getName(),
+                ExecutableType.FLOW));
 
         Map<String, Long> stepReferences = getStepReferences(compiledFlow);
 
@@ -115,6 +139,47 @@ public class ExecutionPlanBuilder {
         return executionPlan;
     }
 
+    /**
+     * Assigns a slot to every variable the flow context can be known to hold at compile time:
+     * the flow inputs, the loop variables and the outputs published by the steps.
+     * Other variables are kept by the context without a slot.
+     */
+    private VariableLayout createVariableLayout(Flow compiledFlow) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Input input : compiledFlow.getInputs()) {
+            names.add(input.getName());
+        }
+        Deque<Step> steps = compiledFlow.getWorkflow().getSteps();
+        if (steps != null) {
+            for (Step step : steps) {
+                addLoopVariableNames(names, step.getPreStepActionData());
+                @SuppressWarnings("unchecked")
+                List<Output> publishValues = (List<Output>) step.getPostStepActionData().get(SlangTextualKeys.PUBLISH_KEY);
+                if (publishValues != null) {
+                    for (Output publishValue : publishValues) {
+                        names.add(publishValue.getName());
+                    }
+                }
+            }
+        }
+        return new VariableLayout(names);
+    }
+
+    private void addLoopVariableNames(Set<String> names, Map<String, Serializable> preStepActionData) {
+        Serializable loop = preStepActionData.get(SlangTextualKeys.FOR_KEY);
+        if (loop == null) {
+            loop = preStepActionData.get(SlangTextualKeys.PARALLEL_LOOP_KEY);
+        }
+        if (loop instanceof ListForLoopStatement) {
+            names.add(((ListForLoopStatement) loop).getVarName());
+        } else if (loop instanceof MapForLoopStatement) {
+            names.add(((MapForLoopStatement) loop).getKeyName());
+            names.add(((MapForLoopStatement) loop).getValueName());
+        } else if (loop instanceof ParallelLoopStatement) {
+            names.add(((ParallelLoopStatement) loop).getVarName());
+        }
+    }
+
     private Map<String, Long> getStepReferences(Flow compiledFlow) {
         Map<String, Long> stepReferences = new HashMap<>();
         for (Result result : compiledFlow.getResults()) {
@@ -145,11 +210,12 @@ public class ExecutionPlanBuilder {
             );
         }
         stepExecutionSteps.add(
-                stepFactory.createBeginStepStep(currentId++, step.getArguments(),
+                stepFactory.createBeginStepStep(currentId++, foldArguments(step.getArguments()),
                         step.getPreStepActionData(), step.getRefId(), stepName)
         );
 
         //End Step
+        Map<String, Serializable> postStepActionData = foldPublishValues(step.getPostStepActionData());
         Map<String, ResultNavigation> navigationValues = new HashMap<>();
         for (Map<String, String> map : step.getNavigationStrings()) {
             Map.Entry<String, String> entry = map.entrySet().iterator().next();
@@ -167,22 +233,58 @@ public class ExecutionPlanBuilder {
         }
         if (parallelLoop) {
             stepExecutionSteps.add(
-                    stepFactory.createFinishStepStep(currentId++, step.getPostStepActionData(),
+                    stepFactory.createFinishStepStep(currentId++, postStepActionData,
                             new HashMap<String, ResultNavigation>(), stepName, true)
             );
             stepExecutionSteps.add(
-                    stepFactory.createJoinBranchesStep(currentId, step.getPostStepActionData(),
+                    stepFactory.createJoinBranchesStep(currentId, postStepActionData,
                             navigationValues, stepName)
             );
         } else {
             stepExecutionSteps.add(
-                    stepFactory.createFinishStepStep(currentId, step.getPostStepActionData(),
+                    stepFactory.createFinishStepStep(currentId, postStepActionData,
                             navigationValues, stepName, false)
             );
         }
         return stepExecutionSteps;
     }
 
+    void setVariableSlots(boolean variableSlots) {
+        this.variableSlots = variableSlots;
+    }
+
+    private List<Input> foldInputs(List<Input> inputs) {
+        return constantFolding && inputs != null ? ConstantExpressionFolder.foldInputs(inputs) : inputs;
+    }
+
+    private List<Argument> foldArguments(List<Argument> arguments) {
+        return constantFolding && arguments != null ? ConstantExpressionFolder.foldArguments(arguments) : arguments;
+    }
+
+    private List<Output> foldOutputs(List<Output> outputs) {
+        return constantFolding && outputs != null ? ConstantExpressionFolder.foldOutputs(outputs) : outputs;
+    }
+
+    private List<Result> foldResults(List<Result> results) {
+        return constantFolding && results != null ? ConstantExpressionFolder.foldResults(results) : results;
+    }
+
+    /**
+     * @return the post step data, with a copy of the publish values when some of them are folded
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Serializable> foldPublishValues(Map<String, Serializable> postStepActionData) {
+        List<Output> publishValues = postStepActionData == null ? null :
+                (List<Output>) postStepActionData.get(SlangTextualKeys.PUBLISH_KEY);
+        List<Output> foldedPublishValues = foldOutputs(publishValues);
+        if (foldedPublishValues == publishValues) {
+            return postStepActionData;
+        }
+        Map<String, Serializable> foldedPostStepActionData = new HashMap<>(postStepActionData);
+        foldedPostStepActionData.put(SlangTextualKeys.PUBLISH_KEY, (Serializable) foldedPublishValues);
+        return foldedPostStepActionData;
+    }
+
     private Long getCurrentId(Map<String, Long> stepReferences, Deque<Step> steps) {
         Long currentID;
 
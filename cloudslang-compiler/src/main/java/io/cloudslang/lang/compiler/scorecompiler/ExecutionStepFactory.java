@@ -14,6 +14,7 @@ import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.entities.ActionType;
 import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.VariableLayout;
 import io.cloudslang.lang.entities.bindings.Argument;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
@@ -80,6 +81,11 @@ public class ExecutionStepFactory {
 
     public ExecutionStep createStartStep(Long index, Map<String, Serializable> preExecutableData, List<Input>
             execInputs, String executableName) {
+        return createStartStep(index, preExecutableData, execInputs, executableName, null);
+    }
+
+    public ExecutionStep createStartStep(Long index, Map<String, Serializable> preExecutableData, List<Input>
+            execInputs, String executableName, VariableLayout variableLayout) {
         Validate.notNull(preExecutableData, "preExecutableData is null");
         Validate.notNull(execInputs, "Executable inputs are null");
         Map<String, Serializable> actionData = new HashMap<>();
@@ -87,6 +93,9 @@ public class ExecutionStepFactory {
         actionData.put(ScoreLangConstants.HOOKS, (Serializable) preExecutableData);
         actionData.put(ScoreLangConstants.NODE_NAME_KEY, executableName);
         actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, index + 1);
+        if (variableLayout != null) {
+            actionData.put(ScoreLangConstants.VARIABLE_LAYOUT_KEY, variableLayout);
+        }
         return createGeneralStep(index, OPERATION_STEPS_CLASS, "startExecutable", actionData);
     }
 
@@ -139,6 +148,7 @@ public class ExecutionStepFactory {
         actionData.put(ScoreLangConstants.REF_ID, refId);
         actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, nextStepID);
         actionData.put(ScoreLangConstants.BRANCH_BEGIN_STEP_ID_KEY, branchBeginStepID);
+        actionData.put(ScoreLangConstants.SPLIT_STEP_ID_KEY, currentStepID);
         actionData.put(ScoreLangConstants.PARALLEL_LOOP_STATEMENT_KEY, preStepData.get(SlangTextualKeys.PARALLEL_LOOP_KEY));
         ExecutionStep executionStep = createGeneralStep(currentStepID, PARALLEL_LOOP_STEPS_CLASS, "addBranches", actionData);
         executionStep.setSplitStep(true);
@@ -16,6 +16,13 @@ public interface CompileValidator {
 
     List<RuntimeException> validateModelWithDirectDependencies(Executable executable, Map<String, Executable> directDependencies);
 
-    void validateNoDuplicateExecutables(Executable currentExecutable, SlangSource currentSource, Map<Executable, SlangSource> allAvailableExecutables);
+    /**
+     * Validates that no executable with the same id (ignoring case) was found in a different source,
+     * and adds the current executable to the given index.
+     * @param currentExecutable the executable to validate
+     * @param currentSource the source of the executable
+     * @param sourcesByExecutableId the sources of the executables validated so far, indexed by this method
+     */
+    void validateNoDuplicateExecutables(Executable currentExecutable, SlangSource currentSource, Map<String, SlangSource> sourcesByExecutableId);
 
 }
@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -61,12 +62,14 @@ public class CompileValidatorImpl extends AbstractValidator implements CompileVa
     public void validateNoDuplicateExecutables(
             Executable currentExecutable,
             SlangSource currentSource,
-            Map<Executable, SlangSource> allAvailableExecutables) {
-        for (Map.Entry<Executable, SlangSource> entry : allAvailableExecutables.entrySet()) {
-            Executable executable = entry.getKey();
-            if (currentExecutable.getId().equalsIgnoreCase(executable.getId()) && !currentSource.equals(entry.getValue())) {
-                throw new RuntimeException("Duplicate executable found: '" + currentExecutable.getId() + "'" );
-            }
+            Map<String, SlangSource> sourcesByExecutableId) {
+        // ids are compared ignoring case
+        String executableKey = currentExecutable.getId().toLowerCase(Locale.ENGLISH);
+        SlangSource existingSource = sourcesByExecutableId.get(executableKey);
+        if (existingSource == null) {
+            sourcesByExecutableId.put(executableKey, currentSource);
+        } else if (!currentSource.equals(existingSource)) {
+            throw new RuntimeException("Duplicate executable found: '" + currentExecutable.getId() + "'" );
         }
     }
 
@@ -266,6 +266,47 @@ public class CompileParallelLoopFlowTest {
         verifyBranchPublishValuesIsEmpty(branchEndStepExecutionStep.getActionData());
     }
 
+    @Test
+    public void testPreCompileParallelLoopFlowMaxParallelism() throws Exception {
+        Step step = getStepsAfterPrecompileFlow("/loops/parallel_loop/parallel_loop_max_parallelism.sl").getFirst();
+
+        verifyParallelLoopStatement(step);
+        ParallelLoopStatement parallelLoopStatement = (ParallelLoopStatement) step.getPreStepActionData()
+                .get(SlangTextualKeys.PARALLEL_LOOP_KEY);
+        assertEquals(3, parallelLoopStatement.getMaxParallelism());
+    }
+
+    @Test
+    public void testInvalidMaxParallelismThrowsException() throws Exception {
+        URI flow = getClass().getResource("/corrupted/loops/parallel_loop/parallel_loop_invalid_max_parallelism.sl").toURI();
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("'max_parallelism' should be a positive integer, but was: none");
+
+        compiler.preCompile(SlangSource.fromFile(flow));
+    }
+
+    @Test
+    public void testPreCompileParallelLoopFlowChunkSize() throws Exception {
+        Step step = getStepsAfterPrecompileFlow("/loops/parallel_loop/parallel_loop_chunk_size.sl").getFirst();
+
+        verifyParallelLoopStatement(step);
+        ParallelLoopStatement parallelLoopStatement = (ParallelLoopStatement) step.getPreStepActionData()
+                .get(SlangTextualKeys.PARALLEL_LOOP_KEY);
+        assertEquals(4, parallelLoopStatement.getChunkSize());
+        assertEquals(0, parallelLoopStatement.getMaxParallelism());
+    }
+
+    @Test
+    public void testInvalidChunkSizeThrowsException() throws Exception {
+        URI flow = getClass().getResource("/corrupted/loops/parallel_loop/parallel_loop_invalid_chunk_size.sl").toURI();
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("'chunk_size' should be a positive integer, but was: 0");
+
+        compiler.preCompile(SlangSource.fromFile(flow));
+    }
+
     @Test
     public void testPublishOnBranchThrowsException() throws Exception {
         URI flow = getClass().getResource("/corrupted/loops/parallel_loop/parallel_loop_publish_on_branch.sl").toURI();
@@ -0,0 +1,127 @@
+/*******************************************************************************
+* (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Apache License v2.0 which accompany this distribution.
+*
+* The Apache License is available at
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+*******************************************************************************/
+
+package io.cloudslang.lang.compiler;
+
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
+import io.cloudslang.lang.compiler.modeller.model.Action;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Operation;
+import io.cloudslang.lang.compiler.modeller.model.Workflow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.validator.CompileValidator;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches references and validates duplicates against growing numbers of synthetic executables.
+ * Both are expected to scale linearly with the number of available executables.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class DependenciesScalingTest {
+
+    private static final String NAMESPACE = "synthetic";
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Autowired
+    private DependenciesHelper dependenciesHelper;
+
+    @Autowired
+    private CompileValidator compileValidator;
+
+    @Test(timeout = 60000)
+    public void testScaling() {
+        for (int size : new int[]{1000, 5000, 20000}) {
+            List<Executable> executables = new ArrayList<>(size);
+            Set<String> references = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                executables.add(createOperation("op_" + i));
+                references.add(NAMESPACE + ".op_" + i);
+            }
+            Flow flow = createFlow("flow", references);
+            executables.add(flow);
+
+            Map<String, Executable> matchedReferences = dependenciesHelper.matchReferences(flow, executables);
+
+            Map<String, SlangSource> sourcesByExecutableId = new HashMap<>();
+            for (Executable executable : executables) {
+                SlangSource source = new SlangSource("source of " + executable.getName(), executable.getName() + ".sl");
+                compileValidator.validateNoDuplicateExecutables(executable, source, sourcesByExecutableId);
+            }
+
+            Assert.assertEquals(size, matchedReferences.size());
+            Assert.assertEquals(size + 1, sourcesByExecutableId.size());
+        }
+    }
+
+    @Test
+    public void testDuplicateIdsIgnoringCase() {
+        Map<String, SlangSource> sourcesByExecutableId = new HashMap<>();
+        compileValidator.validateNoDuplicateExecutables(
+                createOperation("op"), new SlangSource("first", "op.sl"), sourcesByExecutableId);
+        compileValidator.validateNoDuplicateExecutables(
+                createOperation("op"), new SlangSource("first", "op.sl"), sourcesByExecutableId);
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Duplicate executable found: '" + NAMESPACE + ".OP'");
+
+        compileValidator.validateNoDuplicateExecutables(
+                createOperation("OP"), new SlangSource("second", "OP.sl"), sourcesByExecutableId);
+    }
+
+    @Test
+    public void testFirstOfSameIdIsMatched() {
+        Executable first = createOperation("op");
+        Executable second = createFlow("op", new HashSet<String>());
+        Set<String> references = new HashSet<>();
+        references.add(NAMESPACE + ".op");
+        Flow flow = createFlow("flow", references);
+        List<Executable> executables = new ArrayList<>();
+        executables.add(first);
+        executables.add(second);
+
+        Assert.assertSame(first, dependenciesHelper.matchReferences(flow, executables).get(NAMESPACE + ".op"));
+    }
+
+    private Operation createOperation(String name) {
+        return new Operation(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Action(new HashMap<String, Serializable>()), NAMESPACE, name, new ArrayList<Input>(),
+                new ArrayList<Output>(), new ArrayList<Result>(), new HashSet<String>(), new HashSet<String>());
+    }
+
+    private Flow createFlow(String name, Set<String> references) {
+        return new Flow(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Workflow(new ArrayDeque<Step>()), NAMESPACE, name, new ArrayList<Input>(),
+                new ArrayList<Output>(), new ArrayList<Result>(), references, new HashSet<String>());
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+* (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Apache License v2.0 which accompany this distribution.
+*
+* The Apache License is available at
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+*******************************************************************************/
+
+package io.cloudslang.lang.compiler;
+
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.score.api.ExecutionPlan;
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class ParallelPreCompileTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Autowired
+    private SlangCompiler compiler;
+
+    private SlangCompilerImpl compilerImpl;
+
+    @Before
+    public void setUp() {
+        compilerImpl = (SlangCompilerImpl) compiler;
+        compilerImpl.getModellingResultCache().invalidateAll();
+    }
+
+    @After
+    public void tearDown() {
+        compilerImpl.setParallelism(1);
+    }
+
+    @Test
+    public void testParallelResultsMatchSequentialResults() throws Exception {
+        List<SlangSource> sources = new ArrayList<>();
+        for (File file : FileUtils.listFiles(new File(getClass().getResource("/").toURI()), new String[]{"sl", "yaml"}, true)) {
+            sources.add(SlangSource.fromFile(file));
+        }
+
+        List<ExecutableModellingResult> sequentialResults = compiler.preCompileSources(sources);
+        compilerImpl.getModellingResultCache().invalidateAll();
+        compilerImpl.setParallelism(4);
+        List<ExecutableModellingResult> parallelResults = compiler.preCompileSources(sources);
+
+        Assert.assertEquals(sources.size(), parallelResults.size());
+        for (int i = 0; i < sources.size(); i++) {
+            ExecutableModellingResult expected = sequentialResults.get(i);
+            ExecutableModellingResult actual = parallelResults.get(i);
+            Assert.assertEquals(sources.get(i).getFileName(), expected.getExecutable(), actual.getExecutable());
+            Assert.assertEquals(sources.get(i).getFileName(), getMessages(expected), getMessages(actual));
+        }
+    }
+
+    @Test
+    public void testParallelCompile() throws Exception {
+        compilerImpl.setParallelism(4);
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(getClass().getResource("/flow_with_data.yaml").toURI()));
+        path.add(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+        path.add(SlangSource.fromFile(getClass().getResource("/check_Weather.sl").toURI()));
+
+        CompilationArtifact compilationArtifact =
+                compiler.compile(SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI()), path);
+
+        Assert.assertThat(compilationArtifact.getDependencies(), Matchers.<String, ExecutionPlan>hasKey("user.ops.test_op"));
+    }
+
+    @Test
+    public void testPreCompileAfterShutdown() throws Exception {
+        compilerImpl.setParallelism(4);
+        List<SlangSource> sources = new ArrayList<>();
+        sources.add(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+        sources.add(SlangSource.fromFile(getClass().getResource("/check_Weather.sl").toURI()));
+        compiler.preCompileSources(sources);
+
+        compilerImpl.shutdown();
+        compilerImpl.getModellingResultCache().invalidateAll();
+        List<ExecutableModellingResult> results = compiler.preCompileSources(sources);
+
+        Assert.assertEquals(2, results.size());
+        Assert.assertNotNull(results.get(0).getExecutable());
+        Assert.assertNotNull(results.get(1).getExecutable());
+    }
+
+    @Test
+    public void testFirstErrorInSourcesOrderIsThrown() throws Exception {
+        compilerImpl.setParallelism(4);
+        Set<SlangSource> path = new HashSet<>();
+        path.add(new SlangSource("", "empty_dependency.sl"));
+
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(containsString("empty_source"));
+
+        compiler.compile(new SlangSource("", "empty_source.sl"), path);
+    }
+
+    private List<String> getMessages(ExecutableModellingResult result) {
+        List<String> messages = new ArrayList<>();
+        for (RuntimeException error : result.getErrors()) {
+            // object identity hashes differ between parsing runs
+            messages.add(String.valueOf(error.getMessage()).replaceAll("@[0-9a-f]+", "@"));
+        }
+        return messages;
+    }
+}
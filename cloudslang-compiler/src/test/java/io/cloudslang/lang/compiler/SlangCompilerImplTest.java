@@ -13,14 +13,22 @@ package io.cloudslang.lang.compiler;
 
 import com.google.common.collect.Sets;
 import io.cloudslang.lang.compiler.modeller.SlangModeller;
+import io.cloudslang.lang.compiler.modeller.model.Action;
+import io.cloudslang.lang.compiler.modeller.model.Operation;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.compiler.parser.YamlParser;
 import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.compiler.validator.CompileValidator;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +46,9 @@ import org.yaml.snakeyaml.Yaml;
 
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -53,6 +64,8 @@ public class SlangCompilerImplTest {
     private SlangCompiler slangCompiler;
     @Autowired
     private YamlParser yamlParserMock;
+    @Autowired
+    private SlangModeller slangModellerMock;
     @Rule
     public ExpectedException exception = ExpectedException.none();
 
@@ -106,6 +119,31 @@ public class SlangCompilerImplTest {
         Assert.assertEquals(expectedSystemProperties, actualSystemProperties);
     }
 
+    @Test
+    public void testPreCompileSourceModelsUnchangedSourceOnce() throws Exception {
+        reset(yamlParserMock, slangModellerMock);
+        SlangSource source = new SlangSource("cached_source_content", "cached_source_name");
+        SlangSource changedSource = new SlangSource("changed_source_content", "cached_source_name");
+        ParsedSlang parsedSlangMock = mock(ParsedSlang.class);
+        when(yamlParserMock.parse(eq(source))).thenReturn(parsedSlangMock);
+        when(yamlParserMock.parse(eq(changedSource))).thenReturn(parsedSlangMock);
+        Operation operation = new Operation(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Action(new HashMap<String, Serializable>()), "ns", "op", new ArrayList<Input>(),
+                new ArrayList<Output>(), new ArrayList<Result>(), new HashSet<String>(), new HashSet<String>());
+        when(slangModellerMock.createModel(parsedSlangMock))
+                .thenReturn(new ExecutableModellingResult(operation, new ArrayList<RuntimeException>()));
+
+        ExecutableModellingResult first = slangCompiler.preCompileSource(source);
+        ExecutableModellingResult second = slangCompiler.preCompileSource(source);
+        slangCompiler.preCompileSource(changedSource);
+
+        Assert.assertEquals(operation, first.getExecutable());
+        Assert.assertEquals(operation, second.getExecutable());
+        verify(yamlParserMock, times(1)).parse(eq(source));
+        verify(yamlParserMock, times(1)).parse(eq(changedSource));
+        verify(slangModellerMock, times(2)).createModel(parsedSlangMock);
+    }
+
     static class Config {
 
         @Bean
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Action;
+import io.cloudslang.lang.compiler.modeller.model.Operation;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class ModellingResultCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testHitReturnsCopy() {
+        ModellingResultCache cache = new ModellingResultCache();
+        SlangSource source = new SlangSource("content", "op.sl");
+        ExecutableModellingResult result = createResult("op");
+        cache.put(source, result);
+
+        ExecutableModellingResult first = cache.get(source);
+        first.getErrors().add(new RuntimeException("changed"));
+        ExecutableModellingResult second = cache.get(source);
+
+        assertEquals(result.getExecutable(), first.getExecutable());
+        assertNotSame(first.getExecutable(), second.getExecutable());
+        assertEquals(1, second.getErrors().size());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testChangedSourceIsMiss() {
+        ModellingResultCache cache = new ModellingResultCache();
+        cache.put(new SlangSource("content", "op.sl"), createResult("op"));
+
+        assertNull(cache.get(new SlangSource("changed content", "op.sl")));
+        assertNull(cache.get(new SlangSource("content", "other_op.sl")));
+        assertNull(cache.get(new SlangSource("content", "op.sl.yaml")));
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testPersistedBetweenInstances() throws Exception {
+        File cacheDirectory = new File(folder.getRoot(), "cache");
+        SlangSource source = new SlangSource("content", "op.sl");
+        new ModellingResultCache(10, cacheDirectory).put(source, createResult("op"));
+
+        ModellingResultCache cache = new ModellingResultCache(10, cacheDirectory);
+
+        assertEquals(1, cacheDirectory.listFiles().length);
+        assertEquals(createResult("op").getExecutable(), cache.get(source).getExecutable());
+    }
+
+    @Test
+    public void testUnreadableEntryIsIgnored() throws Exception {
+        File cacheDirectory = folder.newFolder("cache");
+        SlangSource source = new SlangSource("content", "op.sl");
+        new ModellingResultCache(10, cacheDirectory).put(source, createResult("op"));
+        for (File modelFile : cacheDirectory.listFiles()) {
+            FileUtils.writeStringToFile(modelFile, "corrupted");
+        }
+
+        assertNull(new ModellingResultCache(10, cacheDirectory).get(source));
+    }
+
+    @Test
+    public void testChangedCompilerClassesChangeFingerprint() throws Exception {
+        File classes = folder.newFolder("classes");
+        FileUtils.writeStringToFile(new File(classes, "a/Compiler.class"), "compiler");
+        FileUtils.writeStringToFile(new File(classes, "a/resource.txt"), "resource");
+        String fingerprint = hashClasses(classes);
+
+        FileUtils.writeStringToFile(new File(classes, "a/resource.txt"), "changed resource");
+        assertEquals(fingerprint, hashClasses(classes));
+        FileUtils.writeStringToFile(new File(classes, "a/Compiler.class"), "changed compiler");
+        assertFalse(fingerprint.equals(hashClasses(classes)));
+        assertEquals(ModellingResultCache.getCompilerFingerprint(), ModellingResultCache.getCompilerFingerprint());
+    }
+
+    @Test
+    public void testNotSerializableResultIsNotCached() {
+        ModellingResultCache cache = new ModellingResultCache();
+        SlangSource source = new SlangSource("content", "op.sl");
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put("key", new NotSerializableValue());
+        Operation operation = new Operation(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Action(Collections.<String, Serializable>emptyMap()), "ns", "op", new ArrayList<Input>(),
+                new ArrayList<Output>(), new ArrayList<Result>(), new HashSet<String>(), new HashSet<String>());
+        operation.getPreExecActionData().put("key", (Serializable) actionData);
+
+        cache.put(source, new ExecutableModellingResult(operation, new ArrayList<RuntimeException>()));
+
+        assertEquals(0, cache.size());
+    }
+
+    private String hashClasses(File classes) throws Exception {
+        Hasher hasher = Hashing.sha256().newHasher();
+        ModellingResultCache.putClasses(hasher, classes);
+        return hasher.hash().toString();
+    }
+
+    private ExecutableModellingResult createResult(String name) {
+        Operation operation = new Operation(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Action(new HashMap<String, Serializable>()), "ns", name, new ArrayList<Input>(),
+                new ArrayList<Output>(), new ArrayList<Result>(), new HashSet<String>(), new HashSet<String>());
+        List<RuntimeException> errors = new ArrayList<>();
+        errors.add(new RuntimeException("error"));
+        return new ExecutableModellingResult(operation, errors);
+    }
+
+    private static class NotSerializableValue implements Serializable {
+        private final Object value = new Object();
+    }
+}
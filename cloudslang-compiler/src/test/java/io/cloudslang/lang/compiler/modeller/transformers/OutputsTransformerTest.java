@@ -35,6 +35,7 @@ import org.yaml.snakeyaml.introspector.BeanAccess;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -80,6 +81,7 @@ public class OutputsTransformerTest {
         Output output = outputs.get(2);
         Assert.assertEquals("output3", output.getName());
         Assert.assertEquals("${output3}", output.getValue().get());
+        Assert.assertEquals(Collections.singleton("output3"), output.getVariableDependencies());
     }
 
     @Test (timeout = DEFAULT_TIMEOUT)
@@ -88,6 +90,7 @@ public class OutputsTransformerTest {
         Output output = outputs.get(0);
         Assert.assertEquals("output1", output.getName());
         Assert.assertEquals("${ input1 }", output.getValue().get());
+        Assert.assertEquals(Collections.singleton("input1"), output.getVariableDependencies());
     }
 
     @Configuration
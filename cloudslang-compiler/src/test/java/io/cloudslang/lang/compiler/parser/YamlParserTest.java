@@ -3,6 +3,7 @@ package io.cloudslang.lang.compiler.parser;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -11,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.ObjectFactory;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
@@ -28,12 +30,20 @@ public class YamlParserTest {
     @InjectMocks
     private YamlParser yamlParser = new YamlParser();
 
+    @Mock
+    private ObjectFactory<Yaml> yamlFactory;
+
     @Mock
     private Yaml yaml;
 
     @Mock
     private ParserExceptionHandler parserExceptionHandler;
 
+    @Before
+    public void setUp() {
+        Mockito.when(yamlFactory.getObject()).thenReturn(yaml);
+    }
+
     @Test
     public void throwExceptionWhenFileIsNotValid() throws Exception {
         Mockito.when(yaml.loadAs(any(InputStream.class), eq(ParsedSlang.class))).thenThrow(IOException.class);
@@ -0,0 +1,126 @@
+/*******************************************************************************
+* (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Apache License v2.0 which accompany this distribution.
+*
+* The Apache License is available at
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+*******************************************************************************/
+package io.cloudslang.lang.compiler.scorecompiler;
+
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ConstantExpressionFolderTest {
+
+    @Test
+    public void testFoldsConstantExpressions() {
+        Map<String, Serializable> expectedValues = new LinkedHashMap<>();
+        expectedValues.put("'prefix' + '-' + 'suffix'", "prefix-suffix");
+        expectedValues.put("\"double\" + 'single'", "doublesingle");
+        expectedValues.put("'it\\'s' + \"\\\\n\"", "it's\\n");
+        expectedValues.put("'a\\tb\\n'", "a\tb\n");
+        expectedValues.put("True", true);
+        expectedValues.put("None", null);
+        expectedValues.put("5 * 60", 300);
+        expectedValues.put("-3 + 10 - 2 * 4", -1);
+        expectedValues.put("-(2 - 5)", 3);
+        expectedValues.put("+7", 7);
+        expectedValues.put("'-' * 3", "---");
+        expectedValues.put("2 * 'ab'", "abab");
+        expectedValues.put("'x' * -1", "");
+        expectedValues.put("2147483647", 2147483647);
+        expectedValues.put("-2147483647 - 1", -2147483648);
+        expectedValues.put("0", 0);
+        expectedValues.put("1 < 2", true);
+        expectedValues.put("'b' <= 'a'", false);
+        expectedValues.put("1 == '1'", false);
+        expectedValues.put("None != 0", true);
+        expectedValues.put("None == None", true);
+        expectedValues.put("not ''", true);
+        expectedValues.put("not not 5", true);
+        expectedValues.put("'' or 'default'", "default");
+        expectedValues.put("0 and 'unused'", 0);
+        expectedValues.put("1 and 'used'", "used");
+        expectedValues.put("False or None", null);
+        expectedValues.put("not 1 == 2 and (3 > 2 or False)", true);
+        expectedValues.put("\t( ( 'nested' ) )", "nested");
+        for (Map.Entry<String, Serializable> entry : expectedValues.entrySet()) {
+            Value folded = ConstantExpressionFolder.foldValue(ValueFactory.create("${ " + entry.getKey() + " }"));
+            assertEquals(entry.getKey(), ValueFactory.create(entry.getValue()), folded);
+        }
+    }
+
+    @Test
+    public void testKeepsOtherExpressions() {
+        List<String> expressions = Arrays.asList(
+                "name", "'a' + name", "get_sp('a.b')", "get('name', 'default')", "check_empty(None, 'x')",
+                "str(5)", "'abc'.upper()", "[1, 2]", "{'a': 1}", "1.5", "5L", "0x10", "010", "2147483648",
+                "-2147483648", "2147483647 + 1", "65536 * 65536", "True + 1", "-True", "True == 1", "1 != False",
+                "'a' + 1", "'a' - 'b'", "'a' < 1", "None < 1", "1 < 2 < 3", "1 <> 2", "7 / 2", "7 % 2", "2 ** 3",
+                "'a' if True else 'b'", "'x' * 20000", "'\\x41'", "u'text'", "r'raw'", "'''triple'''", "'a' 'b'",
+                "'é'", "'unterminated", "(1", "1 +", "not", "", "'${ name }'", "1 +\n2", "True and name", "name or 1");
+        for (String expression : expressions) {
+            assertNull(expression, ConstantExpressionFolder.foldValue(ValueFactory.create("${ " + expression + " }")));
+        }
+        assertNull(ConstantExpressionFolder.foldValue(ValueFactory.create("'text'")));
+        assertNull(ConstantExpressionFolder.foldValue(ValueFactory.create(5)));
+        assertNull(ConstantExpressionFolder.foldValue(null));
+    }
+
+    @Test
+    public void testKeepsInputsFoldedToEmptyValues() {
+        List<Input> inputs = new ArrayList<>();
+        inputs.add(new Input.InputBuilder("none", "${ None }").build());
+        inputs.add(new Input.InputBuilder("empty", "${ '' }").build());
+        inputs.add(new Input.InputBuilder("false", "${ False }").withPrivateInput(true).build());
+
+        List<Input> foldedInputs = ConstantExpressionFolder.foldInputs(inputs);
+
+        assertSame(inputs.get(0), foldedInputs.get(0));
+        assertSame(inputs.get(1), foldedInputs.get(1));
+        assertEquals(new Input.InputBuilder("false", false).withPrivateInput(true).build(), foldedInputs.get(2));
+    }
+
+    @Test
+    public void testFoldsResultsToBooleans() {
+        List<Result> results = Arrays.asList(
+                new Result("ZERO", ValueFactory.create("${ 0 }")),
+                new Result("STRING", ValueFactory.create("${ 'text' }")),
+                new Result("NUMBER", ValueFactory.create("${ 2 * 3 }")),
+                new Result("DEFAULT", null));
+
+        List<Result> foldedResults = ConstantExpressionFolder.foldResults(results);
+
+        assertEquals(new Result("ZERO", ValueFactory.create(false)), foldedResults.get(0));
+        assertSame(results.get(1), foldedResults.get(1));
+        assertEquals(new Result("NUMBER", ValueFactory.create(true)), foldedResults.get(2));
+        assertSame(results.get(3), foldedResults.get(3));
+    }
+
+    @Test
+    public void testKeepsListsWithoutConstants() {
+        List<Argument> arguments = Arrays.asList(
+                new Argument("from_context"),
+                new Argument("literal", ValueFactory.create("text")),
+                new Argument("expression", ValueFactory.create("${ name }")));
+
+        assertSame(arguments, ConstantExpressionFolder.foldArguments(arguments));
+    }
+}
@@ -12,7 +12,10 @@ package io.cloudslang.lang.compiler.scorecompiler;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.model.*;
 import io.cloudslang.lang.entities.ExecutableType;
+import io.cloudslang.lang.entities.ListForLoopStatement;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.VariableLayout;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Workflow;
 import io.cloudslang.lang.entities.bindings.Argument;
@@ -29,6 +32,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -37,6 +41,7 @@ import java.io.Serializable;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.*;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -112,6 +117,7 @@ public class ExecutionPlanBuilderTest {
         String execName = executable.getName();
         List<Input> inputs = executable.getInputs();
         when(stepFactory.createStartStep(eq(1L), same(preExecActionData), same(inputs), same(execName))).thenReturn(new ExecutionStep(1L));
+        when(stepFactory.createStartStep(eq(1L), same(preExecActionData), same(inputs), same(execName), any(VariableLayout.class))).thenReturn(new ExecutionStep(1L));
     }
 
     private void mockEndStep(Long stepId, Executable executable, ExecutableType executableType) {
@@ -183,6 +189,42 @@ public class ExecutionPlanBuilderTest {
         assertEquals("begin step is different than expected", new Long(1), executionPlan.getBeginStep());
     }
 
+    @Test
+    public void createOperationWithConstantExpressions() throws Exception {
+        List<Input> inputs = new ArrayList<>();
+        inputs.add(new Input.InputBuilder("timeout", "${ 5 * 60 }").withRequired(false).build());
+        inputs.add(new Input.InputBuilder("host", "${ host_name }").build());
+        List<Output> outputs = new ArrayList<>();
+        outputs.add(new Output("name", ValueFactory.create("${ 'prefix' + '-' + 'suffix' }")));
+        List<Result> results = new ArrayList<>();
+        results.add(new Result(ScoreLangConstants.SUCCESS_RESULT, ValueFactory.create("${ True }")));
+        results.add(new Result(ScoreLangConstants.FAILURE_RESULT, null));
+        Operation compiledOperation = new Operation(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Action(new HashMap<String, Serializable>()), "user.ops", "operationName", inputs, outputs, results,
+                null, systemPropertyDependencies);
+        when(stepFactory.createStartStep(anyLong(), anyMapOf(String.class, Serializable.class), anyListOf(Input.class),
+                anyString())).thenReturn(new ExecutionStep(1L));
+        when(stepFactory.createActionStep(anyLong(), anyMapOf(String.class, Serializable.class))).thenReturn(new ExecutionStep(2L));
+        when(stepFactory.createEndStep(anyLong(), anyMapOf(String.class, Serializable.class), anyListOf(Output.class),
+                anyListOf(Result.class), anyString(), any(ExecutableType.class))).thenReturn(new ExecutionStep(3L));
+
+        executionPlanBuilder.createOperationExecutionPlan(compiledOperation);
+
+        ArgumentCaptor<List> foldedInputs = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List> foldedOutputs = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List> foldedResults = ArgumentCaptor.forClass(List.class);
+        verify(stepFactory).createStartStep(eq(1L), anyMapOf(String.class, Serializable.class), foldedInputs.capture(),
+                eq("operationName"));
+        verify(stepFactory).createEndStep(eq(3L), anyMapOf(String.class, Serializable.class), foldedOutputs.capture(),
+                foldedResults.capture(), eq("operationName"), eq(ExecutableType.OPERATION));
+        assertEquals(new Input.InputBuilder("timeout", 300).withRequired(false).build(), foldedInputs.getValue().get(0));
+        assertSame(inputs.get(1), foldedInputs.getValue().get(1));
+        assertEquals(new Output("name", ValueFactory.create("prefix-suffix")), foldedOutputs.getValue().get(0));
+        assertEquals(new Result(ScoreLangConstants.SUCCESS_RESULT, ValueFactory.create(true)), foldedResults.getValue().get(0));
+        assertSame(results.get(1), foldedResults.getValue().get(1));
+        assertEquals("${ 5 * 60 }", compiledOperation.getInputs().get(0).getValue().get());
+    }
+
     @Test
     public void createSimpleFlow() throws Exception {
         Map<String, Serializable> preFlowActionData = new HashMap<>();
@@ -298,6 +340,88 @@ public class ExecutionPlanBuilderTest {
         assertEquals("begin step is different than expected", new Long(1), executionPlan.getBeginStep());
     }
 
+    @Test
+    public void createFlowWithoutVariableLayoutByDefault() throws Exception {
+        Deque<Step> steps = new LinkedList<>();
+        Step step = createSimpleCompiledStep("stepName");
+        steps.add(step);
+        List<Input> inputs = new ArrayList<>();
+        inputs.add(new Input.InputBuilder("input", "value").build());
+
+        Flow compiledFlow = new Flow(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Workflow(steps), "user.flows", "flowName", inputs, new ArrayList<Output>(), defaultFlowResults(),
+                null, systemPropertyDependencies);
+
+        mockStartStep(compiledFlow);
+        mockEndStep(0L, compiledFlow, ExecutableType.FLOW);
+        mockBeginStep(2L, step);
+        mockFinishStep(3L, step);
+        executionPlanBuilder.createFlowExecutionPlan(compiledFlow);
+
+        verify(stepFactory).createStartStep(eq(1L), same(compiledFlow.getPreExecActionData()), same(inputs),
+                eq("flowName"), isNull(VariableLayout.class));
+    }
+
+    @Test
+    public void createFlowWithVariableLayout() throws Exception {
+        Deque<Step> steps = new LinkedList<>();
+        Step step = createSimpleCompiledStep("stepName");
+        step.getPreStepActionData().put(SlangTextualKeys.FOR_KEY, new ListForLoopStatement("item", "items"));
+        List<Output> publishValues = new ArrayList<>();
+        publishValues.add(new Output("published", ValueFactory.create("${ item }")));
+        publishValues.add(new Output("items", ValueFactory.create("${ items }")));
+        step.getPostStepActionData().put(SlangTextualKeys.PUBLISH_KEY, (Serializable) publishValues);
+        steps.add(step);
+        List<Input> inputs = new ArrayList<>();
+        inputs.add(new Input.InputBuilder("items", "${ [1, 2] }").build());
+        inputs.add(new Input.InputBuilder("other", "value").build());
+
+        Flow compiledFlow = new Flow(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Workflow(steps), "user.flows", "flowName", inputs, new ArrayList<Output>(), defaultFlowResults(),
+                null, systemPropertyDependencies);
+
+        mockStartStep(compiledFlow);
+        mockEndStep(0L, compiledFlow, ExecutableType.FLOW);
+        mockBeginStep(2L, step);
+        mockFinishStep(3L, step);
+        executionPlanBuilder.setVariableSlots(true);
+        executionPlanBuilder.createFlowExecutionPlan(compiledFlow);
+
+        ArgumentCaptor<VariableLayout> variableLayout = ArgumentCaptor.forClass(VariableLayout.class);
+        verify(stepFactory).createStartStep(eq(1L), same(compiledFlow.getPreExecActionData()), same(inputs),
+                eq("flowName"), variableLayout.capture());
+        assertEquals(new VariableLayout(Arrays.asList("items", "other", "item", "published")), variableLayout.getValue());
+    }
+
+    @Test
+    public void createFlowWithConstantPublishValue() throws Exception {
+        Deque<Step> steps = new LinkedList<>();
+        Step step = createSimpleCompiledStep("stepName");
+        List<Output> publishValues = new ArrayList<>();
+        publishValues.add(new Output("constant", ValueFactory.create("${ not False and 'yes' or 'no' }")));
+        publishValues.add(new Output("variable", ValueFactory.create("${ result }")));
+        step.getPostStepActionData().put(SlangTextualKeys.PUBLISH_KEY, (Serializable) publishValues);
+        steps.add(step);
+        Flow compiledFlow = new Flow(new HashMap<String, Serializable>(), new HashMap<String, Serializable>(),
+                new Workflow(steps), "user.flows", "flowName", new ArrayList<Input>(), new ArrayList<Output>(),
+                defaultFlowResults(), null, systemPropertyDependencies);
+        mockStartStep(compiledFlow);
+        mockEndStep(0L, compiledFlow, ExecutableType.FLOW);
+        mockBeginStep(2L, step);
+        when(stepFactory.createFinishStepStep(eq(3L), anyMapOf(String.class, Serializable.class),
+                anyMapOf(String.class, ResultNavigation.class), eq("stepName"), eq(false))).thenReturn(new ExecutionStep(3L));
+
+        executionPlanBuilder.createFlowExecutionPlan(compiledFlow);
+
+        ArgumentCaptor<Map> postStepActionData = ArgumentCaptor.forClass(Map.class);
+        verify(stepFactory).createFinishStepStep(eq(3L), postStepActionData.capture(),
+                anyMapOf(String.class, ResultNavigation.class), eq("stepName"), eq(false));
+        List<Output> foldedPublishValues = (List<Output>) postStepActionData.getValue().get(SlangTextualKeys.PUBLISH_KEY);
+        assertEquals(new Output("constant", ValueFactory.create("yes")), foldedPublishValues.get(0));
+        assertSame(publishValues.get(1), foldedPublishValues.get(1));
+        assertSame(publishValues, step.getPostStepActionData().get(SlangTextualKeys.PUBLISH_KEY));
+    }
+
     @Test
     public void createFlowWithNoStepsShouldThrowException() throws Exception {
         Map<String, Serializable> preFlowActionData = new HashMap<>();
@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -49,6 +50,19 @@ public class ExecutionStepFactoryTest {
         Assert.assertSame("inputs are not set under their key", execInputs, startStep.getActionData().get(ScoreLangConstants.EXECUTABLE_INPUTS_KEY));
     }
 
+    @Test
+    public void testCreateStartStepPutVariableLayoutUnderTheRightKey() throws Exception {
+        VariableLayout variableLayout = new VariableLayout(Arrays.asList("input", "output"));
+        ExecutionStep startStep = factory.createStartStep(1L, new HashMap<String, Serializable>(), new ArrayList<Input>(), "", variableLayout);
+        Assert.assertSame("variable layout is not set under its key", variableLayout, startStep.getActionData().get(ScoreLangConstants.VARIABLE_LAYOUT_KEY));
+    }
+
+    @Test
+    public void testCreateStartStepWithoutVariableLayout() throws Exception {
+        ExecutionStep startStep = factory.createStartStep(1L, new HashMap<String, Serializable>(), new ArrayList<Input>(), "");
+        Assert.assertFalse(startStep.getActionData().containsKey(ScoreLangConstants.VARIABLE_LAYOUT_KEY));
+    }
+
     @Test
     public void testCreateStartStepPutForUnderTheRightKey() throws Exception {
         LoopStatement statement = new ListForLoopStatement("1", "2");
@@ -73,6 +73,7 @@ public class SlangBuildMain {
         String testsPath = StringUtils.defaultIfEmpty(appArgs.getTestRoot(), projectPath + TEST_DIR);
         List<String> testSuites = parseTestSuites(appArgs);
         Boolean shouldPrintCoverageData = parseCoverageArg(appArgs);
+        int testsParallelism = parseParallelArg(appArgs);
 
         log.info("");
         log.info("------------------------------------------------------------");
@@ -80,6 +81,9 @@ public class SlangBuildMain {
         log.info("Content root is at: " + contentPath);
         log.info("Test root is at: " + testsPath);
         log.info("Active test suites are: " + Arrays.toString(testSuites.toArray()));
+        if (testsParallelism > 1) {
+            log.info("Running up to " + testsParallelism + " test cases in parallel");
+        }
 
         log.info("");
         log.info("Loading...");
@@ -91,7 +95,7 @@ public class SlangBuildMain {
         registerEventHandlers(slang);
 
         try {
-            SlangBuildResults buildResults = slangBuilder.buildSlangContent(projectPath, contentPath, testsPath, testSuites);
+            SlangBuildResults buildResults = slangBuilder.buildSlangContent(projectPath, contentPath, testsPath, testSuites, testsParallelism);
             RunTestsResults runTestsResults = buildResults.getRunTestsResults();
             Map<String, TestRun> skippedTests = runTestsResults.getSkippedTests();
 
@@ -161,6 +165,19 @@ public class SlangBuildMain {
         return shouldOutputCoverageData;
     }
 
+    private static int parseParallelArg(ApplicationArgs appArgs) {
+        Integer parallel = appArgs.getParallel();
+        if (parallel == null) {
+            return 1;
+        }
+        if (parallel < 1) {
+            System.out.println("Number of parallel test cases must be positive, but was: " + parallel);
+            System.out.println("You can use '--help' for usage");
+            System.exit(1);
+        }
+        return parallel;
+    }
+
     private static void printBuildSuccessSummary(String contentPath, SlangBuildResults buildResults, RunTestsResults runTestsResults) {
         log.info("");
         log.info("------------------------------------------------------------");
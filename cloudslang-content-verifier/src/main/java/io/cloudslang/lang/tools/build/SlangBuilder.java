@@ -42,6 +42,14 @@ public class SlangBuilder {
     private final static Logger log = Logger.getLogger(SlangBuilder.class);
 
     public SlangBuildResults buildSlangContent(String projectPath, String contentPath, String testsPath, List<String> testSuits){
+        return buildSlangContent(projectPath, contentPath, testsPath, testSuits, 1);
+    }
+
+    /**
+     * @param testsParallelism the maximum number of test cases running at the same time
+     */
+    public SlangBuildResults buildSlangContent(String projectPath, String contentPath, String testsPath,
+                                               List<String> testSuits, int testsParallelism){
 
         String projectName = FilenameUtils.getName(projectPath);
         log.info("");
@@ -58,7 +66,7 @@ public class SlangBuilder {
 
         RunTestsResults runTestsResults = new RunTestsResults();
         if (StringUtils.isNotBlank(testsPath) && new File(testsPath).isDirectory()) {
-            runTestsResults = runTests(slangModels, projectPath, testsPath, testSuits);
+            runTestsResults = runTests(slangModels, projectPath, testsPath, testSuits, testsParallelism);
         }
 
         return new SlangBuildResults(compiledSources.size(), runTestsResults);
@@ -83,7 +91,7 @@ public class SlangBuilder {
     }
 
     private RunTestsResults runTests(Map<String, Executable> contentSlangModels,
-                          String projectPath, String testsPath, List<String> testSuites){
+                          String projectPath, String testsPath, List<String> testSuites, int testsParallelism){
         log.info("");
         log.info("--- compiling tests sources ---");
         // Compile all slang test flows under the test directory
@@ -100,7 +108,7 @@ public class SlangBuilder {
         log.info("");
         log.info("--- running tests ---");
         log.info("Found " + testCases.size() + " tests");
-        RunTestsResults runTestsResults = slangTestRunner.runAllTests(projectPath, testCases, compiledFlows, testSuites);
+        RunTestsResults runTestsResults = slangTestRunner.runAllTests(projectPath, testCases, compiledFlows, testSuites, testsParallelism);
         addCoverageDataToRunTestsResults(contentSlangModels, testFlowModels, testCases, runTestsResults);
         return runTestsResults;
     }
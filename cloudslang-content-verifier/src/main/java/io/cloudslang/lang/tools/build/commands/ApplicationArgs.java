@@ -44,6 +44,10 @@ public class ApplicationArgs {
             description = "Whether or not test coverage data should be outputted")
     public boolean coverage = false;
 
+    @Parameter(names = {"--parallel", "-par"},
+            description = "Number of test cases to run in parallel")
+    public Integer parallel;
+
     @Parameter(names = {"--help", "-h"}, help = true,
             description = "Display help information")
     private boolean help;
@@ -75,6 +79,10 @@ public class ApplicationArgs {
         return coverage;
     }
 
+    public Integer getParallel() {
+        return parallel;
+    }
+
     public boolean isHelp() {
         return help;
     }
@@ -31,12 +31,17 @@ import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Created by stoneo on 3/15/2015.
@@ -115,11 +120,27 @@ public class SlangTestRunner {
      */
     public RunTestsResults runAllTests(String projectPath, Map<String, SlangTestCase> testCases,
                             Map<String, CompilationArtifact> compiledFlows, List<String> testSuites) {
+        return runAllTests(projectPath, testCases, compiledFlows, testSuites, 1);
+    }
+
+    /**
+     *
+     * @param projectPath
+     * @param testCases
+     * @param compiledFlows
+     * @param testSuites
+     * @param parallelism the maximum number of test cases running at the same time
+     * @return RunTestsResults containing maps of passed, failed & skipped tests
+     */
+    public RunTestsResults runAllTests(String projectPath, Map<String, SlangTestCase> testCases,
+                            Map<String, CompilationArtifact> compiledFlows, List<String> testSuites, int parallelism) {
+        Validate.isTrue(parallelism > 0, "Number of parallel test executions must be positive, but was: " + parallelism);
 
         RunTestsResults runTestsResults = new RunTestsResults();
         if(MapUtils.isEmpty(testCases)){
             return runTestsResults;
         }
+        List<SlangTestCase> parallelTestCases = new ArrayList<>();
         for (Map.Entry<String, SlangTestCase> testCaseEntry : testCases.entrySet()) {
             SlangTestCase testCase = testCaseEntry.getValue();
             if (testCase == null) {
@@ -128,10 +149,14 @@ public class SlangTestRunner {
             }
             if ((CollectionUtils.isEmpty(testCase.getTestSuites()) && testSuites.contains(SlangBuildMain.DEFAULT_TESTS)) ||
                     CollectionUtils.containsAny(testSuites, testCase.getTestSuites())) {
+                if (parallelism > 1) {
+                    parallelTestCases.add(testCase);
+                    continue;
+                }
                 log.info("Running test: " + testCaseEntry.getKey() + " - " + testCase.getDescription());
                 try {
                     CompilationArtifact compiledTestFlow = getCompiledTestFlow(compiledFlows, testCase);
-                    runTest(testCase, compiledTestFlow, projectPath);
+                    runTest(testCase, compiledTestFlow, projectPath, null);
                     runTestsResults.addPassedTest(testCase.getName(), new TestRun(testCase, null));
                 } catch (RuntimeException e) {
                     runTestsResults.addFailedTest(testCase.getName(), new TestRun(testCase, e.getMessage()));
@@ -142,9 +167,57 @@ public class SlangTestRunner {
                 runTestsResults.addSkippedTest(testCase.getName(), new TestRun(testCase, message));
             }
         }
+        if (!parallelTestCases.isEmpty()) {
+            runTestsInParallel(projectPath, parallelTestCases, compiledFlows, parallelism, runTestsResults);
+        }
         return runTestsResults;
     }
 
+    /**
+     * Runs the test cases on a pool of threads. All the executions share a single event listener
+     * which routes the events by execution id, and the results are collected on the calling thread
+     * in the order of the given test cases.
+     */
+    private void runTestsInParallel(final String projectPath, List<SlangTestCase> testCases,
+                                    final Map<String, CompilationArtifact> compiledFlows, int parallelism,
+                                    RunTestsResults runTestsResults) {
+        log.info("Running " + testCases.size() + " tests using " + parallelism + " parallel executions");
+        final TestCaseEventDispatcher eventDispatcher = new TestCaseEventDispatcher();
+        slang.subscribeOnEvents(eventDispatcher, createListenerEventTypesSet());
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> testRuns = new ArrayList<>(testCases.size());
+            for (final SlangTestCase testCase : testCases) {
+                testRuns.add(executorService.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        log.info("Running test: " + testCase.getName() + " - " + testCase.getDescription());
+                        CompilationArtifact compiledTestFlow = getCompiledTestFlow(compiledFlows, testCase);
+                        runTest(testCase, compiledTestFlow, projectPath, eventDispatcher);
+                    }
+                }));
+            }
+            for (int i = 0; i < testCases.size(); i++) {
+                SlangTestCase testCase = testCases.get(i);
+                try {
+                    testRuns.get(i).get();
+                    runTestsResults.addPassedTest(testCase.getName(), new TestRun(testCase, null));
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof RuntimeException)) {
+                        throw new RuntimeException("Failed running test: " + testCase.getName(), e.getCause());
+                    }
+                    runTestsResults.addFailedTest(testCase.getName(), new TestRun(testCase, e.getCause().getMessage()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running tests", e);
+        } finally {
+            executorService.shutdownNow();
+            slang.unSubscribeOnEvents(eventDispatcher);
+        }
+    }
+
     private void printTestCasesWithMissingReference(Set<SlangTestCase> testCasesWithMissingReference) {
         int testCasesWithMissingReferenceSize = testCasesWithMissingReference.size();
         if (testCasesWithMissingReferenceSize > 0) {
@@ -173,12 +246,17 @@ public class SlangTestRunner {
         return compiledTestFlow;
     }
 
-    private void runTest(SlangTestCase testCase, CompilationArtifact compiledTestFlow, String projectPath) {
+    private void runTest(SlangTestCase testCase, CompilationArtifact compiledTestFlow, String projectPath,
+                         TestCaseEventDispatcher eventDispatcher) {
 
         Map<String, Value> convertedInputs = getTestCaseInputsMap(testCase);
         Set<SystemProperty> systemProperties = getTestSystemProperties(testCase, projectPath);
 
-        trigger(testCase, compiledTestFlow, convertedInputs, systemProperties);
+        if (eventDispatcher == null) {
+            trigger(testCase, compiledTestFlow, convertedInputs, systemProperties);
+        } else {
+            trigger(testCase, compiledTestFlow, convertedInputs, systemProperties, eventDispatcher);
+        }
     }
 
     private Set<SystemProperty> getTestSystemProperties(SlangTestCase testCase, String projectPath) {
@@ -215,7 +293,7 @@ public class SlangTestRunner {
     }
 
     /**
-     * This method will trigger the flow in a synchronize matter, meaning only one flow can run at a time.
+     * This method will trigger the flow in a synchronize matter, using its own event listener.
      *
      * @param compilationArtifact the artifact to trigger
      * @param inputs              : flow inputs
@@ -225,22 +303,58 @@ public class SlangTestRunner {
                         Map<String, Value> inputs,
                         Set<SystemProperty> systemProperties) {
 
-        String testCaseName = testCase.getName();
-        String result = testCase.getResult();
-        Map<String, Serializable> outputs = getTestCaseOutputsMap(testCase);
-        String flowName = testCase.getTestFlowPath();
-
         TriggerTestCaseEventListener testsEventListener = new TriggerTestCaseEventListener();
         slang.subscribeOnEvents(testsEventListener, createListenerEventTypesSet());
+        Long executionId;
+        try {
+            executionId = slang.run(compilationArtifact, inputs, systemProperties);
+            testsEventListener.waitForFlowToFinish();
+        } catch (InterruptedException e) {
+            throw createInterruptedException(testCase, e);
+        } finally {
+            slang.unSubscribeOnEvents(testsEventListener);
+        }
 
-        Long executionId = slang.run(compilationArtifact, inputs, systemProperties);
+        checkTestCaseResults(testCase, compilationArtifact, testsEventListener);
+        return executionId;
+    }
+
+    /**
+     * Triggers the flow and waits for it to finish, getting its events from a listener which is shared
+     * by all the flows running at the same time.
+     *
+     * @return executionId
+     */
+    private Long trigger(SlangTestCase testCase, CompilationArtifact compilationArtifact,
+                         Map<String, Value> inputs, Set<SystemProperty> systemProperties,
+                         TestCaseEventDispatcher eventDispatcher) {
 
-        while (!testsEventListener.isFlowFinished()) {
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException ignore) {}
+        TriggerTestCaseEventListener testsEventListener = new TriggerTestCaseEventListener();
+        Long executionId = slang.run(compilationArtifact, inputs, systemProperties);
+        try {
+            eventDispatcher.register(executionId, testsEventListener);
+            testsEventListener.waitForFlowToFinish();
+        } catch (InterruptedException e) {
+            throw createInterruptedException(testCase, e);
+        } finally {
+            eventDispatcher.unregister(executionId);
         }
-        slang.unSubscribeOnEvents(testsEventListener);
+
+        checkTestCaseResults(testCase, compilationArtifact, testsEventListener);
+        return executionId;
+    }
+
+    private RuntimeException createInterruptedException(SlangTestCase testCase, InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new RuntimeException("Interrupted while running test: " + testCase.getName(), e);
+    }
+
+    private void checkTestCaseResults(SlangTestCase testCase, CompilationArtifact compilationArtifact,
+                                      TriggerTestCaseEventListener testsEventListener) {
+        String testCaseName = testCase.getName();
+        String result = testCase.getResult();
+        Map<String, Serializable> outputs = getTestCaseOutputsMap(testCase);
+        String flowName = testCase.getTestFlowPath();
 
         String errorMessageFlowExecution = testsEventListener.getErrorMessage();
 
@@ -253,7 +367,7 @@ public class SlangTestRunner {
                 throw new RuntimeException(message);
             }
             log.info(TEST_CASE_PASSED + testCaseName + ". Finished running: " + flowName + " with exception as expected" );
-            return executionId;
+            return;
         }
 
         if (StringUtils.isNotBlank(errorMessageFlowExecution)){
@@ -286,7 +400,6 @@ public class SlangTestRunner {
         }
 
         log.info(TEST_CASE_PASSED + testCaseName + ". Finished running: " + flowName + " with result: " + executionResult);
-        return executionId;
     }
 
     private boolean outputsAreEqual(Serializable outputValue, Serializable executionOutputValue) {
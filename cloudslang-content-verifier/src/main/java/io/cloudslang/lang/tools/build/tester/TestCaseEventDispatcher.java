@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ */
+package io.cloudslang.lang.tools.build.tester;
+
+import io.cloudslang.lang.runtime.events.ScoreEventUtils;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single event listener shared by all test cases running at the same time.
+ * Events are routed to the listener registered for their execution id.
+ *
+ * An execution may fire events before its id is returned to the caller and registered,
+ * so events of unknown executions are kept and replayed when the execution is registered.
+ */
+public class TestCaseEventDispatcher implements ScoreEventListener {
+
+    private static final Logger log = Logger.getLogger(TestCaseEventDispatcher.class);
+
+    private final Map<Long, ScoreEventListener> listeners = new HashMap<>();
+    private final Map<Long, List<ScoreEvent>> pendingEvents = new HashMap<>();
+    private final Set<Long> completedExecutions = new HashSet<>();
+
+    public synchronized void register(Long executionId, ScoreEventListener listener) throws InterruptedException {
+        listeners.put(executionId, listener);
+        List<ScoreEvent> events = pendingEvents.remove(executionId);
+        if (events != null) {
+            for (ScoreEvent event : events) {
+                listener.onEvent(event);
+            }
+        }
+    }
+
+    public synchronized void unregister(Long executionId) {
+        listeners.remove(executionId);
+        pendingEvents.remove(executionId);
+        completedExecutions.add(executionId);
+    }
+
+    @Override
+    public synchronized void onEvent(ScoreEvent scoreEvent) throws InterruptedException {
+        Long executionId = ScoreEventUtils.getExecutionId(scoreEvent);
+        if (executionId == null) {
+            log.debug("Ignoring event: " + scoreEvent.getEventType() + " with no execution id");
+            return;
+        }
+        ScoreEventListener listener = listeners.get(executionId);
+        if (listener != null) {
+            listener.onEvent(scoreEvent);
+        } else if (!completedExecutions.contains(executionId)) {
+            List<ScoreEvent> events = pendingEvents.get(executionId);
+            if (events == null) {
+                events = new ArrayList<>();
+                pendingEvents.put(executionId, events);
+            }
+            events.add(scoreEvent);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.commons.collections4.MapUtils;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -42,6 +43,7 @@ public class TriggerTestCaseEventListener implements ScoreEventListener {
 
 
     private AtomicBoolean flowFinished = new AtomicBoolean(false);
+    private CountDownLatch flowFinishedLatch = new CountDownLatch(1);
     private AtomicReference<String> errorMessage = new AtomicReference<>("");
     private String result;
     private Map<String, Serializable> outputs = new HashMap<>();
@@ -58,6 +60,13 @@ public class TriggerTestCaseEventListener implements ScoreEventListener {
         return flowFinished.get();
     }
 
+    /**
+     * Blocks until the execution finished or failed
+     */
+    public void waitForFlowToFinish() throws InterruptedException {
+        flowFinishedLatch.await();
+    }
+
     public String getErrorMessage() {
         return errorMessage.get();
     }
@@ -72,12 +81,12 @@ public class TriggerTestCaseEventListener implements ScoreEventListener {
             case EventConstants.SCORE_ERROR_EVENT :
             case EventConstants.SCORE_FAILURE_EVENT :
                 errorMessage.set(data.get(EventConstants.SCORE_ERROR_LOG_MSG) + " , " + data.get(EventConstants.SCORE_ERROR_MSG));
-                flowFinished.set(true);
+                setFlowFinished();
                 break;
             case ScoreLangConstants.EVENT_EXECUTION_FINISHED :
                 eventData = (LanguageEventData) data;
                 result = eventData.getResult();
-                flowFinished.set(true);
+                setFlowFinished();
                 break;
             case ScoreLangConstants.EVENT_OUTPUT_END:
                 eventData = (LanguageEventData) data;
@@ -89,6 +98,11 @@ public class TriggerTestCaseEventListener implements ScoreEventListener {
         }
     }
 
+    private void setFlowFinished() {
+        flowFinished.set(true);
+        flowFinishedLatch.countDown();
+    }
+
     private static Map<String, Serializable> extractOutputs(LanguageEventData data) {
 
         Map<String, Serializable> outputsMap = new HashMap<>();
@@ -13,6 +13,7 @@ import io.cloudslang.lang.compiler.Extension;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import org.apache.commons.io.FileUtils;
@@ -49,16 +50,25 @@ public class SlangContentVerifier {
         log.info(slangFiles.size() + " .sl files were found");
         log.info("");
         int ignoredExecutables = 0;
-        for(File slangFile: slangFiles){
+        List<File> slangFilesList = new ArrayList<>(slangFiles);
+        List<SlangSource> slangSources = new ArrayList<>(slangFilesList.size());
+        for(File slangFile: slangFilesList){
             Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() + "\' must lead to a file");
-            Executable sourceModel;
             try {
-                sourceModel = slangCompiler.preCompile(SlangSource.fromFile(slangFile));
+                slangSources.add(SlangSource.fromFile(slangFile));
             } catch (Exception e) {
-                String errorMessage = "Failed creating Slang models for file: \'" + slangFile.getAbsoluteFile() + "\'.\n" + e.getMessage();
-                log.error(errorMessage);
-                throw new RuntimeException(errorMessage, e);
+                throw createModelsException(slangFile, e);
+            }
+        }
+        // pre-compiled in parallel when configured, the results keep the files order
+        List<ExecutableModellingResult> modellingResults = slangCompiler.preCompileSources(slangSources);
+        for (int i = 0; i < slangFilesList.size(); i++) {
+            File slangFile = slangFilesList.get(i);
+            ExecutableModellingResult modellingResult = modellingResults.get(i);
+            if (modellingResult.getErrors().size() > 0) {
+                throw createModelsException(slangFile, modellingResult.getErrors().get(0));
             }
+            Executable sourceModel = modellingResult.getExecutable();
             if (sourceModel != null) {
                 staticSlangFileValidation(slangFile, sourceModel);
                 slangModels.put(getUniqueName(sourceModel), sourceModel);
@@ -72,6 +82,12 @@ public class SlangContentVerifier {
         return slangModels;
     }
 
+    private RuntimeException createModelsException(File slangFile, Exception e) {
+        String errorMessage = "Failed creating Slang models for file: \'" + slangFile.getAbsoluteFile() + "\'.\n" + e.getMessage();
+        log.error(errorMessage);
+        return new RuntimeException(errorMessage, e);
+    }
+
     public Map<String, CompilationArtifact> compileSlangModels(Map<String, Executable> slangModels) {
         Map<String, CompilationArtifact> compiledArtifacts = new HashMap<>();
         for(Map.Entry<String, Executable> slangModelEntry : slangModels.entrySet()) {
@@ -99,16 +115,22 @@ public class SlangContentVerifier {
 
     private Set<Executable> getModelDependenciesRecursively(Map<String, Executable> slangModels, Executable slangModel) {
         Set<Executable> dependenciesModels = new HashSet<>();
+        collectModelDependencies(slangModels, slangModel, dependenciesModels);
+        return dependenciesModels;
+    }
+
+    private void collectModelDependencies(Map<String, Executable> slangModels, Executable slangModel, Set<Executable> dependenciesModels) {
         for (String dependencyName : slangModel.getExecutableDependencies()) {
             Executable dependency = slangModels.get(dependencyName);
             if(dependency == null){
                 throw new RuntimeException("Failed compiling slang source: " + slangModel.getNamespace() + "." +
                         slangModel.getName() + ". Missing dependency: " + dependencyName);
             }
-            dependenciesModels.add(dependency);
-            dependenciesModels.addAll(getModelDependenciesRecursively(slangModels, dependency));
+            // dependencies shared by several executables are visited once
+            if (dependenciesModels.add(dependency)) {
+                collectModelDependencies(slangModels, dependency, dependenciesModels);
+            }
         }
-        return dependenciesModels;
     }
 
     private void staticSlangFileValidation(File slangFile, Executable executable){
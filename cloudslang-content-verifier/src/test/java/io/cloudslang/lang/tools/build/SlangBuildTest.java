@@ -13,6 +13,7 @@ import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.bindings.Input;
@@ -28,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import junit.framework.Assert;
@@ -37,6 +39,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,6 +49,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.yaml.snakeyaml.Yaml;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyMap;
@@ -90,6 +95,27 @@ public class SlangBuildTest {
         Mockito.reset(slangCompiler);
         Mockito.reset(scoreCompiler);
         Mockito.reset(slangTestRunner);
+        // pre-compile the sources one by one through the stubbed preCompile
+        Mockito.when(slangCompiler.preCompileSources(anyListOf(SlangSource.class))).thenAnswer(
+                new Answer<List<ExecutableModellingResult>>() {
+                    @Override
+                    public List<ExecutableModellingResult> answer(InvocationOnMock invocation) throws Throwable {
+                        @SuppressWarnings("unchecked")
+                        List<SlangSource> sources = (List<SlangSource>) invocation.getArguments()[0];
+                        List<ExecutableModellingResult> results = new ArrayList<>();
+                        for (SlangSource source : sources) {
+                            List<RuntimeException> errors = new ArrayList<>();
+                            Executable executable = null;
+                            try {
+                                executable = slangCompiler.preCompile(source);
+                            } catch (RuntimeException ex) {
+                                errors.add(ex);
+                            }
+                            results.add(new ExecutableModellingResult(executable, errors));
+                        }
+                        return results;
+                    }
+                });
     }
 
     @Test
@@ -271,7 +297,7 @@ public class SlangBuildTest {
         Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
         RunTestsResults runTestsResults = new RunTestsResults();
         runTestsResults.addFailedTest("test1", new TestRun(new SlangTestCase("test1", "", null, null, null, null, null, null, null), "message"));
-        Mockito.when(slangTestRunner.runAllTests(any(String.class), anyMap(), anyMap(), anyList())).thenReturn(runTestsResults);
+        Mockito.when(slangTestRunner.runAllTests(any(String.class), anyMap(), anyMap(), anyList(), anyInt())).thenReturn(runTestsResults);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(contentResource.getPath(), contentResource.getPath(), testResource.getPath(), null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         RunTestsResults actualRunTestsResults = buildResults.getRunTestsResults();
@@ -292,7 +318,8 @@ public class SlangBuildTest {
                         any(String.class),
                         anyMapOf(String.class, SlangTestCase.class),
                         anyMapOf(String.class, CompilationArtifact.class),
-                        anyListOf(String.class)
+                        anyListOf(String.class),
+                        anyInt()
                 )
         ).thenReturn(runTestsResults);
 
@@ -4,14 +4,17 @@ import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
 import io.cloudslang.lang.tools.build.tester.parse.SlangTestCase;
 import io.cloudslang.lang.tools.build.tester.parse.TestCasesYamlParser;
 import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.execution.ExecutionParametersConsts;
 import io.cloudslang.score.events.EventConstants;
 import io.cloudslang.score.events.ScoreEvent;
 import io.cloudslang.score.events.ScoreEventListener;
+import io.cloudslang.score.lang.SystemContext;
 import junit.framework.Assert;
 import org.apache.commons.collections4.SetUtils;
 import org.junit.Before;
@@ -38,8 +41,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -462,6 +468,114 @@ public class SlangTestRunnerTest {
         Assert.assertEquals("1 test case should be skipped", 1, runTestsResults.getSkippedTests().size());
     }
 
+    @Test
+    public void runTestCasesInParallel() {
+        Map<String, SlangTestCase> testCases = new HashMap<>();
+        HashMap<String, CompilationArtifact> compiledFlows = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            String expectedResult = i % 5 == 0 ? "FAILURE" : "SUCCESS";
+            SlangTestCase testCase = new SlangTestCase("test" + i, "flow" + i, "desc", null, "mock", null, null, false, expectedResult);
+            testCase.setName("test" + i);
+            testCases.put("test" + i, testCase);
+            compiledFlows.put("flow" + i, createCompilationArtifact("SUCCESS"));
+        }
+        prepareMockForParallelExecutions();
+
+        RunTestsResults runTestsResults = slangTestRunner.runAllTests("path", testCases, compiledFlows, defaultTestSuite, 4);
+
+        Assert.assertEquals(16, runTestsResults.getPassedTests().size());
+        Assert.assertEquals(4, runTestsResults.getFailedTests().size());
+        for (String failedTest : Arrays.asList("test0", "test5", "test10", "test15")) {
+            Assert.assertTrue(runTestsResults.getFailedTests().containsKey(failedTest));
+        }
+        Mockito.verify(slang, Mockito.times(1)).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        Mockito.verify(slang, Mockito.times(1)).unSubscribeOnEvents(any(ScoreEventListener.class));
+    }
+
+    @Test
+    public void runTestCasesInParallelWithScoreErrorEvents() {
+        Map<String, SlangTestCase> testCases = new HashMap<>();
+        SlangTestCase expectsException = new SlangTestCase("test1", "flow1", "desc", null, "mock", null, null, true, null);
+        expectsException.setName("test1");
+        testCases.put("test1", expectsException);
+        SlangTestCase expectsResult = new SlangTestCase("test2", "flow2", "desc", null, "mock", null, null, false, "SUCCESS");
+        expectsResult.setName("test2");
+        testCases.put("test2", expectsResult);
+        HashMap<String, CompilationArtifact> compiledFlows = new HashMap<>();
+        compiledFlows.put("flow1", createCompilationArtifact(EventConstants.SCORE_ERROR_EVENT));
+        compiledFlows.put("flow2", createCompilationArtifact(EventConstants.SCORE_ERROR_EVENT));
+        prepareMockForParallelExecutions();
+
+        RunTestsResults runTestsResults = slangTestRunner.runAllTests("path", testCases, compiledFlows, defaultTestSuite, 2);
+
+        Assert.assertTrue(runTestsResults.getPassedTests().containsKey("test1"));
+        Assert.assertTrue(runTestsResults.getFailedTests().containsKey("test2"));
+    }
+
+    @Test
+    public void runTestCasesWithInvalidParallelism() {
+        exception.expect(IllegalArgumentException.class);
+        slangTestRunner.runAllTests("path", new HashMap<String, SlangTestCase>(), new HashMap<String, CompilationArtifact>(), defaultTestSuite, 0);
+    }
+
+    private CompilationArtifact createCompilationArtifact(String result) {
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.setName(result);
+        return new CompilationArtifact(executionPlan, null, null, null);
+    }
+
+    /**
+     * Each execution fires its events from its own thread, some of them before its execution id is returned.
+     * The flow result (or error event type) is taken from the execution plan name.
+     */
+    private void prepareMockForParallelExecutions() {
+        final AtomicReference<ScoreEventListener> listener = new AtomicReference<>();
+        final AtomicLong executionIds = new AtomicLong();
+        Mockito.doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                listener.set((ScoreEventListener) invocationOnMock.getArguments()[0]);
+                return listener.get();
+            }
+        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        Mockito.doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                final Long executionId = executionIds.incrementAndGet();
+                final String result = ((CompilationArtifact) invocationOnMock.getArguments()[0]).getExecutionPlan().getName();
+                LanguageEventData outputs = new LanguageEventData();
+                outputs.setExecutionId(executionId);
+                outputs.setPath("0");
+                outputs.setOutputs(new HashMap<String, Serializable>());
+                listener.get().onEvent(new ScoreEvent(ScoreLangConstants.EVENT_OUTPUT_END, outputs));
+                new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(executionId % 3 * 10);
+                            if (EventConstants.SCORE_ERROR_EVENT.equals(result)) {
+                                SystemContext systemContext = new SystemContext();
+                                systemContext.setExecutionId(executionId);
+                                HashMap<String, Serializable> data = new HashMap<>();
+                                data.put(ExecutionParametersConsts.SYSTEM_CONTEXT, systemContext);
+                                data.put(EventConstants.SCORE_ERROR_MSG, "Error");
+                                listener.get().onEvent(new ScoreEvent(EventConstants.SCORE_ERROR_EVENT, data));
+                            } else {
+                                LanguageEventData finished = new LanguageEventData();
+                                finished.setExecutionId(executionId);
+                                finished.setResult(result);
+                                listener.get().onEvent(new ScoreEvent(ScoreLangConstants.EVENT_EXECUTION_FINISHED, finished));
+                            }
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }).start();
+                return executionId;
+            }
+        }).when(slang).run(any(CompilationArtifact.class), anyMapOf(String.class, Value.class), anySetOf(SystemProperty.class));
+    }
+
     private void prepareMockForEventListenerWithSuccessResult() {
         Mockito.doAnswer(new Answer() {
             @Override
@@ -23,13 +23,31 @@ import java.io.Serializable;
  */
 public class ParallelLoopStatement extends LoopStatement implements Serializable {
 
+    private static final long serialVersionUID = -3244145075869833870L;
+
     private final String varName;
+    // maximal number of branches running at the same time, 0 when not limited by the statement
+    private final int maxParallelism;
+    // number of items each branch runs one after the other, 0 when not set by the statement
+    private final int chunkSize;
 
     public ParallelLoopStatement(String varName, String expression) {
+        this(varName, expression, 0);
+    }
+
+    public ParallelLoopStatement(String varName, String expression, int maxParallelism) {
+        this(varName, expression, maxParallelism, 0);
+    }
+
+    public ParallelLoopStatement(String varName, String expression, int maxParallelism, int chunkSize) {
         super(expression);
 
         Validate.notBlank(varName, "parallel loop var name cannot be empty");
+        Validate.isTrue(maxParallelism >= 0, "parallel loop max parallelism cannot be negative");
+        Validate.isTrue(chunkSize >= 0, "parallel loop chunk size cannot be negative");
         this.varName = varName;
+        this.maxParallelism = maxParallelism;
+        this.chunkSize = chunkSize;
     }
 
     /**
@@ -38,17 +56,29 @@ public class ParallelLoopStatement extends LoopStatement implements Serializable
     @SuppressWarnings("unused")
     private ParallelLoopStatement() {
         varName = null;
+        maxParallelism = 0;
+        chunkSize = 0;
     }
 
     public String getVarName() {
         return varName;
     }
 
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .appendSuper(super.toString())
                 .append("varName", varName)
+                .append("maxParallelism", maxParallelism)
+                .append("chunkSize", chunkSize)
                 .toString();
     }
 
@@ -63,6 +93,8 @@ public class ParallelLoopStatement extends LoopStatement implements Serializable
         return new EqualsBuilder()
                 .appendSuper(super.equals(o))
                 .append(varName, that.varName)
+                .append(maxParallelism, that.maxParallelism)
+                .append(chunkSize, that.chunkSize)
                 .isEquals();
     }
 
@@ -71,6 +103,8 @@ public class ParallelLoopStatement extends LoopStatement implements Serializable
         return new HashCodeBuilder(17, 37)
                 .appendSuper(super.hashCode())
                 .append(varName)
+                .append(maxParallelism)
+                .append(chunkSize)
                 .toHashCode();
     }
 
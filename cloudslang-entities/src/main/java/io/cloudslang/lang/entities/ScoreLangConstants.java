@@ -47,6 +47,7 @@ public interface ScoreLangConstants {
     String USER_INPUTS_KEY = "userInputs";
     String EXECUTABLE_OUTPUTS_KEY = "executableOutputs";
     String EXECUTABLE_RESULTS_KEY = "executableResults";
+    String VARIABLE_LAYOUT_KEY = "variableLayout";
 
     //step scope
     String STEP_INPUTS_KEY = "stepInputs";
@@ -61,6 +62,7 @@ public interface ScoreLangConstants {
     String PARALLEL_LOOP_KEY = "parallelLoop";
     String PARALLEL_LOOP_STATEMENT_KEY = "parallelLoopStatement";
     String BRANCH_BEGIN_STEP_ID_KEY = "branchBeginStep";
+    String SPLIT_STEP_ID_KEY = "splitStepId";
     String BRANCH_RESULT_KEY = "branch_result";
 
     // Events types
@@ -6,7 +6,25 @@ package io.cloudslang.lang.entities;
  */
 public enum SlangSystemPropertyConstant {
     CSLANG_ENCODING("cslang.encoding"),
-    LOG4J_CONFIGURATION("log4j.configuration");
+    LOG4J_CONFIGURATION("log4j.configuration"),
+    CSLANG_EXPRESSION_CACHE_SIZE("cslang.expression.cache.size"),
+    CSLANG_EXPRESSION_SIMPLE_EVALUATION("cslang.expression.simple.evaluation"),
+    CSLANG_EXPRESSION_BATCH_EVALUATION("cslang.expression.batch.evaluation"),
+    CSLANG_PYTHON_ACTION_CACHE_SIZE("cslang.python.action.cache.size"),
+    CSLANG_COMPILER_CACHE_SIZE("cslang.compiler.cache.size"),
+    CSLANG_COMPILER_CACHE_DIR("cslang.compiler.cache.dir"),
+    CSLANG_COMPILER_PARALLELISM("cslang.compiler.parallelism"),
+    CSLANG_COMPILER_VARIABLE_SLOTS("cslang.compiler.variable.slots"),
+    CSLANG_COMPILER_CONSTANT_FOLDING("cslang.compiler.constant.folding"),
+    CSLANG_EVENTS_SKIP_UNSUBSCRIBED("cslang.events.skip.unsubscribed"),
+    CSLANG_EVENTS_DISPATCH_POLICY("cslang.events.dispatch.policy"),
+    CSLANG_EVENTS_QUEUE_SIZE("cslang.events.queue.size"),
+    CSLANG_EVENTS_BATCH_SIZE("cslang.events.batch.size"),
+    CSLANG_EVENTS_SAMPLE_RATE("cslang.events.sample.rate"),
+    CSLANG_PARALLEL_LOOP_MAX_PARALLELISM("cslang.parallel.loop.max.parallelism"),
+    CSLANG_PARALLEL_LOOP_INCREMENTAL_JOIN("cslang.parallel.loop.incremental.join"),
+    CSLANG_PARALLEL_LOOP_CHUNK_SIZE("cslang.parallel.loop.chunk.size"),
+    CSLANG_RUN_ENVIRONMENT_COMPACT_SERIALIZATION("cslang.run.environment.compact.serialization");
 
     private final String value;
 
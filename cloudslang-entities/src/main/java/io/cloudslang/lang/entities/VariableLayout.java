@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Slots assigned at compile time to the variables of a flow: its inputs, the variables of its loops
+ * and the outputs published by its steps. One layout is shared by all the contexts of the flow,
+ * which can then keep these variables in an array indexed by slot.
+ */
+public class VariableLayout implements Serializable {
+
+    private static final long serialVersionUID = -2360453472217409175L;
+
+    private final String[] names;
+
+    private transient Map<String, Integer> slots;
+
+    /**
+     * @param names the variable names, in the order of their slots. Repeated names get the slot of their first occurrence.
+     */
+    public VariableLayout(Collection<String> names) {
+        this.names = new LinkedHashSet<>(names).toArray(new String[0]);
+        this.slots = createSlots(this.names);
+    }
+
+    /**
+     * only here to satisfy serialization libraries
+     */
+    @SuppressWarnings("unused")
+    private VariableLayout() {
+        names = new String[0];
+        slots = createSlots(names);
+    }
+
+    /**
+     * @param name the variable name
+     * @return the slot of the variable, or -1 if the layout does not have it
+     */
+    public int getSlot(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    public String getName(int slot) {
+        return names[slot];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private static Map<String, Integer> createSlots(String[] names) {
+        Map<String, Integer> slots = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+        }
+        return slots;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        slots = createSlots(names);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("names", names)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        VariableLayout that = (VariableLayout) o;
+
+        return Arrays.equals(names, that.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(names);
+    }
+}
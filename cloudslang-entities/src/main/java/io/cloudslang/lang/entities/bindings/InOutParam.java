@@ -31,16 +31,28 @@ public abstract class InOutParam implements Serializable {
 	private Value value;
 	private Set<ScriptFunction> functionDependencies;
 	private Set<String> systemPropertyDependencies;
+	// found by the compiler from the value, so it is left out of equals and hashCode
+	private Set<String> variableDependencies;
 
 	public InOutParam(
 			String name,
 			Value value,
 			Set<ScriptFunction> functionDependencies,
 			Set<String> systemPropertyDependencies) {
+		this(name, value, functionDependencies, systemPropertyDependencies, null);
+	}
+
+	public InOutParam(
+			String name,
+			Value value,
+			Set<ScriptFunction> functionDependencies,
+			Set<String> systemPropertyDependencies,
+			Set<String> variableDependencies) {
 		this.name = name;
 		this.value = value;
 		this.functionDependencies = functionDependencies;
 		this.systemPropertyDependencies = systemPropertyDependencies;
+		this.variableDependencies = variableDependencies;
 	}
 
 	public InOutParam(String name, Value value) {
@@ -73,6 +85,14 @@ public abstract class InOutParam implements Serializable {
 		return systemPropertyDependencies;
 	}
 
+	/**
+	 * @return the names of the variables the expression of the value may read, empty if the value is not
+	 * an expression, or null if they are not known
+	 */
+	public Set<String> getVariableDependencies() {
+		return variableDependencies;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringBuilder(this)
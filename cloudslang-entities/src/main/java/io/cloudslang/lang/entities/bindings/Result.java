@@ -34,6 +34,15 @@ public class Result extends InOutParam {
 		super(name, value, scriptFunctions, systemPropertyDependencies);
 	}
 
+	public Result(
+			String name,
+			Value value,
+			Set<ScriptFunction> scriptFunctions,
+			Set<String> systemPropertyDependencies,
+			Set<String> variableDependencies) {
+		super(name, value, scriptFunctions, systemPropertyDependencies, variableDependencies);
+	}
+
     /**
      * only here to satisfy serialization libraries
      */
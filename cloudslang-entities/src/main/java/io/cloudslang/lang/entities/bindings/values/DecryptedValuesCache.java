@@ -0,0 +1,116 @@
+/**
+ * ****************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ * <p/>
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * *****************************************************************************
+ */
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decrypted contents of sensitive values, kept while an execution step runs so a value read
+ * several times by the step is decrypted only once.
+ *
+ * The cache belongs to the thread running the step, between {@link #open()} and {@link #close()},
+ * and is never serialized. Only immutable contents are cached, since a cached content is shared
+ * by all its readers.
+ */
+public final class DecryptedValuesCache {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class,
+            Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class));
+
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    private static final AtomicLong decryptCount = new AtomicLong();
+    private static final AtomicLong avoidedDecryptCount = new AtomicLong();
+
+    private DecryptedValuesCache() {
+    }
+
+    /**
+     * Starts caching on the current thread. Calls may be nested, the cache is dropped by the outermost {@link #close()}.
+     */
+    public static void open() {
+        Scope scope = currentScope.get();
+        if (scope == null) {
+            scope = new Scope();
+            currentScope.set(scope);
+        }
+        scope.depth++;
+    }
+
+    public static void close() {
+        Scope scope = currentScope.get();
+        if (scope != null && --scope.depth == 0) {
+            currentScope.remove();
+        }
+    }
+
+    /**
+     * Drops the cached contents of the current thread, e.g. before the sensitive data is persisted
+     */
+    public static void clear() {
+        Scope scope = currentScope.get();
+        if (scope != null) {
+            scope.values.clear();
+        }
+    }
+
+    public static long getDecryptCount() {
+        return decryptCount.get();
+    }
+
+    public static long getAvoidedDecryptCount() {
+        return avoidedDecryptCount.get();
+    }
+
+    static Serializable get(Class<? extends SensitiveValue> valueType, String content) {
+        Scope scope = currentScope.get();
+        if (scope == null) {
+            return null;
+        }
+        Map<String, Serializable> values = scope.values.get(valueType);
+        Serializable value = values == null ? null : values.get(content);
+        if (value != null) {
+            avoidedDecryptCount.incrementAndGet();
+        }
+        return value;
+    }
+
+    static void put(Class<? extends SensitiveValue> valueType, String content, Serializable value) {
+        decryptCount.incrementAndGet();
+        Scope scope = currentScope.get();
+        if (scope == null || value == null || !IMMUTABLE_TYPES.contains(value.getClass())) {
+            return;
+        }
+        Map<String, Serializable> values = scope.values.get(valueType);
+        if (values == null) {
+            values = new HashMap<>();
+            scope.values.put(valueType, values);
+        }
+        values.put(content, value);
+    }
+
+    private static class Scope {
+
+        // the same content is decrypted differently by different sensitive value types
+        private final Map<Class<?>, Map<String, Serializable>> values = new HashMap<>();
+        private int depth;
+    }
+}
@@ -22,6 +22,9 @@ import org.python.core.PyObject;
 import org.python.core.PyType;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -115,6 +118,38 @@ public class PyObjectValueProxyFactory {
         }
     }
 
+    /**
+     * Resolves the target method of a proxied call once per target class and proxied method,
+     * and keeps a method handle for it, so repeated calls skip the reflective method lookup.
+     */
+    private static class MethodDispatcher {
+
+        private static final MethodType GENERIC_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+        private static final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodHandle>> dispatchTables = new ConcurrentHashMap<>();
+
+        static Object invoke(Object target, Method thisMethod, Object[] args) throws Throwable {
+            return getMethodHandle(target.getClass(), thisMethod).invokeExact(target, args);
+        }
+
+        private static MethodHandle getMethodHandle(Class<?> targetClass, Method thisMethod) throws Exception {
+            ConcurrentMap<Method, MethodHandle> dispatchTable = dispatchTables.get(targetClass);
+            if (dispatchTable == null) {
+                dispatchTables.putIfAbsent(targetClass, new ConcurrentHashMap<Method, MethodHandle>());
+                dispatchTable = dispatchTables.get(targetClass);
+            }
+            MethodHandle methodHandle = dispatchTable.get(thisMethod);
+            if (methodHandle == null) {
+                Method targetMethod = targetClass.getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
+                methodHandle = MethodHandles.publicLookup().unreflect(targetMethod)
+                        .asSpreader(Object[].class, targetMethod.getParameterTypes().length)
+                        .asType(GENERIC_INVOKER_TYPE);
+                dispatchTable.putIfAbsent(thisMethod, methodHandle);
+            }
+            return methodHandle;
+        }
+    }
+
     private static class PyObjectValueMethodHandler implements MethodHandler, Serializable {
 
         private static final String ACCESSED_GETTER_METHOD = "isAccessed";
@@ -134,14 +169,12 @@ public class PyObjectValueProxyFactory {
             if (thisMethod.getName().equals(ACCESSED_GETTER_METHOD)) {
                 return accessed;
             } else if (Value.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method valueMethod = value.getClass().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
-                return valueMethod.invoke(value, args);
+                return MethodDispatcher.invoke(value, thisMethod, args);
             } else if (PyObject.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method pyObjectMethod = pyObject.getClass().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
                 if (!thisMethod.getName().equals("toString")) {
                     accessed = true;
                 }
-                return pyObjectMethod.invoke(pyObject, getPyObjectArgs(args));
+                return MethodDispatcher.invoke(pyObject, thisMethod, getPyObjectArgs(args));
             } else {
                 throw new RuntimeException("Failed to invoke PyObjectValue method. Implementing class not found");
             }
@@ -20,9 +20,13 @@ import org.python.apache.xerces.impl.dv.util.Base64;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.UTFDataFormatException;
 
 /**
  * Sensitive InOutParam value
@@ -31,8 +35,14 @@ import java.io.Serializable;
  */
 public class SensitiveValue implements Value {
 
+    // the value computed for the original class, kept so previously serialized values can still be read
+    private static final long serialVersionUID = 2805166804438625750L;
+
     public static final String SENSITIVE_VALUE_MASK = "********";
 
+    // java serialization stream header followed by the string type code
+    private static final byte[] SERIALIZED_STRING_HEADER = {(byte) 0xAC, (byte) 0xED, 0x00, 0x05, 0x74};
+
     private String content = null;
 
     /**
@@ -70,7 +80,7 @@ public class SensitiveValue implements Value {
 
     public void decrypt() {
         if(content != null) {
-            originalContent = decrypt(content);
+            originalContent = decryptContent();
             content = null;
         }
     }
@@ -83,9 +93,17 @@ public class SensitiveValue implements Value {
         this.content = content;
     }
 
+    /**
+     * @return whether the value is kept encrypted, in which case {@link #getContent()} is the encrypted content
+     */
+    @JsonIgnore
+    public boolean isEncrypted() {
+        return content != null;
+    }
+
     @Override
     public Serializable get() {
-        return (originalContent != null) ? originalContent : ((content == null) ? null : decrypt(content));
+        return (originalContent != null) ? originalContent : ((content == null) ? null : decryptContent());
     }
 
     @JsonIgnore
@@ -137,7 +155,22 @@ public class SensitiveValue implements Value {
         return deserialize(serialized);
     }
 
+    private Serializable decryptContent() {
+        Serializable decrypted = DecryptedValuesCache.get(getClass(), content);
+        if (decrypted == null) {
+            decrypted = decrypt(content);
+            DecryptedValuesCache.put(getClass(), content, decrypted);
+        }
+        return decrypted;
+    }
+
     private byte[] serialize(Serializable data) {
+        if (data instanceof String) {
+            byte[] serialized = serializeString((String) data);
+            if (serialized != null) {
+                return serialized;
+            }
+        }
         ObjectOutputStream oos = null;
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -154,6 +187,9 @@ public class SensitiveValue implements Value {
     }
 
     private Serializable deserialize(byte[] data) {
+        if (isSerializedString(data)) {
+            return deserializeString(data);
+        }
         ObjectInputStream ois = null;
         try {
             ByteArrayInputStream bais = new ByteArrayInputStream(data);
@@ -167,4 +203,46 @@ public class SensitiveValue implements Value {
             }
         }
     }
+
+    /**
+     * Writes the same bytes as an {@link ObjectOutputStream} would, without the cost of creating one
+     *
+     * @return the serialized string, or null if it is too long to be written as a short string
+     */
+    private byte[] serializeString(String data) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(SERIALIZED_STRING_HEADER.length + 2 + data.length());
+            DataOutputStream dos = new DataOutputStream(baos);
+            dos.write(SERIALIZED_STRING_HEADER);
+            dos.writeUTF(data);
+            return baos.toByteArray();
+        } catch (UTFDataFormatException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize object", e);
+        }
+    }
+
+    private boolean isSerializedString(byte[] data) {
+        int headerLength = SERIALIZED_STRING_HEADER.length;
+        if (data.length < headerLength + 2) {
+            return false;
+        }
+        for (int i = 0; i < headerLength; i++) {
+            if (data[i] != SERIALIZED_STRING_HEADER[i]) {
+                return false;
+            }
+        }
+        int stringLength = ((data[headerLength] & 0xFF) << 8) | (data[headerLength + 1] & 0xFF);
+        return data.length == headerLength + 2 + stringLength;
+    }
+
+    private String deserializeString(byte[] data) {
+        try {
+            int headerLength = SERIALIZED_STRING_HEADER.length;
+            return new DataInputStream(new ByteArrayInputStream(data, headerLength, data.length - headerLength)).readUTF();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize object", e);
+        }
+    }
 }
@@ -38,6 +38,14 @@ public abstract class ValueFactory implements Serializable {
         return new SensitiveStringValue(value, preEncrypted);
     }
 
+    /**
+     * @param encryptedContent the content of an encrypted {@link SensitiveValue}
+     * @return a sensitive value holding the given encrypted content
+     */
+    public static SensitiveValue createEncryptedValue(String encryptedContent) {
+        return new SensitiveValue(encryptedContent, true);
+    }
+
     public static PyObjectValue createPyObjectValue(Serializable content, boolean sensitive) {
         return PyObjectValueProxyFactory.create(content, sensitive);
     }
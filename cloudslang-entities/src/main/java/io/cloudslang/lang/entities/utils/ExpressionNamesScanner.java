@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.utils;
+
+import io.cloudslang.lang.entities.utils.PythonTokenizer.Token;
+import io.cloudslang.lang.entities.utils.PythonTokenizer.TokenType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the names a python expression may read from its context.
+ *
+ * The scan is conservative: every identifier is reported, even attribute names and keywords,
+ * and names passed as string literals to the <code>get</code> function are reported as well.
+ * When the names cannot be known without running the expression (e.g. <code>locals()</code>
+ * or <code>get</code> called with a computed name) the scanner reports that all names may be read.
+ * {@link #findVariableNames} leaves out the identifiers which are never variables.
+ */
+public final class ExpressionNamesScanner {
+
+    private static final Set<String> DYNAMIC_ACCESS_NAMES = new HashSet<>(
+            Arrays.asList("globals", "locals", "vars", "dir", "eval", "exec", "execfile", "__import__"));
+    private static final String GET_FUNCTION_NAME = "get";
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "and", "as", "assert", "break", "class", "continue", "def", "del", "elif", "else", "except", "exec",
+            "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "not", "or", "pass", "print",
+            "raise", "return", "try", "while", "with", "yield"));
+
+    private ExpressionNamesScanner() {
+    }
+
+    /**
+     * @param expression the python expression
+     * @param getFunctionDefined whether the <code>get</code> function is defined for the expression
+     * @return the names the expression may read, or null if it may read any name
+     */
+    public static Set<String> findReferencedNames(String expression, boolean getFunctionDefined) {
+        return findNames(expression, getFunctionDefined, false);
+    }
+
+    /**
+     * Finds the variables a python expression may read. Unlike {@link #findReferencedNames} it leaves out
+     * keywords, attribute names such as <code>upper</code> in <code>name.upper()</code> and keyword argument
+     * names such as <code>sep</code> in <code>split(text, sep='-')</code>. Names the expression binds itself,
+     * e.g. the parameters of a lambda, are still reported.
+     *
+     * @param expression the python expression
+     * @param getFunctionDefined whether the <code>get</code> function is defined for the expression
+     * @return the names of the variables the expression may read, or null if it may read any variable
+     */
+    public static Set<String> findVariableNames(String expression, boolean getFunctionDefined) {
+        return findNames(expression, getFunctionDefined, true);
+    }
+
+    private static Set<String> findNames(String expression, boolean getFunctionDefined, boolean variablesOnly) {
+        List<Token> tokens = PythonTokenizer.tokenize(expression);
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (!token.isName()) {
+                continue;
+            }
+            if (DYNAMIC_ACCESS_NAMES.contains(token.getText())) {
+                return null;
+            }
+            if (variablesOnly && (KEYWORDS.contains(token.getText()) || isAttribute(tokens, i) || isKeywordArgument(tokens, i))) {
+                continue;
+            }
+            names.add(token.getText());
+            if (getFunctionDefined && token.isName(GET_FUNCTION_NAME) && isFunctionCall(tokens, i)) {
+                String literalName = getLiteralArgument(tokens, i);
+                if (literalName == null) {
+                    return null;
+                }
+                names.add(literalName);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @param expression the python expression
+     * @return the identifiers of the expression and the contents of its string literals,
+     * or null if the expression may read names it does not spell out
+     */
+    public static Set<String> findNamesAndStringLiterals(String expression) {
+        Set<String> names = new HashSet<>();
+        for (Token token : PythonTokenizer.tokenize(expression)) {
+            if (token.isName()) {
+                if (DYNAMIC_ACCESS_NAMES.contains(token.getText())) {
+                    return null;
+                }
+                names.add(token.getText());
+            } else if (token.getType() == TokenType.STRING) {
+                String value = token.getStringValue();
+                if (value == null) {
+                    return null;
+                }
+                names.add(value);
+            }
+        }
+        return names;
+    }
+
+    private static boolean isFunctionCall(List<Token> tokens, int nameIndex) {
+        return !isAttribute(tokens, nameIndex) && nameIndex + 1 < tokens.size() && tokens.get(nameIndex + 1).isOperator("(");
+    }
+
+    private static boolean isAttribute(List<Token> tokens, int nameIndex) {
+        return nameIndex > 0 && tokens.get(nameIndex - 1).isOperator(".");
+    }
+
+    /**
+     * @return whether the name is followed by a single '=' inside a call, e.g. <code>sep</code> in <code>f(a, sep='-')</code>
+     */
+    private static boolean isKeywordArgument(List<Token> tokens, int nameIndex) {
+        boolean argumentStart = nameIndex > 0 && (tokens.get(nameIndex - 1).isOperator("(") || tokens.get(nameIndex - 1).isOperator(","));
+        return argumentStart && nameIndex + 1 < tokens.size() && tokens.get(nameIndex + 1).isOperator("=");
+    }
+
+    private static String getLiteralArgument(List<Token> tokens, int nameIndex) {
+        int argumentIndex = nameIndex + 2;
+        if (argumentIndex + 1 >= tokens.size()) {
+            return null;
+        }
+        Token argument = tokens.get(argumentIndex);
+        Token next = tokens.get(argumentIndex + 1);
+        boolean singleLiteral = argument.getType() == TokenType.STRING && (next.isOperator(",") || next.isOperator(")"));
+        // a name whose literal can not be decoded is not known
+        return singleLiteral ? argument.getStringValue() : null;
+    }
+}
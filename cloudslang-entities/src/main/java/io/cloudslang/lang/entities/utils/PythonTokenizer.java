@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a python expression into tokens, for the code reading expressions without running them.
+ *
+ * The tokenizer does not validate the expression, the interpreter reports the errors when it runs it.
+ * Comments, spaces, tabs and line continuations are skipped. A line break outside of brackets is kept as a
+ * {@link TokenType#NEWLINE} token, since an expression can not span lines there. Any character which does
+ * not start a name, a number or a string is returned as an {@link TokenType#OPERATOR}.
+ */
+public final class PythonTokenizer {
+
+    // the longest operators first, so they are matched before their prefixes
+    private static final List<String> MULTI_CHAR_OPERATORS = Arrays.asList(
+            "**=", "//=", ">>=", "<<=",
+            "**", "//", ">>", "<<", "<=", ">=", "==", "!=", "<>",
+            "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=");
+
+    private PythonTokenizer() {
+    }
+
+    /**
+     * @param expression the python expression
+     * @return the tokens of the expression
+     */
+    public static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int length = expression.length();
+        int bracketsDepth = 0;
+        int i = 0;
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\f') {
+                i++;
+            } else if (c == '\\' && i + 1 < length && isLineBreak(expression.charAt(i + 1))) {
+                i = skipLineBreak(expression, i + 1);
+            } else if (isLineBreak(c)) {
+                if (bracketsDepth == 0) {
+                    tokens.add(new Token(TokenType.NEWLINE, "\n"));
+                }
+                i = skipLineBreak(expression, i);
+            } else if (c == '#') {
+                while (i < length && !isLineBreak(expression.charAt(i))) {
+                    i++;
+                }
+            } else if (isQuote(c)) {
+                i = readString(expression, i, i, tokens);
+            } else if (isDigit(c) || c == '.' && i + 1 < length && isDigit(expression.charAt(i + 1))) {
+                i = readNumber(expression, i, tokens);
+            } else if (isNameStart(c)) {
+                int start = i;
+                while (i < length && isNamePart(expression.charAt(i))) {
+                    i++;
+                }
+                if (i < length && isQuote(expression.charAt(i)) && isStringPrefix(expression.substring(start, i))) {
+                    i = readString(expression, start, i, tokens);
+                } else {
+                    tokens.add(new Token(TokenType.NAME, expression.substring(start, i)));
+                }
+            } else {
+                String operator = readOperator(expression, i);
+                if ("(".equals(operator) || "[".equals(operator) || "{".equals(operator)) {
+                    bracketsDepth++;
+                } else if (")".equals(operator) || "]".equals(operator) || "}".equals(operator)) {
+                    bracketsDepth = Math.max(bracketsDepth - 1, 0);
+                }
+                tokens.add(new Token(TokenType.OPERATOR, operator));
+                i += operator.length();
+            }
+        }
+        // a trailing line break does not end the expression early
+        while (!tokens.isEmpty() && tokens.get(tokens.size() - 1).getType() == TokenType.NEWLINE) {
+            tokens.remove(tokens.size() - 1);
+        }
+        return tokens;
+    }
+
+    /**
+     * @param content the content of a string literal, between its quotes
+     * @param raw whether the literal has the raw prefix
+     * @return the value of the literal, or null if it has escapes other than
+     * <code>\\ \' \" \n \t \r</code> and line continuations
+     */
+    public static String decodeString(String content, boolean raw) {
+        if (raw || content.indexOf('\\') < 0) {
+            return content;
+        }
+        StringBuilder value = new StringBuilder(content.length());
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (++i == length) {
+                return null;
+            }
+            char escaped = content.charAt(i);
+            switch (escaped) {
+                case '\\':
+                case '\'':
+                case '"':
+                    value.append(escaped);
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case '\n':
+                    break;
+                case '\r':
+                    if (i + 1 < length && content.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return value.toString();
+    }
+
+    private static int readString(String expression, int start, int quoteIndex, List<Token> tokens) {
+        char quote = expression.charAt(quoteIndex);
+        String tripleQuote = new String(new char[]{quote, quote, quote});
+        boolean triple = expression.startsWith(tripleQuote, quoteIndex);
+        int delimiterLength = triple ? 3 : 1;
+        int contentStart = quoteIndex + delimiterLength;
+        int i = contentStart;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote && (!triple || expression.startsWith(tripleQuote, i))) {
+                tokens.add(new Token(expression.substring(start, i + delimiterLength),
+                        expression.substring(start, quoteIndex).toLowerCase(), triple, true,
+                        expression.substring(contentStart, i)));
+                return i + delimiterLength;
+            } else {
+                i++;
+            }
+        }
+        // unterminated literal - let the interpreter report it
+        int end = Math.min(i, expression.length());
+        tokens.add(new Token(expression.substring(start, end), expression.substring(start, quoteIndex).toLowerCase(),
+                triple, false, expression.substring(Math.min(contentStart, end), end)));
+        return end;
+    }
+
+    private static int readNumber(String expression, int start, List<Token> tokens) {
+        int i = start;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            boolean exponentSign = (c == '+' || c == '-') && isExponent(expression, start, i);
+            if (!isNamePart(c) && c != '.' && !exponentSign) {
+                break;
+            }
+            i++;
+        }
+        tokens.add(new Token(TokenType.NUMBER, expression.substring(start, i)));
+        return i;
+    }
+
+    private static boolean isExponent(String expression, int numberStart, int signIndex) {
+        char previous = expression.charAt(signIndex - 1);
+        boolean hex = expression.startsWith("0x", numberStart) || expression.startsWith("0X", numberStart);
+        return !hex && (previous == 'e' || previous == 'E');
+    }
+
+    private static String readOperator(String expression, int start) {
+        for (String operator : MULTI_CHAR_OPERATORS) {
+            if (expression.startsWith(operator, start)) {
+                return operator;
+            }
+        }
+        return String.valueOf(expression.charAt(start));
+    }
+
+    private static int skipLineBreak(String expression, int index) {
+        if (expression.charAt(index) == '\r' && index + 1 < expression.length() && expression.charAt(index + 1) == '\n') {
+            return index + 2;
+        }
+        return index + 1;
+    }
+
+    private static boolean isStringPrefix(String name) {
+        String prefix = name.toLowerCase();
+        return prefix.equals("r") || prefix.equals("u") || prefix.equals("b") || prefix.equals("ur") || prefix.equals("br");
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '\'' || c == '"';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    public enum TokenType {
+        NAME,
+        NUMBER,
+        STRING,
+        OPERATOR,
+        NEWLINE
+    }
+
+    public static final class Token {
+
+        private final TokenType type;
+        private final String text;
+        private final String stringPrefix;
+        private final boolean tripleQuoted;
+        private final boolean terminated;
+        private final String content;
+
+        private Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+            this.stringPrefix = null;
+            this.tripleQuoted = false;
+            this.terminated = true;
+            this.content = null;
+        }
+
+        private Token(String text, String stringPrefix, boolean tripleQuoted, boolean terminated, String content) {
+            this.type = TokenType.STRING;
+            this.text = text;
+            this.stringPrefix = stringPrefix;
+            this.tripleQuoted = tripleQuoted;
+            this.terminated = terminated;
+            this.content = content;
+        }
+
+        public TokenType getType() {
+            return type;
+        }
+
+        /**
+         * @return the token as written in the expression, string literals including their prefix and quotes
+         */
+        public String getText() {
+            return text;
+        }
+
+        public boolean isName() {
+            return type == TokenType.NAME;
+        }
+
+        public boolean isName(String name) {
+            return type == TokenType.NAME && text.equals(name);
+        }
+
+        public boolean isOperator(String operator) {
+            return type == TokenType.OPERATOR && text.equals(operator);
+        }
+
+        /**
+         * @return the lower case prefix of a string literal, e.g. <code>r</code> or <code>ur</code>, empty if it has none
+         */
+        public String getStringPrefix() {
+            return stringPrefix;
+        }
+
+        public boolean isTripleQuoted() {
+            return tripleQuoted;
+        }
+
+        /**
+         * @return false for a string literal missing its closing quotes
+         */
+        public boolean isTerminated() {
+            return terminated;
+        }
+
+        /**
+         * @return the content of a string literal between its quotes, escapes not decoded
+         */
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * @return the value of a string literal, or null if it is not known, see {@link PythonTokenizer#decodeString}
+         */
+        public String getStringValue() {
+            return type == TokenType.STRING ? decodeString(content, stringPrefix.contains("r")) : null;
+        }
+    }
+}
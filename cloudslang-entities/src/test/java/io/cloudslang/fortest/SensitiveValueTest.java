@@ -1,10 +1,13 @@
 package io.cloudslang.fortest;
 
+import io.cloudslang.lang.entities.bindings.values.DecryptedValuesCache;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.spi.encryption.Encryption;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.python.apache.xerces.impl.dv.util.Base64;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -12,9 +15,15 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -99,6 +108,42 @@ public class SensitiveValueTest {
         verifyEncrypted(value, expectedDecryptedValue, encryptedString);
     }
 
+    @Test
+    public void testStringContentSerializedAsByObjectStream() throws Exception {
+        for (String originalValue : Arrays.asList("", "simple", "n\u00e4\u00efve \u20ac \u0000", StringUtils.repeat("long", 20000))) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(baos);
+            oos.writeObject(originalValue);
+            oos.close();
+
+            SensitiveValue value = (SensitiveValue) ValueFactory.create(originalValue, true);
+
+            assertEquals(ENCRYPTED + Base64.encode(baos.toByteArray()), value.getContent());
+            assertEquals(originalValue, value.get());
+        }
+    }
+
+    @Test
+    public void testDecryptedValuesCachedWithinScope() {
+        SensitiveValue stringValue = (SensitiveValue) ValueFactory.create("cached", true);
+        SensitiveValue listValue = (SensitiveValue) ValueFactory.create(new ArrayList<>(Arrays.asList("a", "b")), true);
+
+        DecryptedValuesCache.open();
+        try {
+            long avoidedDecryptCount = DecryptedValuesCache.getAvoidedDecryptCount();
+            Serializable first = stringValue.get();
+            assertSame(first, stringValue.get());
+            assertSame(first, ValueFactory.create("cached", true).get());
+            assertEquals(avoidedDecryptCount + 2, DecryptedValuesCache.getAvoidedDecryptCount());
+            // mutable contents are not shared
+            assertNotSame(listValue.get(), listValue.get());
+        } finally {
+            DecryptedValuesCache.close();
+        }
+
+        assertNotSame(stringValue.get(), stringValue.get());
+    }
+
     private void verifyEncrypted(SensitiveValue value, Serializable expectedOriginalValue, String expectedEncryptedString) {
         verifySensitiveValue(value, expectedOriginalValue, expectedEncryptedString);
     }
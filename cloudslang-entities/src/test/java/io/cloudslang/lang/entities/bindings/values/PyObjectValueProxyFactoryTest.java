@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks that calls made through PyObjectValue proxies give the same results
+ * as invoking the target methods through reflection.
+ */
+public class PyObjectValueProxyFactoryTest {
+
+    @Test
+    public void testArithmetic() throws Exception {
+        PyObjectValue value = ValueFactory.createPyObjectValue(5, false);
+        PyObject proxy = (PyObject) value;
+
+        Assert.assertEquals(reflectiveCall(Py.java2py(5), "__add__", Py.newInteger(3)), proxy.__add__(Py.newInteger(3)));
+        Assert.assertEquals(Py.newInteger(10), proxy.__mul__(Py.newInteger(2)));
+        Assert.assertEquals(Py.True, proxy._gt(Py.newInteger(0)));
+        Assert.assertTrue(value.isAccessed());
+    }
+
+    @Test
+    public void testString() throws Exception {
+        PyObjectValue value = ValueFactory.createPyObjectValue("prefix", false);
+        PyObject proxy = (PyObject) value;
+
+        Assert.assertEquals(reflectiveCall(Py.java2py("prefix"), "__add__", new PyString("-suffix")),
+                proxy.__add__(new PyString("-suffix")));
+        Assert.assertEquals(6, proxy.__len__());
+        Assert.assertEquals(Py.True, proxy._eq(new PyString("prefix")));
+    }
+
+    @Test
+    public void testDictAccess() throws Exception {
+        Map<String, Serializable> map = new HashMap<>();
+        map.put("key", "value");
+        PyObjectValue value = ValueFactory.createPyObjectValue((Serializable) map, false);
+        PyObject proxy = (PyObject) value;
+
+        Assert.assertEquals(new PyString("value"), proxy.__getitem__(new PyString("key")));
+        Assert.assertTrue(proxy.__contains__(new PyString("key")));
+        Assert.assertNull(proxy.__finditem__(new PyString("missing")));
+    }
+
+    @Test
+    public void testProxyArgumentsAreUnwrapped() throws Exception {
+        PyObjectValue left = ValueFactory.createPyObjectValue(2, false);
+        PyObjectValue right = ValueFactory.createPyObjectValue(3, false);
+
+        Assert.assertEquals(Py.newInteger(5), ((PyObject) left).__add__((PyObject) right));
+        Assert.assertTrue(right.isAccessed());
+    }
+
+    @Test
+    public void testValueMethods() throws Exception {
+        PyObjectValue value = ValueFactory.createPyObjectValue("content", false);
+
+        Assert.assertEquals("content", value.get());
+        Assert.assertFalse(value.isSensitive());
+        Assert.assertFalse(value.isAccessed());
+        Assert.assertEquals("content", value.toString());
+        Assert.assertFalse(value.isAccessed());
+    }
+
+    @Test
+    public void testExceptionsFromTargetArePropagated() throws Exception {
+        PyObject proxy = (PyObject) ValueFactory.createPyObjectValue(new PyDictionary(), false);
+        try {
+            proxy.__getitem__(new PyString("missing"));
+            Assert.fail("Expected a KeyError");
+        } catch (PyException e) {
+            Assert.assertTrue(e.match(Py.KeyError));
+            Assert.assertEquals("KeyError('missing',)", e.value.toString());
+        }
+    }
+
+    private Object reflectiveCall(PyObject target, String methodName, PyObject argument) throws Exception {
+        Method method = target.getClass().getMethod(methodName, PyObject.class);
+        return method.invoke(target, argument);
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExpressionNamesScannerTest {
+
+    @Test
+    public void testIdentifiers() {
+        assertEquals(names("a", "b_1", "len", "x", "upper", "if", "else"),
+                ExpressionNamesScanner.findReferencedNames("len(a) + b_1 * 2.5e3 if x.upper() else 0x1F", false));
+    }
+
+    @Test
+    public void testStringLiteralsAreNotNames() {
+        assertEquals(names("a"), ExpressionNamesScanner.findReferencedNames("a + 'b' + \"c d\" + r'\\e' + u'''f'''", false));
+    }
+
+    @Test
+    public void testCommentsAreIgnored() {
+        assertEquals(names("a"), ExpressionNamesScanner.findReferencedNames("a # b", false));
+    }
+
+    @Test
+    public void testGetWithLiteralName() {
+        assertEquals(names("get", "a", "b", "c"),
+                ExpressionNamesScanner.findReferencedNames("get('a') + get(\"b\", c)", true));
+    }
+
+    @Test
+    public void testGetWithoutGetFunctionIsPlainName() {
+        assertEquals(names("get", "name"), ExpressionNamesScanner.findReferencedNames("get(name)", false));
+    }
+
+    @Test
+    public void testDictGetIsNotGetFunction() {
+        assertEquals(names("d", "get", "name"), ExpressionNamesScanner.findReferencedNames("d.get(name)", true));
+    }
+
+    @Test
+    public void testDynamicAccess() {
+        assertNull(ExpressionNamesScanner.findReferencedNames("get(name)", true));
+        assertNull(ExpressionNamesScanner.findReferencedNames("get('prefix_' + name)", true));
+        assertNull(ExpressionNamesScanner.findReferencedNames("locals()['a']", false));
+        assertNull(ExpressionNamesScanner.findReferencedNames("globals().get('a')", false));
+        assertNull(ExpressionNamesScanner.findReferencedNames("eval('a')", false));
+    }
+
+    @Test
+    public void testNamesAndStringLiterals() {
+        assertEquals(names("map", "lambda", "x", "str", "name", "branches_context", "a b"),
+                ExpressionNamesScanner.findNamesAndStringLiterals("map(lambda x:str(x['name']), branches_context) + \"a b\""));
+        assertNull(ExpressionNamesScanner.findNamesAndStringLiterals("locals()['a']"));
+    }
+
+    @Test
+    public void testStringLiteralEscapes() {
+        assertEquals(names("x", "a\tb", "c'd"), ExpressionNamesScanner.findNamesAndStringLiterals("x['a\\tb'] + x[\"c\\'d\"]"));
+        assertNull(ExpressionNamesScanner.findNamesAndStringLiterals("x['\\x41']"));
+        assertNull(ExpressionNamesScanner.findReferencedNames("get('\\x41')", true));
+    }
+
+    @Test
+    public void testVariableNames() {
+        assertEquals(names("a", "len", "x", "d", "name", "b"),
+                ExpressionNamesScanner.findVariableNames("len(a) if x.upper() and not d.get(name) else len(b, c=1)", false));
+        assertEquals(names("get", "a", "c", "e"),
+                ExpressionNamesScanner.findVariableNames("get('a', c == 1) or e.b", true));
+        assertNull(ExpressionNamesScanner.findVariableNames("get(name)", true));
+    }
+
+    @Test
+    public void testEmptyExpression() {
+        assertTrue(ExpressionNamesScanner.findReferencedNames("", true).isEmpty());
+    }
+
+    private Set<String> names(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.utils;
+
+import io.cloudslang.lang.entities.utils.PythonTokenizer.Token;
+import io.cloudslang.lang.entities.utils.PythonTokenizer.TokenType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PythonTokenizerTest {
+
+    @Test
+    public void testTokens() {
+        List<Token> tokens = PythonTokenizer.tokenize("len(a_1) >= 2.5e-3 ** x.upper() != 0x1F <> .5");
+
+        assertEquals(Arrays.asList("len", "(", "a_1", ")", ">=", "2.5e-3", "**", "x", ".", "upper", "(", ")", "!=",
+                "0x1F", "<>", ".5"), texts(tokens));
+        assertEquals(Arrays.asList(TokenType.NAME, TokenType.OPERATOR, TokenType.NAME, TokenType.OPERATOR,
+                TokenType.OPERATOR, TokenType.NUMBER, TokenType.OPERATOR, TokenType.NAME, TokenType.OPERATOR,
+                TokenType.NAME, TokenType.OPERATOR, TokenType.OPERATOR, TokenType.OPERATOR, TokenType.NUMBER,
+                TokenType.OPERATOR, TokenType.NUMBER), types(tokens));
+    }
+
+    @Test
+    public void testHexNumberEndsBeforeSign() {
+        assertEquals(Arrays.asList("0xE", "-", "1"), texts(PythonTokenizer.tokenize("0xE-1")));
+        assertEquals(Arrays.asList("1E", "-", "x"), texts(PythonTokenizer.tokenize("1E -x")));
+    }
+
+    @Test
+    public void testStrings() {
+        List<Token> tokens = PythonTokenizer.tokenize("'a\\'b' + ur\"c\" + '''d'e''' + b'f'");
+
+        assertEquals(Arrays.asList("'a\\'b'", "+", "ur\"c\"", "+", "'''d'e'''", "+", "b'f'"), texts(tokens));
+        assertEquals("a\\'b", tokens.get(0).getContent());
+        assertEquals("a'b", tokens.get(0).getStringValue());
+        assertEquals("", tokens.get(0).getStringPrefix());
+        assertEquals("ur", tokens.get(2).getStringPrefix());
+        assertTrue(tokens.get(4).isTripleQuoted());
+        assertEquals("d'e", tokens.get(4).getStringValue());
+        assertEquals("b", tokens.get(6).getStringPrefix());
+    }
+
+    @Test
+    public void testStringValues() {
+        assertEquals("a\tb\nc\\d\"", PythonTokenizer.decodeString("a\\tb\\nc\\\\d\\\"", false));
+        assertEquals("ab", PythonTokenizer.decodeString("a\\\nb", false));
+        assertEquals("a\\d", PythonTokenizer.decodeString("a\\d", true));
+        assertNull(PythonTokenizer.decodeString("\\x41", false));
+        assertNull(PythonTokenizer.decodeString("\\u0041", false));
+    }
+
+    @Test
+    public void testUnterminatedString() {
+        List<Token> tokens = PythonTokenizer.tokenize("a + 'b\\'");
+
+        assertEquals(3, tokens.size());
+        assertFalse(tokens.get(2).isTerminated());
+        assertEquals("b\\'", tokens.get(2).getContent());
+    }
+
+    @Test
+    public void testCommentsAndLineBreaks() {
+        assertEquals(Arrays.asList("a", "+", "b"), texts(PythonTokenizer.tokenize("a + \\\n b # comment\n")));
+        assertEquals(Arrays.asList("f", "(", "a", ",", "b", ")"), texts(PythonTokenizer.tokenize("f(a,\r\n b)")));
+        List<Token> tokens = PythonTokenizer.tokenize("a +\nb");
+        assertEquals(TokenType.NEWLINE, tokens.get(2).getType());
+    }
+
+    @Test
+    public void testOtherCharacters() {
+        List<Token> tokens = PythonTokenizer.tokenize("a $ é");
+
+        assertEquals(Arrays.asList("a", "$", "é"), texts(tokens));
+        assertTrue(tokens.get(1).isOperator("$"));
+        assertTrue(tokens.get(2).isName());
+    }
+
+    private List<String> texts(List<Token> tokens) {
+        List<String> texts = new ArrayList<>();
+        for (Token token : tokens) {
+            texts.add(token.getText());
+        }
+        return texts;
+    }
+
+    private List<TokenType> types(List<Token> tokens) {
+        List<TokenType> types = new ArrayList<>();
+        for (Token token : tokens) {
+            types.add(token.getType());
+        }
+        return types;
+    }
+}
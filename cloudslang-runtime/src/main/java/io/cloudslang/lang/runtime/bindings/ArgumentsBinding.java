@@ -40,11 +40,8 @@ public class ArgumentsBinding {
             Set<SystemProperty> systemProperties) {
         Map<String, Value> resultContext = new HashMap<>();
 
-        //we do not want to change original context map
-        Map<String, Value> srcContext = new HashMap<>(context);
-
         for (Argument argument : arguments) {
-            bindArgument(argument, srcContext, systemProperties, resultContext);
+            bindArgument(argument, context, systemProperties, resultContext);
         }
 
         return resultContext;
@@ -64,12 +61,10 @@ public class ArgumentsBinding {
                 Value rawValue = argument.getValue();
                 String expressionToEvaluate = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
                 if (expressionToEvaluate != null) {
-                    //we do not want to change original context map
-                    Map<String, Value> scriptContext = new HashMap<>(srcContext);
-                    scriptContext.put(inputName, inputValue);
-                    //so you can resolve previous arguments already bound
-                    scriptContext.putAll(targetContext);
-                    inputValue = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties, argument.getFunctionDependencies());
+                    //so you can resolve previous arguments already bound, without copying the context
+                    Map<String, Value> scriptContext = ScopeMap.<Value>of(srcContext, targetContext, inputName, inputValue);
+                    inputValue = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties,
+                            argument.getFunctionDependencies(), argument.getVariableDependencies());
                 } else {
                     inputValue = rawValue;
                 }
@@ -42,11 +42,8 @@ public class InputsBinding {
                                          Set<SystemProperty> systemProperties) {
         Map<String, Value> resultContext = new HashMap<>();
 
-        //we do not want to change original context map
-        Map<String, Value> srcContext = new HashMap<>(context);
-
         for (Input input : inputs) {
-            bindInput(input, srcContext, resultContext, systemProperties);
+            bindInput(input, context, resultContext, systemProperties);
         }
 
         return resultContext;
@@ -77,9 +74,6 @@ public class InputsBinding {
                                Set<SystemProperty> systemProperties) {
         Value value = null;
 
-        //we do not want to change original context map
-        Map<String, Value> scriptContext = new HashMap<>(context);
-
         String inputName = input.getName();
         Value valueFromContext = context.get(inputName);
         boolean sensitive = input.getValue() != null && input.getValue().isSensitive() || valueFromContext != null && valueFromContext.isSensitive();
@@ -91,12 +85,10 @@ public class InputsBinding {
             Value rawValue = input.getValue();
             String expressionToEvaluate = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
             if (expressionToEvaluate != null) {
-                if (context.containsKey(inputName)) {
-                    scriptContext.put(inputName, valueFromContext);
-                }
-                //so you can resolve previous inputs already bound
-                scriptContext.putAll(targetContext);
-                value = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties, input.getFunctionDependencies());
+                //so you can resolve previous inputs already bound, without copying the context
+                Map<String, Value> scriptContext = ScopeMap.<Value>of(context, targetContext);
+                value = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties,
+                        input.getFunctionDependencies(), input.getVariableDependencies());
                 value = ValueFactory.create(value, sensitive);
             } else if ((value == null && rawValue != null) || (containsEmptyStringOrNull(value) && doesNotContainNull(rawValue))) {
                 value = rawValue;
@@ -46,17 +46,23 @@ public class OutputsBinding {
         Map<String, Value> scriptContext = MapUtils.mergeMaps(initialContext, returnContext);
 
         if (possibleOutputs != null) {
-            for (Output output : possibleOutputs) {
+            // the outputs left unbound by the batch, if any, are bound one by one
+            List<Value> batchValues = scriptEvaluator.evalBatch(possibleOutputs, scriptContext, systemProperties);
+            for (int i = 0; i < possibleOutputs.size(); i++) {
+                Output output = possibleOutputs.get(i);
                 String outputKey = output.getName();
                 Value rawValue = output.getValue();
                 Value valueToAssign = rawValue;
                 String expressionToEvaluate = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
-                if (expressionToEvaluate != null) {
+                if (i < batchValues.size()) {
+                    valueToAssign = batchValues.get(i);
+                } else if (expressionToEvaluate != null) {
                     // initialize with null value if key does not exist
                     scriptContext.put(outputKey, scriptContext.get(outputKey));
                     try {
                         //evaluate expression
-                        Value value = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties, output.getFunctionDependencies());
+                        Value value = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties,
+                                output.getFunctionDependencies(), output.getVariableDependencies());
                         valueToAssign = ValueFactory.create(value, rawValue != null && rawValue.isSensitive());
                     } catch (Throwable t) {
                         throw new RuntimeException("Error binding output: '" + output.getName() + "',\n\tError is: " + t.getMessage(), t);
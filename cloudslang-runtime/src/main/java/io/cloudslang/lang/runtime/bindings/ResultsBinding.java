@@ -107,7 +107,8 @@ public class ResultsBinding {
                 Map<String, Value> scriptContext = MapUtils.mergeMaps(inputs, context);
 
                 try {
-                    Value expressionResult = scriptEvaluator.evalExpr(expression, scriptContext, systemProperties, result.getFunctionDependencies());
+                    Value expressionResult = scriptEvaluator.evalExpr(expression, scriptContext, systemProperties,
+                            result.getFunctionDependencies(), result.getVariableDependencies());
                     Boolean evaluatedResult;
                     if (expressionResult.get() instanceof Integer) {
                         evaluatedResult = (Integer) expressionResult.get() != 0;
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read only view over a stack of maps, used as the context of the expressions evaluated while binding.
+ * A key is looked up in the layers from the top one down, so entries of upper layers hide the entries
+ * of the lower layers with the same key. The layers are not copied: changes to them are seen by the view.
+ */
+final class ScopeMap<V> extends AbstractMap<String, V> {
+
+    private final Map<String, ? extends V>[] layers;
+
+    @SafeVarargs
+    private ScopeMap(Map<String, ? extends V>... layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * @param base the context the bound values are read from
+     * @param bound the values already bound
+     * @return a view of the base context overridden by the bound values
+     */
+    static <V> ScopeMap<V> of(Map<String, ? extends V> base, Map<String, ? extends V> bound) {
+        return new ScopeMap<V>(bound, base);
+    }
+
+    /**
+     * @param base the context the bound values are read from
+     * @param bound the values already bound
+     * @param name the name of the value being bound
+     * @param value the value the name is seen with unless it is already bound
+     * @return a view of the base context overridden by the given value and then by the bound values
+     */
+    static <V> ScopeMap<V> of(Map<String, ? extends V> base, Map<String, ? extends V> bound, String name, V value) {
+        return new ScopeMap<V>(bound, Collections.singletonMap(name, value), base);
+    }
+
+    @Override
+    public V get(Object key) {
+        for (Map<String, ? extends V> layer : layers) {
+            V value = layer.get(key);
+            if (value != null || layer.containsKey(key)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (Map<String, ? extends V> layer : layers) {
+            if (layer.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new ScopeIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<Entry<String, V>> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    private class ScopeIterator implements Iterator<Entry<String, V>> {
+
+        private int layerIndex;
+        private Iterator<? extends Entry<String, ? extends V>> layerIterator = layers[0].entrySet().iterator();
+        private Entry<String, ? extends V> nextEntry;
+
+        @Override
+        public boolean hasNext() {
+            while (nextEntry == null) {
+                if (layerIterator.hasNext()) {
+                    Entry<String, ? extends V> candidate = layerIterator.next();
+                    if (!isHidden(candidate.getKey())) {
+                        nextEntry = candidate;
+                    }
+                } else if (layerIndex + 1 < layers.length) {
+                    layerIterator = layers[++layerIndex].entrySet().iterator();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, V> entry = new SimpleImmutableEntry<String, V>(nextEntry.getKey(), nextEntry.getValue());
+            nextEntry = null;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+        private boolean isHidden(String key) {
+            for (int i = 0; i < layerIndex; i++) {
+                if (layers[i].containsKey(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.python.core.CompileMode;
+import org.python.core.CompilerFlags;
+import org.python.core.Py;
+import org.python.core.PyCode;
+
+/**
+ * Bounded, thread safe cache of compiled python action scripts keyed by the script text.
+ * Compiled code does not depend on the interpreter running it, so one entry serves the scripts
+ * of all the dependency sets. Least recently used entries are evicted once the maximum size is reached.
+ */
+public class CompiledScriptCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    // same file name the interpreter gives to the scripts it compiles itself
+    private static final String SCRIPT_FILE_NAME = "<string>";
+
+    private final Cache<String, PyCode> cache;
+
+    public CompiledScriptCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CompiledScriptCache(long maximumSize) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param script the python script
+     * @return the compiled script, or null if the script does not compile
+     */
+    public PyCode getCompiledScript(String script) {
+        PyCode compiledScript = cache.getIfPresent(script);
+        if (compiledScript == null) {
+            compiledScript = compile(script);
+            if (compiledScript != null) {
+                cache.put(script, compiledScript);
+            }
+        }
+        return compiledScript;
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private PyCode compile(String script) {
+        // not cached when null - the interpreter reports the error when running the script text
+        return compile(script, CompileMode.exec);
+    }
+
+    /**
+     * @return the compiled script, or null if the script does not compile in the given mode
+     */
+    static PyCode compile(String script, CompileMode mode) {
+        try {
+            return Py.compile_flags(script, SCRIPT_FILE_NAME, mode, new CompilerFlags());
+        } catch (RuntimeException e) {
+            // a PyException, or an error of the parser itself, e.g. for an empty expression in eval mode
+            return null;
+        }
+    }
+}
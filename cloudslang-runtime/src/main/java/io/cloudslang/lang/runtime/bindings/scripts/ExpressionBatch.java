@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.InOutParam;
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.PythonTokenizer;
+import io.cloudslang.lang.entities.utils.PythonTokenizer.Token;
+import org.python.core.Py;
+import org.python.core.PyBoolean;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds a list of values in order, such as the outputs of an operation, evaluating all their expressions
+ * in one run of the python interpreter. The interpreter runs a script which calls back this object after
+ * each expression, so every value is bound under its name before the next expression runs.
+ *
+ * The sensitive values an expression reads are replaced by fresh copies before the next expression runs,
+ * so the values each expression reads are told apart, as when every expression runs on its own.
+ * The methods called by the script are public so the interpreter can reach them, and the batch is
+ * serializable only so it can be passed in the python context.
+ */
+public class ExpressionBatch implements Serializable {
+
+    static final String BATCH_NAME = "__batch__";
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final List<? extends InOutParam> params;
+    private final List<PreparedExpression> expressions;
+    private final SystemPropertiesLookup systemPropertiesLookup;
+    private final List<Value> values = new ArrayList<>();
+
+    // the sensitive values currently bound in the interpreter, and the wrappers the interpreter reads them through
+    private final Map<String, Value> sensitiveValues = new HashMap<>();
+    private final Map<String, PyObjectValue> sensitiveObjects = new HashMap<>();
+    private SystemPropertiesView systemPropertiesView;
+
+    /**
+     * @param params the values to bind, in order
+     * @param expressions the prepared expression of each value, or null for a value bound as it is
+     * @param systemPropertiesLookup the system properties, or null if no expression reads them
+     */
+    ExpressionBatch(List<? extends InOutParam> params, List<PreparedExpression> expressions,
+                    SystemPropertiesLookup systemPropertiesLookup) {
+        this.params = params;
+        this.expressions = expressions;
+        this.systemPropertiesLookup = systemPropertiesLookup;
+    }
+
+    /**
+     * @param functionsScript the definitions of the functions used by the expressions
+     * @param contextNames the names bound before the first value
+     * @return the script binding the values in order
+     */
+    String createScript(String functionsScript, Set<String> contextNames) {
+        Set<String> boundNames = new HashSet<>(contextNames);
+        StringBuilder script = new StringBuilder(functionsScript);
+        for (int i = 0; i < params.size(); i++) {
+            PreparedExpression expression = expressions.get(i);
+            String name = params.get(i).getName();
+            if (expression == null) {
+                script.append(BATCH_NAME).append(".bind(").append(i).append(", None, globals())");
+            } else {
+                if (!boundNames.contains(name)) {
+                    script.append(BATCH_NAME).append(".declare(").append(i).append(", globals())").append(LINE_SEPARATOR);
+                }
+                // the expression gets lines of its own so a trailing comment does not hide the rest of the call
+                script.append(BATCH_NAME).append(".bind(").append(i).append(", (").append(LINE_SEPARATOR)
+                        .append(expression.getExpression()).append(LINE_SEPARATOR)
+                        .append("), globals())");
+            }
+            script.append(LINE_SEPARATOR);
+            boundNames.add(name);
+        }
+        return script.toString();
+    }
+
+    /**
+     * All the expressions of a batch run in the same namespace, so the names an expression binds are seen by the
+     * expressions after it. In python 2 only the loop variables of list comprehensions leak out of an expression,
+     * and <code>for</code> appears in an expression only in comprehensions and generator expressions.
+     *
+     * @return whether the expression may bind names in the namespace it runs in
+     */
+    static boolean isBindingNames(String expression) {
+        for (Token token : PythonTokenizer.tokenize(expression)) {
+            if (token.isName("for")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds this batch and the system properties to the python context of the script,
+     * and keeps the sensitive values of the context to tell which expressions read them.
+     *
+     * @param pythonContext the wrapped variables the expressions read
+     * @param context the variables
+     */
+    void prepareContext(Map<String, Serializable> pythonContext, Map<String, Value> context) {
+        for (Map.Entry<String, Serializable> entry : pythonContext.entrySet()) {
+            Value value = context.get(entry.getKey());
+            if (value != null && value.isSensitive() && entry.getValue() instanceof PyObjectValue) {
+                sensitiveValues.put(entry.getKey(), value);
+                sensitiveObjects.put(entry.getKey(), (PyObjectValue) entry.getValue());
+            }
+        }
+        if (systemPropertiesLookup != null) {
+            systemPropertiesView = systemPropertiesLookup.createView();
+            pythonContext.put(ScriptEvaluator.SYSTEM_PROPERTIES_MAP, systemPropertiesView);
+        }
+        pythonContext.put(BATCH_NAME, this);
+    }
+
+    /**
+     * Gives the value at the given index a null value before its expression runs, when nothing is bound under its name.
+     */
+    public void declare(int index, PyObject namespace) {
+        namespace.__setitem__(params.get(index).getName(), Py.None);
+    }
+
+    /**
+     * Binds the value at the given index under its name.
+     *
+     * @param index the index of the value
+     * @param result the result of the expression of the value, or None if it has no expression
+     * @param namespace the namespace of the script
+     */
+    public void bind(int index, PyObject result, PyObject namespace) {
+        InOutParam param = params.get(index);
+        PreparedExpression expression = expressions.get(index);
+        Value value = param.getValue();
+        if (expression != null) {
+            boolean sensitive = refreshReadSensitiveValues(namespace);
+            Value evaluatedValue = ValueFactory.create(toJava(result, expression.getExpression()), sensitive);
+            value = ValueFactory.create(evaluatedValue, value != null && value.isSensitive());
+        }
+        values.add(value);
+
+        String name = param.getName();
+        PyObjectValue object = ValueFactory.createPyObjectValue(value);
+        namespace.__setitem__(name, (PyObject) object);
+        if (value != null && value.isSensitive()) {
+            sensitiveValues.put(name, value);
+            sensitiveObjects.put(name, object);
+        } else {
+            sensitiveValues.remove(name);
+            sensitiveObjects.remove(name);
+        }
+    }
+
+    /**
+     * @return the number of values bound so far, which is also the index of the value being bound
+     */
+    int getBoundCount() {
+        return values.size();
+    }
+
+    List<Value> getValues() {
+        return values;
+    }
+
+    /**
+     * @return whether the last expression read a sensitive value. The sensitive values it read are bound again
+     * to new wrappers, which are not marked as read.
+     */
+    private boolean refreshReadSensitiveValues(PyObject namespace) {
+        boolean sensitive = false;
+        for (Map.Entry<String, PyObjectValue> entry : sensitiveObjects.entrySet()) {
+            if (entry.getValue().isAccessed()) {
+                sensitive = true;
+                PyObjectValue object = ValueFactory.createPyObjectValue(sensitiveValues.get(entry.getKey()));
+                entry.setValue(object);
+                namespace.__setitem__(entry.getKey(), (PyObject) object);
+            }
+        }
+        if (systemPropertiesView != null && systemPropertiesView.isSensitiveValueAccessed()) {
+            sensitive = true;
+            systemPropertiesView = systemPropertiesLookup.createView();
+            namespace.__setitem__(ScriptEvaluator.SYSTEM_PROPERTIES_MAP, Py.java2py(systemPropertiesView));
+        }
+        return sensitive;
+    }
+
+    /**
+     * Converts the result of an expression the same way the interpreter converts the result of an evaluation.
+     */
+    private Serializable toJava(PyObject result, String expression) {
+        if (result instanceof PyBoolean) {
+            return ((PyBoolean) result).getBooleanValue();
+        }
+        try {
+            return (Serializable) Py.tojava(result, Serializable.class);
+        } catch (PyException e) {
+            throw new RuntimeException("Evaluation result for a Python expression should be serializable:\n\t" +
+                    "Conversion failed for '" + expression + "' (" + result + ").\n", e);
+        }
+    }
+}
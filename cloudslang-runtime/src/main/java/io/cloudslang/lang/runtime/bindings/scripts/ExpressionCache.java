@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Bounded, thread safe cache of {@link PreparedExpression}s keyed by the expression text
+ * and the set of script functions it depends on.
+ * Least recently used entries are evicted once the maximum size is reached.
+ */
+public class ExpressionCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Cache<Key, PreparedExpression> cache;
+
+    public ExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ExpressionCache(long maximumSize) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public PreparedExpression get(String expression, Set<ScriptFunction> functionDependencies) {
+        return cache.getIfPresent(new Key(expression, functionDependencies));
+    }
+
+    public void put(String expression, Set<ScriptFunction> functionDependencies, PreparedExpression preparedExpression) {
+        cache.put(new Key(expression, functionDependencies), preparedExpression);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static class Key {
+
+        private final String expression;
+        private final Set<ScriptFunction> functionDependencies;
+
+        private Key(String expression, Set<ScriptFunction> functionDependencies) {
+            this.expression = expression;
+            this.functionDependencies = functionDependencies.isEmpty() ?
+                    EnumSet.noneOf(ScriptFunction.class) : EnumSet.copyOf(functionDependencies);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+
+            return new EqualsBuilder()
+                    .append(expression, that.expression)
+                    .append(functionDependencies, that.functionDependencies)
+                    .isEquals();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder()
+                    .append(expression)
+                    .append(functionDependencies)
+                    .toHashCode();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import org.python.core.PyCode;
+
+import java.util.Set;
+
+/**
+ * An expression together with everything that can be computed for it ahead of evaluation:
+ * the script defining its helper functions, whether it needs the system properties map,
+ * the context variables it may read, whether it binds names, the compiled code of both and, for simple expressions,
+ * their java evaluation.
+ * Instances are immutable and shared between threads through the {@link ExpressionCache}.
+ */
+public class PreparedExpression {
+
+    private final String expression;
+    private final String functionsScript;
+    private final boolean systemPropertiesDefined;
+    private final Set<String> referencedNames;
+    private final boolean bindingNames;
+    private final SimpleExpression simpleExpression;
+    private final PyCode compiledExpression;
+    private final PyCode compiledFunctionsScript;
+
+    public PreparedExpression(String expression, String functionsScript, boolean systemPropertiesDefined,
+                              Set<String> referencedNames) {
+        this(expression, functionsScript, systemPropertiesDefined, referencedNames, false, null, null, null);
+    }
+
+    public PreparedExpression(String expression, String functionsScript, boolean systemPropertiesDefined,
+                              Set<String> referencedNames, boolean bindingNames, SimpleExpression simpleExpression,
+                              PyCode compiledExpression, PyCode compiledFunctionsScript) {
+        this.expression = expression;
+        this.functionsScript = functionsScript;
+        this.systemPropertiesDefined = systemPropertiesDefined;
+        this.referencedNames = referencedNames;
+        this.bindingNames = bindingNames;
+        this.simpleExpression = simpleExpression;
+        this.compiledExpression = compiledExpression;
+        this.compiledFunctionsScript = compiledFunctionsScript;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public String getFunctionsScript() {
+        return functionsScript;
+    }
+
+    public boolean isSystemPropertiesDefined() {
+        return systemPropertiesDefined;
+    }
+
+    /**
+     * @return the names of the context variables the expression may read, or null if it may read any of them
+     */
+    public Set<String> getReferencedNames() {
+        return referencedNames;
+    }
+
+    /**
+     * @return whether evaluating the expression may bind names in the namespace it runs in,
+     * as the loop variables of a list comprehension do
+     */
+    public boolean isBindingNames() {
+        return bindingNames;
+    }
+
+    /**
+     * @return the compiled expression, or null if the expression does not compile
+     */
+    public PyCode getCompiledExpression() {
+        return compiledExpression;
+    }
+
+    /**
+     * @return the compiled functions script, or null if there are no functions to define
+     */
+    public PyCode getCompiledFunctionsScript() {
+        return compiledFunctionsScript;
+    }
+
+    /**
+     * @return the expression as a simple expression, or null if only the python interpreter can evaluate it
+     */
+    public SimpleExpression getSimpleExpression() {
+        return simpleExpression;
+    }
+}
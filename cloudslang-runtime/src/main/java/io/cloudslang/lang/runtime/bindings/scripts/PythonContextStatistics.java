@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe counters of the context variables converted to python objects
+ * when preparing the python context of an evaluation or execution.
+ */
+public class PythonContextStatistics {
+
+    private final AtomicLong contextCount = new AtomicLong();
+    private final AtomicLong convertedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    public void record(int converted, int skipped) {
+        contextCount.incrementAndGet();
+        convertedCount.addAndGet(converted);
+        skippedCount.addAndGet(skipped);
+    }
+
+    public long getContextCount() {
+        return contextCount.get();
+    }
+
+    public long getConvertedCount() {
+        return convertedCount.get();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    public double getAverageConvertedCount() {
+        long contexts = contextCount.get();
+        return contexts == 0 ? 0 : (double) convertedCount.get() / contexts;
+    }
+
+    public void reset() {
+        contextCount.set(0);
+        convertedCount.set(0);
+        skippedCount.set(0);
+    }
+}
@@ -10,25 +10,34 @@
 
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.InOutParam;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.ExpressionNamesScanner;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.runtime.api.python.PythonEvaluationResult;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import java.util.Collection;
 import org.apache.commons.lang3.StringUtils;
-import org.python.core.Py;
-import org.python.core.PyObject;
+import org.python.core.CompileMode;
+import org.python.core.PyCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author stoneo
@@ -38,7 +47,7 @@ import java.util.Set;
 @Component
 public class ScriptEvaluator extends ScriptProcessor {
     private static String LINE_SEPARATOR = System.lineSeparator();
-    private static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
+    static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
     private static final String GET_FUNCTION_DEFINITION =
             "def get(key, default_value=None):" + LINE_SEPARATOR +
                     "  value = globals().get(key)" + LINE_SEPARATOR +
@@ -50,32 +59,221 @@ public class ScriptEvaluator extends ScriptProcessor {
     private static final String CHECK_EMPTY_FUNCTION_DEFINITION =
             "def check_empty(value_to_check, default_value=None):" + LINE_SEPARATOR +
                     "  return default_value if value_to_check is None else value_to_check";
+    // dunder names are left out of the evaluation result context
+    private static final String COMPILED_EXPRESSION_NAME = "__compiled_expression__";
+    private static final String COMPILED_FUNCTIONS_NAME = "__compiled_functions__";
+    private static final String EVAL_FUNCTION_NAME = "eval";
+    private static final String EVAL_COMPILED_EXPRESSION = EVAL_FUNCTION_NAME + "(" + COMPILED_EXPRESSION_NAME + ")";
+    private static final String EXEC_COMPILED_FUNCTIONS = "exec " + COMPILED_FUNCTIONS_NAME;
+    private static final String BATCH_SCRIPT_NAME = "__batch_script__";
+    private static final String EXEC_BATCH_SCRIPT = "exec " + BATCH_SCRIPT_NAME;
+    // a batch pays off once it saves at least one run of the interpreter
+    private static final int MINIMUM_BATCH_SIZE = 2;
 
     @Autowired
     private PythonRuntimeService pythonRuntimeService;
 
+    // weak keys are compared by identity
+    private final Cache<Set<SystemProperty>, SystemPropertiesLookup> systemPropertiesLookups =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    private final ExpressionCache expressionCache = new ExpressionCache(Long.getLong(
+            SlangSystemPropertyConstant.CSLANG_EXPRESSION_CACHE_SIZE.getValue(), ExpressionCache.DEFAULT_MAXIMUM_SIZE));
+
+    // when set, simple expressions are evaluated in java instead of by the python interpreter
+    private boolean simpleExpressionsEnabled = Boolean.parseBoolean(
+            System.getProperty(SlangSystemPropertyConstant.CSLANG_EXPRESSION_SIMPLE_EVALUATION.getValue(), "true"));
+    private final AtomicLong simpleEvaluationsCount = new AtomicLong();
+
+    // when set, the expressions of values bound together are evaluated in one run of the python interpreter
+    private boolean batchEvaluationEnabled = Boolean.parseBoolean(
+            System.getProperty(SlangSystemPropertyConstant.CSLANG_EXPRESSION_BATCH_EVALUATION.getValue(), "true"));
+    private final CompiledScriptCache batchScriptCache = new CompiledScriptCache();
+    // one entry for each set of functions
+    private final CompiledScriptCache functionsScriptCache = new CompiledScriptCache();
+    private final AtomicLong batchEvaluationsCount = new AtomicLong();
+
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties){
         return evalExpr(expr, context, systemProperties, new HashSet<ScriptFunction>());
     }
 
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties, Set<ScriptFunction> functionDependencies) {
+        return evalExpr(expr, context, systemProperties, functionDependencies, null);
+    }
+
+    /**
+     * @param variableDependencies the variables the expression may read as found by the compiler,
+     *                             or null to find them here
+     */
+    public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties,
+                          Set<ScriptFunction> functionDependencies, Set<String> variableDependencies) {
         try {
-            Map<String, Serializable> pythonContext = createPythonContext(context);
-            boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
-            if(systemPropertiesDefined) {
-                pythonContext.put(SYSTEM_PROPERTIES_MAP, (Serializable) prepareSystemProperties(systemProperties));
+            PreparedExpression preparedExpression = prepareExpression(expr, functionDependencies, variableDependencies);
+            SimpleExpression simpleExpression = preparedExpression.getSimpleExpression();
+            if (simpleExpressionsEnabled && simpleExpression != null) {
+                Value value = simpleExpression.evaluate(context);
+                if (value != null) {
+                    simpleEvaluationsCount.incrementAndGet();
+                    return value;
+                }
             }
-            PythonEvaluationResult result = pythonRuntimeService.eval(buildAddFunctionsScript(functionDependencies), expr, pythonContext);
+            Map<String, Serializable> pythonContext = createPythonContext(context, preparedExpression.getReferencedNames());
+            boolean systemPropertiesDefined = preparedExpression.isSystemPropertiesDefined();
+            SystemPropertiesView systemPropertiesView = null;
             if(systemPropertiesDefined) {
-                context.remove(SYSTEM_PROPERTIES_MAP);
+                systemPropertiesView = getSystemPropertiesLookup(systemProperties).createView();
+                pythonContext.put(SYSTEM_PROPERTIES_MAP, systemPropertiesView);
+            }
+            PythonEvaluationResult result;
+            PyCode compiledExpression = preparedExpression.getCompiledExpression();
+            // a variable named eval hides the builtin running the compiled expression
+            if (compiledExpression != null && !pythonContext.containsKey(EVAL_FUNCTION_NAME)) {
+                String functionsScript = "";
+                if (preparedExpression.getCompiledFunctionsScript() != null) {
+                    pythonContext.put(COMPILED_FUNCTIONS_NAME, preparedExpression.getCompiledFunctionsScript());
+                    functionsScript = EXEC_COMPILED_FUNCTIONS;
+                }
+                pythonContext.put(COMPILED_EXPRESSION_NAME, compiledExpression);
+                result = pythonRuntimeService.eval(functionsScript, EVAL_COMPILED_EXPRESSION, pythonContext);
+            } else {
+                // the interpreter reports the error when evaluating the expression text
+                result = pythonRuntimeService.eval(
+                        preparedExpression.getFunctionsScript(), preparedExpression.getExpression(), pythonContext);
             }
 
-            return ValueFactory.create(result.getEvalResult(), getSensitive(result.getResultContext(), systemPropertiesDefined));
+            return ValueFactory.create(result.getEvalResult(), getSensitive(result.getResultContext(), systemPropertiesView));
         } catch (Exception exception) {
             throw new RuntimeException(
                     "Error in running script expression: '"
-                            + expr + "',\n\tException is: " + handleExceptionSpecialCases(exception.getMessage()), exception);
+                            + expr + "',\n\tException is: " + handleExceptionSpecialCases(exception.getMessage(), expr), exception);
+        }
+    }
+
+    /**
+     * Binds a list of values in order, evaluating the expressions of all of them in one run of the python interpreter.
+     * Each expression sees the context, the values bound before it, and its own name bound to null unless the context
+     * has it, as when the values are bound one by one.
+     *
+     * The batch only runs when at least two of the expressions need the interpreter. When an expression fails,
+     * the values bound before it are returned, and binding the rest one by one reports the error.
+     * The batch also ends with an expression binding names, e.g. the loop variable of a list comprehension,
+     * since the expressions after it would read these names instead of the variables of the context.
+     *
+     * @param params the values to bind, in order
+     * @param context the variables the expressions read
+     * @param systemProperties the system properties
+     * @return the bound values of the first params, in order: all of them, the ones before the failing expression,
+     * or none when the batch does not run. Values without an expression are returned as they are.
+     */
+    public List<Value> evalBatch(List<? extends InOutParam> params, Map<String, Value> context,
+                                 Set<SystemProperty> systemProperties) {
+        if (!batchEvaluationEnabled) {
+            return Collections.emptyList();
+        }
+        List<PreparedExpression> expressions = new ArrayList<>(params.size());
+        Set<ScriptFunction> functionDependencies = new HashSet<>();
+        Set<String> referencedNames = new HashSet<>();
+        boolean systemPropertiesDefined = false;
+        int interpreterExpressions = 0;
+        boolean namesBound = false;
+        for (InOutParam param : params) {
+            if (namesBound) {
+                // the expressions after one binding names would read them, they are bound one by one
+                break;
+            }
+            Value rawValue = param.getValue();
+            String expr = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
+            if (expr == null) {
+                expressions.add(null);
+                continue;
+            }
+            Set<ScriptFunction> paramFunctionDependencies = param.getFunctionDependencies() == null ?
+                    new HashSet<ScriptFunction>() : param.getFunctionDependencies();
+            PreparedExpression preparedExpression = prepareExpression(expr, paramFunctionDependencies,
+                    param.getVariableDependencies());
+            expressions.add(preparedExpression);
+            namesBound = preparedExpression.isBindingNames();
+            functionDependencies.addAll(paramFunctionDependencies);
+            systemPropertiesDefined |= preparedExpression.isSystemPropertiesDefined();
+            if (referencedNames != null && preparedExpression.getReferencedNames() != null) {
+                referencedNames.addAll(preparedExpression.getReferencedNames());
+            } else {
+                referencedNames = null;
+            }
+            if (!simpleExpressionsEnabled || preparedExpression.getSimpleExpression() == null) {
+                interpreterExpressions++;
+            }
+        }
+        if (interpreterExpressions < MINIMUM_BATCH_SIZE) {
+            return Collections.emptyList();
         }
+
+        ExpressionBatch batch = new ExpressionBatch(params.subList(0, expressions.size()), expressions,
+                systemPropertiesDefined ? getSystemPropertiesLookup(systemProperties) : null);
+        PyCode batchScript = batchScriptCache.getCompiledScript(
+                batch.createScript(buildAddFunctionsScript(functionDependencies), context.keySet()));
+        if (batchScript == null) {
+            // an expression does not compile, binding the values one by one tells which
+            return Collections.emptyList();
+        }
+        Map<String, Serializable> pythonContext = createPythonContext(context, referencedNames);
+        batch.prepareContext(pythonContext, context);
+        pythonContext.put(BATCH_SCRIPT_NAME, batchScript);
+        try {
+            pythonRuntimeService.eval(EXEC_BATCH_SCRIPT, "None", pythonContext);
+            batchEvaluationsCount.incrementAndGet();
+        } catch (RuntimeException exception) {
+            // the values bound so far stand, the failing expression is evaluated again on its own
+        }
+        return batch.getValues();
+    }
+
+    public ExpressionCache getExpressionCache() {
+        return expressionCache;
+    }
+
+    /**
+     * @return the number of evaluations done without the python interpreter
+     */
+    public long getSimpleEvaluationsCount() {
+        return simpleEvaluationsCount.get();
+    }
+
+    /**
+     * @return the number of batches whose expressions all evaluated in one run of the python interpreter
+     */
+    public long getBatchEvaluationsCount() {
+        return batchEvaluationsCount.get();
+    }
+
+    void setBatchEvaluationEnabled(boolean batchEvaluationEnabled) {
+        this.batchEvaluationEnabled = batchEvaluationEnabled;
+    }
+
+    void setSimpleExpressionsEnabled(boolean simpleExpressionsEnabled) {
+        this.simpleExpressionsEnabled = simpleExpressionsEnabled;
+    }
+
+    private PreparedExpression prepareExpression(String expr, Set<ScriptFunction> functionDependencies,
+                                                 Set<String> variableDependencies) {
+        PreparedExpression preparedExpression = expressionCache.get(expr, functionDependencies);
+        if (preparedExpression == null) {
+            Set<String> referencedNames = variableDependencies != null ? variableDependencies :
+                    ExpressionNamesScanner.findReferencedNames(expr, functionDependencies.contains(ScriptFunction.GET));
+            String functionsScript = buildAddFunctionsScript(functionDependencies);
+            preparedExpression = new PreparedExpression(
+                    expr,
+                    functionsScript,
+                    functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY),
+                    referencedNames,
+                    ExpressionBatch.isBindingNames(expr),
+                    SimpleExpressionParser.parse(expr, functionDependencies),
+                    CompiledScriptCache.compile(expr, CompileMode.eval),
+                    functionsScript.isEmpty() ? null : functionsScriptCache.getCompiledScript(functionsScript)
+            );
+            expressionCache.put(expr, functionDependencies, preparedExpression);
+        }
+        return preparedExpression;
     }
 
     private String buildAddFunctionsScript(Set<ScriptFunction> functionDependencies) {
@@ -105,34 +303,34 @@ public class ScriptEvaluator extends ScriptProcessor {
         return text + LINE_SEPARATOR + LINE_SEPARATOR;
     }
 
-    private Map<String, Value> prepareSystemProperties(Set<SystemProperty> properties) {
-        Map<String, Value> processedSystemProperties = new HashMap<>();
-        for (SystemProperty property : properties) {
-            processedSystemProperties.put(property.getFullyQualifiedName(), ValueFactory.createPyObjectValue(property.getValue()));
+    /**
+     * The system properties set of a run environment is the same instance for all the evaluations of the run,
+     * so its lookup is built once and kept for as long as the set is in use.
+     */
+    private SystemPropertiesLookup getSystemPropertiesLookup(Set<SystemProperty> systemProperties) {
+        SystemPropertiesLookup lookup = systemPropertiesLookups.getIfPresent(systemProperties);
+        if (lookup == null || !lookup.isUpToDate(systemProperties)) {
+            lookup = new SystemPropertiesLookup(systemProperties);
+            systemPropertiesLookups.put(systemProperties, lookup);
         }
-        return processedSystemProperties;
+        return lookup;
     }
 
-    private String handleExceptionSpecialCases(String message) {
+    private String handleExceptionSpecialCases(String message, String expr) {
         String processedMessage = message;
+        if (StringUtils.isNotEmpty(message)) {
+            // the interpreter reports the statement running the compiled expression, show the expression instead
+            processedMessage = message.replace("'" + EVAL_COMPILED_EXPRESSION + "'", "'" + expr + "'");
+        }
         if (StringUtils.isNotEmpty(message) && message.contains("get_sp") && message.contains("not defined")) {
-            processedMessage =  message + ". Make sure to use correct syntax for the function: get_sp('fully.qualified.name', optional_default_value).";
+            processedMessage =  processedMessage + ". Make sure to use correct syntax for the function: get_sp('fully.qualified.name', optional_default_value).";
         }
         return processedMessage;
     }
 
-    private boolean getSensitive(Map<String, Serializable> executionResultContext, boolean systemPropertiesInContext) {
-        if (systemPropertiesInContext) {
-            Map<String, Serializable> context = new HashMap<>(executionResultContext);
-            PyObject rawSystemProperties = (PyObject) context.remove(SYSTEM_PROPERTIES_MAP);
-            @SuppressWarnings("unchecked")
-            Map<String, Value> systemProperties = Py.tojava(rawSystemProperties, Map.class);
-            @SuppressWarnings("unchecked")
-            Collection<Serializable> systemPropertyValues = (Collection) systemProperties.values();
-            return checkSensitivity(systemPropertyValues) || checkSensitivity(context.values());
-        } else {
-            return (checkSensitivity(executionResultContext.values()));
-        }
+    private boolean getSensitive(Map<String, Serializable> executionResultContext, SystemPropertiesView systemPropertiesView) {
+        return (systemPropertiesView != null && systemPropertiesView.isSensitiveValueAccessed()) ||
+                checkSensitivity(executionResultContext.values());
     }
 
     private boolean checkSensitivity(Collection<Serializable> values) {
@@ -11,15 +11,25 @@
  */
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import io.cloudslang.lang.entities.ActionType;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
+import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.ExecutionStep;
+import org.apache.commons.lang3.StringUtils;
+import org.python.core.PyCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,15 +39,29 @@ import java.util.Set;
  */
 @Component
 public class ScriptExecutor extends ScriptProcessor {
+    // dunder names are left out of the execution result
+    private static final String COMPILED_SCRIPT_NAME = "__compiled_script__";
+    private static final String EXEC_COMPILED_SCRIPT = "exec " + COMPILED_SCRIPT_NAME;
+
     @Autowired
     private PythonRuntimeService pythonRuntimeService;
 
+    private final CompiledScriptCache compiledScriptCache = new CompiledScriptCache(Long.getLong(
+            SlangSystemPropertyConstant.CSLANG_PYTHON_ACTION_CACHE_SIZE.getValue(), CompiledScriptCache.DEFAULT_MAXIMUM_SIZE));
+
     public Map<String, Value> executeScript (String script, Map<String, Value> callArguments) {
         return executeScript(Collections.<String>emptySet(), script, callArguments);
     }
 
     public Map<String, Value> executeScript (Set<String> dependencies, String script, Map<String, Value> callArguments) {
-        Map<String, Serializable> executionResult = pythonRuntimeService.exec(dependencies, script, createPythonContext(callArguments)).getExecutionResult();
+        Map<String, Serializable> pythonContext = createPythonContext(callArguments);
+        String executedScript = script;
+        PyCode compiledScript = compiledScriptCache.getCompiledScript(script);
+        if (compiledScript != null) {
+            pythonContext.put(COMPILED_SCRIPT_NAME, compiledScript);
+            executedScript = EXEC_COMPILED_SCRIPT;
+        }
+        Map<String, Serializable> executionResult = pythonRuntimeService.exec(dependencies, executedScript, pythonContext).getExecutionResult();
         Map<String, Value> result = new HashMap<>();
         for (Map.Entry<String, Serializable> entry : executionResult.entrySet()) {
             Value callArgumenet = callArguments.get(entry.getKey());
@@ -46,4 +70,38 @@ public class ScriptExecutor extends ScriptProcessor {
         }
         return result;
     }
+
+    /**
+     * Compiles the scripts of the python actions of a compilation artifact ahead of their first run.
+     * The compiled scripts are cached in this JVM, so it is meant to be called once per artifact, when it is
+     * compiled or deployed on the node running it, and not each time it is triggered.
+     *
+     * @param compilationArtifact the compiled flow or operation, including its dependencies
+     * @return the number of python actions found
+     */
+    public int precompileActions(CompilationArtifact compilationArtifact) {
+        List<ExecutionPlan> executionPlans = new ArrayList<>();
+        executionPlans.add(compilationArtifact.getExecutionPlan());
+        if (compilationArtifact.getDependencies() != null) {
+            executionPlans.addAll(compilationArtifact.getDependencies().values());
+        }
+        int pythonActions = 0;
+        for (ExecutionPlan executionPlan : executionPlans) {
+            for (ExecutionStep step : executionPlan.getSteps().values()) {
+                Map<String, ?> actionData = step.getActionData();
+                if (actionData != null && ActionType.PYTHON.equals(actionData.get(ScoreLangConstants.ACTION_TYPE))) {
+                    Object script = actionData.get(ScoreLangConstants.PYTHON_ACTION_SCRIPT_KEY);
+                    if (script instanceof String && StringUtils.isNotBlank((String) script)) {
+                        compiledScriptCache.getCompiledScript((String) script);
+                        pythonActions++;
+                    }
+                }
+            }
+        }
+        return pythonActions;
+    }
+
+    public CompiledScriptCache getCompiledScriptCache() {
+        return compiledScriptCache;
+    }
 }
@@ -11,10 +11,12 @@ package io.cloudslang.lang.runtime.bindings.scripts;
 
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.log4j.Logger;
 
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Script processor
@@ -23,11 +25,43 @@ import java.util.Map;
  */
 public abstract class ScriptProcessor {
 
+    private static final Logger logger = Logger.getLogger(ScriptProcessor.class);
+
+    private final PythonContextStatistics pythonContextStatistics = new PythonContextStatistics();
+
     protected Map<String, Serializable> createPythonContext(Map<String, Value> context) {
+        return createPythonContext(context, null);
+    }
+
+    /**
+     * Wraps the context variables as python objects.
+     *
+     * @param context the variables
+     * @param referencedNames the only variable names the script may read, or null if it may read any of them
+     * @return the python context holding the wrapped variables
+     */
+    protected Map<String, Serializable> createPythonContext(Map<String, Value> context, Set<String> referencedNames) {
         Map<String, Serializable> pythonContext = new HashMap<>();
-        for (Map.Entry<String, ? extends Value> entry : context.entrySet()) {
-            pythonContext.put(entry.getKey(), ValueFactory.createPyObjectValue(entry.getValue()));
+        if (referencedNames == null) {
+            for (Map.Entry<String, ? extends Value> entry : context.entrySet()) {
+                pythonContext.put(entry.getKey(), ValueFactory.createPyObjectValue(entry.getValue()));
+            }
+        } else {
+            for (String name : referencedNames) {
+                if (context.containsKey(name)) {
+                    pythonContext.put(name, ValueFactory.createPyObjectValue(context.get(name)));
+                }
+            }
+        }
+        int skipped = context.size() - pythonContext.size();
+        pythonContextStatistics.record(pythonContext.size(), skipped);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Python context created: " + pythonContext.size() + " variables converted, " + skipped + " skipped");
         }
         return pythonContext;
     }
+
+    public PythonContextStatistics getPythonContextStatistics() {
+        return pythonContextStatistics;
+    }
 }
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An expression simple enough to be evaluated without the python interpreter, e.g. a variable,
+ * a literal, <code>get('name', 'default')</code>, <code>check_empty(name, 'default')</code>
+ * or a comparison such as <code>name == 'value'</code> and <code>int(name) > 0</code>.
+ *
+ * Results and their sensitivity are the ones the interpreter gives.
+ * Whenever that cannot be guaranteed for the values at hand, e.g. for a list variable or a string
+ * which is not an integer passed to <code>int</code>, the evaluation gives up and the expression
+ * is left to the interpreter. Instances are created by {@link SimpleExpressionParser}.
+ */
+public abstract class SimpleExpression {
+
+    /**
+     * @param context the variables of the expression
+     * @return the value of the expression, or null if it has to be evaluated by the python interpreter
+     */
+    public Value evaluate(Map<String, Value> context) {
+        Result result = evaluateResult(context);
+        return result == null ? null : ValueFactory.create(result.content, result.sensitive);
+    }
+
+    /**
+     * @return the result of the expression, or null if it has to be evaluated by the python interpreter
+     */
+    abstract Result evaluateResult(Map<String, Value> context);
+
+    private static boolean isSupportedContent(Serializable content) {
+        return content == null || content instanceof String || content instanceof Integer || content instanceof Boolean;
+    }
+
+    /**
+     * Checking the value for None reads it, so a sensitive value makes the default sensitive as well.
+     */
+    private static Result valueOrDefault(Result valueResult, Result defaultResult) {
+        if (valueResult == null || defaultResult == null) {
+            return null;
+        }
+        if (valueResult.content != null) {
+            return valueResult;
+        }
+        return new Result(defaultResult.content, valueResult.sensitive || defaultResult.sensitive);
+    }
+
+    static class Result {
+
+        private final Serializable content;
+        private final boolean sensitive;
+
+        Result(Serializable content, boolean sensitive) {
+            this.content = content;
+            this.sensitive = sensitive;
+        }
+    }
+
+    static class Literal extends SimpleExpression {
+
+        private final String name;
+        private final Serializable content;
+
+        /**
+         * @param name the name of the literal when it is one of the python constants (e.g. <code>True</code>), or null
+         * @param content the value of the literal
+         */
+        Literal(String name, Serializable content) {
+            this.name = name;
+            this.content = content;
+        }
+
+        @Override
+        Result evaluateResult(Map<String, Value> context) {
+            // a variable may hide the constant
+            return name != null && context.containsKey(name) ? null : new Result(content, false);
+        }
+    }
+
+    static class Variable extends SimpleExpression {
+
+        private final String name;
+
+        Variable(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Result evaluateResult(Map<String, Value> context) {
+            if (!context.containsKey(name)) {
+                return null;
+            }
+            Value value = context.get(name);
+            Serializable content = value == null ? null : value.get();
+            if (!isSupportedContent(content)) {
+                return null;
+            }
+            return new Result(content, value != null && value.isSensitive());
+        }
+    }
+
+    /**
+     * <code>get(name, default)</code> - the variable when it is defined and its value is not None, otherwise the default
+     */
+    static class GetFunction extends SimpleExpression {
+
+        private final Variable variable;
+        private final String name;
+        private final Literal defaultValue;
+
+        GetFunction(String name, Literal defaultValue) {
+            this.variable = new Variable(name);
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        Result evaluateResult(Map<String, Value> context) {
+            if (!context.containsKey(name)) {
+                return defaultValue.evaluateResult(context);
+            }
+            return valueOrDefault(variable.evaluateResult(context), defaultValue.evaluateResult(context));
+        }
+    }
+
+    /**
+     * <code>check_empty(value, default)</code> - the value when it is not None, otherwise the default
+     */
+    static class CheckEmptyFunction extends SimpleExpression {
+
+        private final SimpleExpression value;
+        private final SimpleExpression defaultValue;
+
+        CheckEmptyFunction(SimpleExpression value, SimpleExpression defaultValue) {
+            this.value = value;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        Result evaluateResult(Map<String, Value> context) {
+            // both arguments are evaluated before the call
+            return valueOrDefault(value.evaluateResult(context), defaultValue.evaluateResult(context));
+        }
+    }
+
+    /**
+     * <code>int(value)</code> of an integer or of a string holding a decimal integer
+     */
+    static class IntFunction extends SimpleExpression {
+
+        private static final String FUNCTION_NAME = "int";
+        private static final Pattern DECIMAL_INTEGER = Pattern.compile(" *[+-]?[0-9]{1,18} *");
+
+        private final SimpleExpression value;
+
+        IntFunction(SimpleExpression value) {
+            this.value = value;
+        }
+
+        @Override
+        Result evaluateResult(Map<String, Value> context) {
+            if (context.containsKey(FUNCTION_NAME)) {
+                return null;
+            }
+            Result result = value.evaluateResult(context);
+            if (result == null) {
+                return null;
+            }
+            if (result.content instanceof Integer) {
+                return result;
+            }
+            if (!(result.content instanceof String) || !DECIMAL_INTEGER.matcher((String) result.content).matches()) {
+                return null;
+            }
+            long number = Long.parseLong(((String) result.content).trim());
+            if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+                return null;
+            }
+            return new Result((int) number, result.sensitive);
+        }
+    }
+
+    static class Comparison extends SimpleExpression {
+
+        private final String operator;
+        private final SimpleExpression left;
+        private final SimpleExpression right;
+
+        Comparison(String operator, SimpleExpression left, SimpleExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Result evaluateResult(Map<String, Value> context) {
+            Result leftResult = left.evaluateResult(context);
+            Result rightResult = right.evaluateResult(context);
+            if (leftResult == null || rightResult == null) {
+                return null;
+            }
+            Serializable leftContent = leftResult.content;
+            Serializable rightContent = rightResult.content;
+            boolean sensitive = leftResult.sensitive || rightResult.sensitive;
+            if (leftContent instanceof Integer && rightContent instanceof Integer) {
+                return new Result(compare((Integer) leftContent, (Integer) rightContent), sensitive);
+            }
+            boolean strings = leftContent instanceof String && rightContent instanceof String;
+            boolean mixed = leftContent instanceof String && rightContent instanceof Integer ||
+                    leftContent instanceof Integer && rightContent instanceof String;
+            if (!strings && !mixed) {
+                return null;
+            }
+            switch (operator) {
+                case "==":
+                    return new Result(strings && leftContent.equals(rightContent), sensitive);
+                case "!=":
+                    return new Result(!strings || !leftContent.equals(rightContent), sensitive);
+                default:
+                    // ordering of strings and of mixed types is left to the interpreter
+                    return null;
+            }
+        }
+
+        private boolean compare(int left, int right) {
+            switch (operator) {
+                case "==":
+                    return left == right;
+                case "!=":
+                    return left != right;
+                case "<":
+                    return left < right;
+                case "<=":
+                    return left <= right;
+                case ">":
+                    return left > right;
+                case ">=":
+                    return left >= right;
+                default:
+                    throw new IllegalStateException("Unknown comparison operator: " + operator);
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.utils.PythonTokenizer;
+import io.cloudslang.lang.entities.utils.PythonTokenizer.Token;
+import io.cloudslang.lang.entities.utils.PythonTokenizer.TokenType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recognizes the expressions which can be evaluated as a {@link SimpleExpression}:
+ * <pre>
+ *     expression := operand [('==' | '!=' | '&lt;' | '&lt;=' | '&gt;' | '&gt;=') operand]
+ *     operand    := literal | name | get(string [, literal]) | check_empty(argument [, argument]) | int(argument)
+ *     argument   := literal | name
+ *     literal    := 'string' | "string" | [-]integer | True | False | None
+ * </pre>
+ * Strings are limited to printable ASCII characters without escapes and integers to the int range.
+ */
+public final class SimpleExpressionParser {
+
+    private static final String GET_FUNCTION_NAME = "get";
+    private static final String CHECK_EMPTY_FUNCTION_NAME = "check_empty";
+    private static final String INT_FUNCTION_NAME = "int";
+    private static final Set<String> COMPARISON_OPERATORS = new HashSet<>(Arrays.asList("==", "!=", "<", "<=", ">", ">="));
+    // python keywords and names the interpreter defines for the expression
+    private static final Set<String> RESERVED_NAMES = new HashSet<>(Arrays.asList(
+            "and", "as", "assert", "break", "class", "continue", "def", "del", "elif", "else", "except", "exec",
+            "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "not", "or", "pass", "print",
+            "raise", "return", "try", "while", "with", "yield",
+            GET_FUNCTION_NAME, CHECK_EMPTY_FUNCTION_NAME, INT_FUNCTION_NAME, "get_sp", "sys_prop"));
+
+    private SimpleExpressionParser() {
+    }
+
+    /**
+     * @param expression the python expression
+     * @param functionDependencies the functions defined for the expression
+     * @return the simple expression, or null if the expression has to be evaluated by the python interpreter
+     */
+    public static SimpleExpression parse(String expression, Set<ScriptFunction> functionDependencies) {
+        if (expression == null || functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY)) {
+            return null;
+        }
+        List<Token> tokens = PythonTokenizer.tokenize(expression);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        Parser parser = new Parser(tokens, functionDependencies);
+        SimpleExpression result = parser.parseExpression();
+        return parser.isAtEnd() ? result : null;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+
+    private static class Parser {
+
+        private final List<Token> tokens;
+        private final Set<ScriptFunction> functionDependencies;
+        private int position;
+
+        private Parser(List<Token> tokens, Set<ScriptFunction> functionDependencies) {
+            this.tokens = tokens;
+            this.functionDependencies = functionDependencies;
+        }
+
+        private boolean isAtEnd() {
+            return position == tokens.size();
+        }
+
+        private SimpleExpression parseExpression() {
+            SimpleExpression left = parseOperand();
+            if (left == null || isAtEnd()) {
+                return left;
+            }
+            Token operator = tokens.get(position);
+            if (operator.getType() != TokenType.OPERATOR || !COMPARISON_OPERATORS.contains(operator.getText())) {
+                return null;
+            }
+            position++;
+            SimpleExpression right = parseOperand();
+            return right == null ? null : new SimpleExpression.Comparison(operator.getText(), left, right);
+        }
+
+        private SimpleExpression parseOperand() {
+            Token token = peek();
+            if (token == null) {
+                return null;
+            }
+            Token next = peek(1);
+            if (!token.isName() || isConstant(token.getText()) || next == null || !next.isOperator("(")) {
+                return parseArgument();
+            }
+            position += 2;
+            SimpleExpression function;
+            if (token.isName(GET_FUNCTION_NAME) && functionDependencies.contains(ScriptFunction.GET)) {
+                function = parseGetArguments();
+            } else if (token.isName(CHECK_EMPTY_FUNCTION_NAME) && functionDependencies.contains(ScriptFunction.CHECK_EMPTY)) {
+                function = parseCheckEmptyArguments();
+            } else if (token.isName(INT_FUNCTION_NAME)) {
+                SimpleExpression argument = parseArgument();
+                function = argument == null ? null : new SimpleExpression.IntFunction(argument);
+            } else {
+                return null;
+            }
+            return function != null && consume(")") ? function : null;
+        }
+
+        private SimpleExpression parseGetArguments() {
+            Token key = peek();
+            if (key == null || !isPlainString(key)) {
+                return null;
+            }
+            position++;
+            String name = key.getContent();
+            if (!isVariableName(name)) {
+                return null;
+            }
+            SimpleExpression.Literal defaultValue = new SimpleExpression.Literal("None", null);
+            if (consume(",")) {
+                SimpleExpression argument = parseArgument();
+                if (!(argument instanceof SimpleExpression.Literal)) {
+                    return null;
+                }
+                defaultValue = (SimpleExpression.Literal) argument;
+            }
+            return new SimpleExpression.GetFunction(name, defaultValue);
+        }
+
+        private SimpleExpression parseCheckEmptyArguments() {
+            SimpleExpression value = parseArgument();
+            if (value == null) {
+                return null;
+            }
+            SimpleExpression defaultValue = new SimpleExpression.Literal("None", null);
+            if (consume(",")) {
+                defaultValue = parseArgument();
+            }
+            return defaultValue == null ? null : new SimpleExpression.CheckEmptyFunction(value, defaultValue);
+        }
+
+        private SimpleExpression parseArgument() {
+            Token token = peek();
+            if (token == null) {
+                return null;
+            }
+            position++;
+            if (token.getType() == TokenType.STRING) {
+                return isPlainString(token) ? new SimpleExpression.Literal(null, token.getContent()) : null;
+            }
+            if (token.isOperator("-")) {
+                Token number = peek();
+                if (number == null || !isInteger(number)) {
+                    return null;
+                }
+                position++;
+                return createNumber("-" + number.getText());
+            }
+            if (token.getType() == TokenType.NUMBER) {
+                return isInteger(token) ? createNumber(token.getText()) : null;
+            }
+            if (!token.isName()) {
+                return null;
+            }
+            switch (token.getText()) {
+                case "True":
+                    return new SimpleExpression.Literal(token.getText(), true);
+                case "False":
+                    return new SimpleExpression.Literal(token.getText(), false);
+                case "None":
+                    return new SimpleExpression.Literal(token.getText(), null);
+                default:
+                    return isVariableName(token.getText()) ? new SimpleExpression.Variable(token.getText()) : null;
+            }
+        }
+
+        private SimpleExpression createNumber(String number) {
+            // python reads a leading zero as an octal number
+            String digits = number.startsWith("-") ? number.substring(1) : number;
+            if (digits.length() > 1 && digits.startsWith("0") || digits.length() > 10) {
+                return null;
+            }
+            // the sign is applied to the number afterwards, so the number itself has to be an int
+            long value = Long.parseLong(digits);
+            if (value > Integer.MAX_VALUE) {
+                return null;
+            }
+            return new SimpleExpression.Literal(null, (int) (number.startsWith("-") ? -value : value));
+        }
+
+        private boolean consume(String operator) {
+            Token token = peek();
+            if (token != null && token.isOperator(operator)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return peek(0);
+        }
+
+        private Token peek(int offset) {
+            int index = position + offset;
+            return index < tokens.size() ? tokens.get(index) : null;
+        }
+    }
+
+    /**
+     * @return whether the token is a string literal without prefix and escapes, of printable ASCII characters
+     */
+    private static boolean isPlainString(Token token) {
+        if (token.getType() != TokenType.STRING || !token.getStringPrefix().isEmpty() || token.isTripleQuoted() ||
+                !token.isTerminated()) {
+            return false;
+        }
+        String content = token.getContent();
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\\' || c < ' ' || c > '~') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInteger(Token token) {
+        if (token.getType() != TokenType.NUMBER) {
+            return false;
+        }
+        String text = token.getText();
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isName(String token) {
+        char first = token.charAt(0);
+        return Character.isLetter(first) || first == '_';
+    }
+
+    private static boolean isConstant(String token) {
+        return "True".equals(token) || "False".equals(token) || "None".equals(token);
+    }
+
+    private static boolean isVariableName(String name) {
+        if (name.isEmpty() || !isName(name) || name.startsWith("__") || RESERVED_NAMES.contains(name) || isConstant(name)) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup of the system properties of a run by their fully qualified name.
+ * It is built once for the system properties set of a run environment and shared by all the
+ * evaluations of the run. Each evaluation reads it through its own {@link SystemPropertiesView},
+ * which wraps only the properties the expression actually reads.
+ */
+final class SystemPropertiesLookup {
+
+    private final Map<String, Value> valuesByName;
+    // the properties the lookup was built from, compared by identity since they are immutable
+    private final Set<SystemProperty> sourceProperties;
+
+    SystemPropertiesLookup(Set<SystemProperty> systemProperties) {
+        Map<String, Value> values = new HashMap<>(Math.max(16, (int) (systemProperties.size() / 0.75f) + 1));
+        for (SystemProperty property : systemProperties) {
+            values.put(property.getFullyQualifiedName(), property.getValue());
+        }
+        this.valuesByName = Collections.unmodifiableMap(values);
+        this.sourceProperties = Collections.newSetFromMap(
+                new IdentityHashMap<SystemProperty, Boolean>(systemProperties.size()));
+        this.sourceProperties.addAll(systemProperties);
+    }
+
+    /**
+     * @return whether this lookup still reflects the given set, which it was built from, i.e. the set
+     * holds exactly the same property instances
+     */
+    boolean isUpToDate(Set<SystemProperty> systemProperties) {
+        if (systemProperties.size() != sourceProperties.size()) {
+            return false;
+        }
+        for (SystemProperty property : systemProperties) {
+            if (!sourceProperties.contains(property)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    SystemPropertiesView createView() {
+        return new SystemPropertiesView(valuesByName);
+    }
+}
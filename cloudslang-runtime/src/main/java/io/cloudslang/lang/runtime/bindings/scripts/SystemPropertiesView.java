@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read only view of the system properties for a single expression evaluation.
+ * A property is wrapped in a {@link PyObjectValue} only when it is read, and the wrapped
+ * values are kept so their sensitivity can be checked after the evaluation.
+ */
+class SystemPropertiesView extends AbstractMap<String, Value> implements Serializable {
+
+    private final Map<String, Value> valuesByName;
+    private final Map<String, PyObjectValue> wrappedValues = new HashMap<>();
+
+    SystemPropertiesView(Map<String, Value> valuesByName) {
+        this.valuesByName = valuesByName;
+    }
+
+    @Override
+    public Value get(Object key) {
+        PyObjectValue wrappedValue = wrappedValues.get(key);
+        if (wrappedValue == null) {
+            if (!valuesByName.containsKey(key)) {
+                return null;
+            }
+            wrappedValue = ValueFactory.createPyObjectValue(valuesByName.get(key));
+            wrappedValues.put((String) key, wrappedValue);
+        }
+        return wrappedValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return valuesByName.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return valuesByName.size();
+    }
+
+    /**
+     * @return whether a sensitive system property was accessed through this view
+     */
+    boolean isSensitiveValueAccessed() {
+        for (PyObjectValue value : wrappedValues.values()) {
+            if (value.isSensitive() && value.isAccessed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, Value>> entrySet() {
+        return new AbstractSet<Entry<String, Value>>() {
+            @Override
+            public Iterator<Entry<String, Value>> iterator() {
+                final Iterator<String> names = valuesByName.keySet().iterator();
+                return new Iterator<Entry<String, Value>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return names.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Value> next() {
+                        String name = names.next();
+                        return new SimpleImmutableEntry<>(name, get(name));
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return valuesByName.size();
+            }
+        };
+    }
+}
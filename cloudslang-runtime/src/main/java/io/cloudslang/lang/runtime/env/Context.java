@@ -9,7 +9,10 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.env;
 
+import io.cloudslang.lang.entities.VariableLayout;
+import io.cloudslang.lang.entities.bindings.values.SimpleValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -20,7 +23,9 @@ import java.util.Map;
 
 public class Context implements Serializable{
 
-    private final Map<String, Value> variables;
+    private static final long serialVersionUID = 6380536287300200885L;
+
+    private Map<String, Value> variables;
     private final Map<String, Value> langVariables;
 
     public Context(Map<String, Value> variables) {
@@ -28,6 +33,72 @@ public class Context implements Serializable{
         langVariables = new HashMap<>();
     }
 
+    /**
+     * Creates a context keeping the variables with a slot in the given layout in an array,
+     * and the other variables by name.
+     *
+     * @param variables the initial variables
+     * @param variableLayout the slots of the variables, shared with the other contexts of the flow
+     */
+    public Context(Map<String, Value> variables, VariableLayout variableLayout) {
+        this(new SlotMap<>(variableLayout, variables), new HashMap<String, Value>());
+    }
+
+    Context(Map<String, Value> variables, Map<String, Value> langVariables) {
+        this.variables = variables;
+        this.langVariables = langVariables;
+    }
+
+    /**
+     * Creates a copy of this context which shares the variables with it instead of copying them.
+     * Variables written afterwards to either context are kept apart from the shared ones,
+     * so each copy only pays for what it writes. Variables kept in slots are copied instead,
+     * which only copies their array. Language variables are copied.
+     *
+     * Only values which cannot change are shared. Other values, such as sensitive values which are
+     * encrypted and decrypted in place, are copied so each context can be used on a thread of its own.
+     *
+     * @return a new context with the same variables and language variables
+     */
+    public Context fork() {
+        Map<String, Value> langVariablesCopy = langVariables.isEmpty() ?
+                new HashMap<String, Value>() : SerializationUtils.clone(new HashMap<>(langVariables));
+        Context fork;
+        if (variables instanceof SlotMap) {
+            fork = new Context(((SlotMap<Value>) variables).copy(), langVariablesCopy);
+        } else {
+            if (!(variables instanceof OverlayMap)) {
+                variables = new OverlayMap<>(variables);
+            }
+            fork = new Context(((OverlayMap<String, Value>) variables).fork(), langVariablesCopy);
+        }
+        for (Map.Entry<String, Value> entry : variables.entrySet()) {
+            if (!isImmutable(entry.getValue())) {
+                fork.variables.put(entry.getKey(), SerializationUtils.clone(entry.getValue()));
+            }
+        }
+        return fork;
+    }
+
+    private static boolean isImmutable(Value value) {
+        if (value == null) {
+            return true;
+        }
+        if (value.getClass() != SimpleValue.class) {
+            return false;
+        }
+        Serializable content = value.get();
+        return content == null || content instanceof String || content instanceof Boolean ||
+                content instanceof Integer || content instanceof Long || content instanceof Double;
+    }
+
+    /**
+     * @return the layout of the variables kept in slots, or null if the variables are all kept by name
+     */
+    VariableLayout getVariableLayout() {
+        return variables instanceof SlotMap ? ((SlotMap<Value>) variables).getLayout() : null;
+    }
+
     public Value getVariable(String name) {
         return variables.get(name);
     }
@@ -11,6 +11,8 @@
 package io.cloudslang.lang.runtime.env;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Stack;
 
 /**
@@ -20,6 +22,9 @@ import java.util.Stack;
  */
 public class ContextStack implements Serializable {
 
+    // the value computed for the original class, kept so previously serialized stacks can still be read
+    private static final long serialVersionUID = 4265057245979459083L;
+
     private Stack<Context> stack = new Stack<>();
 
     public void pushContext(Context newContext){
@@ -32,4 +37,11 @@ public class ContextStack implements Serializable {
         return stack.pop();
     }
 
+    /**
+     * @return the contexts of the stack, from the bottom one to the top one
+     */
+    List<Context> getContexts() {
+        return new ArrayList<>(stack);
+    }
+
 }
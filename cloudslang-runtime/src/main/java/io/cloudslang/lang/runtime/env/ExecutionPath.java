@@ -13,7 +13,10 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.join;
 
@@ -23,6 +26,8 @@ import static org.apache.commons.lang3.StringUtils.join;
  */
 public class ExecutionPath implements Serializable {
 
+    private static final long serialVersionUID = 4369019494776498175L;
+
     public static final String PATH_SEPARATOR = ".";
 
     private Deque<Integer> parentPositions;
@@ -32,6 +37,23 @@ public class ExecutionPath implements Serializable {
         parentPositions = new ArrayDeque<>();
     }
 
+    public ExecutionPath(ExecutionPath executionPath) {
+        parentPositions = new ArrayDeque<>(executionPath.parentPositions);
+        position = executionPath.position;
+    }
+
+    /**
+     * @param parentPositions the positions of the parents, from the outermost one
+     * @param position the position inside the innermost parent
+     */
+    ExecutionPath(List<Integer> parentPositions, int position) {
+        this.parentPositions = new ArrayDeque<>();
+        for (Integer parentPosition : parentPositions) {
+            this.parentPositions.push(parentPosition);
+        }
+        this.position = position;
+    }
+
     public void forward() {
         position++;
     }
@@ -45,6 +67,21 @@ public class ExecutionPath implements Serializable {
         position = parentPositions.pop();
     }
 
+    /**
+     * @return the positions of the parents, from the outermost one
+     */
+    List<Integer> getParentPositions() {
+        List<Integer> positions = new ArrayList<>(parentPositions.size());
+        for (Iterator<Integer> iterator = parentPositions.descendingIterator(); iterator.hasNext(); ) {
+            positions.add(iterator.next());
+        }
+        return positions;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
     public String getCurrentPath() {
         return getCurrentPath(position);
     }
@@ -15,27 +15,49 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.io.Serializable;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 
 public class ForLoopCondition implements LoopCondition {
 
     private final Iterable<? extends Serializable> iterable;
     private int index = 0;
 
+    // random access view of the iterable, rebuilt lazily after deserialization
+    private transient List<? extends Serializable> items;
+
     public ForLoopCondition(Iterable<? extends Serializable> iterable) {
-        this.iterable = iterable;
+        this.iterable = isRandomAccessList(iterable) ? iterable : toList(iterable);
     }
 
-    private Iterator<? extends Serializable> loopToCurrentObject() {
-        Iterator<? extends Serializable> iterator = iterable.iterator();
-        for (int i = 0; i < index; i++) {
-            iterator.next();
+    @SuppressWarnings("unchecked")
+    private List<? extends Serializable> getItems() {
+        if (items == null) {
+            items = isRandomAccessList(iterable) ? (List<? extends Serializable>) iterable : toList(iterable);
         }
-        return iterator;
+        return items;
+    }
+
+    private static boolean isRandomAccessList(Iterable<? extends Serializable> iterable) {
+        return iterable instanceof List && iterable instanceof RandomAccess;
+    }
+
+    private static List<? extends Serializable> toList(Iterable<? extends Serializable> iterable) {
+        List<Serializable> list = new ArrayList<>();
+        for (Serializable serializable : iterable) {
+            list.add(serializable);
+        }
+        return list;
     }
 
     public Value next() {
-        Serializable serializable = loopToCurrentObject().next();
+        List<? extends Serializable> currentItems = getItems();
+        if (index >= currentItems.size()) {
+            throw new NoSuchElementException();
+        }
+        Serializable serializable = currentItems.get(index);
         Value next = serializable instanceof Value ? (Value)serializable : ValueFactory.create(serializable);
         index++;
         return next;
@@ -43,7 +65,7 @@ public class ForLoopCondition implements LoopCondition {
 
     @Override
     public boolean hasMore() {
-        return loopToCurrentObject().hasNext();
+        return index < getItems().size();
     }
 
     @Override
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map made of a read only base map, which may be shared with other overlay maps, and a private layer
+ * holding the entries written to this map. Reads fall through to the base when a key was not written.
+ * Removal is not supported.
+ *
+ * Serializes as a plain {@link HashMap} holding the merged entries.
+ */
+class OverlayMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private Map<K, V> base;
+    private Map<K, V> overlay;
+    private int addedKeys;
+
+    OverlayMap(Map<K, V> base) {
+        this.base = base;
+        this.overlay = new HashMap<>();
+    }
+
+    /**
+     * Creates a new overlay sharing the entries of this map.
+     * When this map has its own entries they are first merged into a new shared base,
+     * so overlays never nest more than one level deep.
+     *
+     * @return a map with the same entries as this map
+     */
+    OverlayMap<K, V> fork() {
+        if (!overlay.isEmpty()) {
+            Map<K, V> merged = new HashMap<>(base);
+            merged.putAll(overlay);
+            base = merged;
+            overlay = new HashMap<>();
+            addedKeys = 0;
+        }
+        return new OverlayMap<>(base);
+    }
+
+    int getOverlaySize() {
+        return overlay.size();
+    }
+
+    @Override
+    public V get(Object key) {
+        return overlay.containsKey(key) ? overlay.get(key) : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return overlay.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        boolean inOverlay = overlay.containsKey(key);
+        if (!inOverlay && !base.containsKey(key)) {
+            addedKeys++;
+        }
+        V previous = inOverlay ? overlay.get(key) : base.get(key);
+        overlay.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return base.size() + addedKeys;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                return OverlayMap.this.size();
+            }
+        };
+    }
+
+    private Object writeReplace() {
+        return new HashMap<>(this);
+    }
+
+    private class OverlayIterator implements Iterator<Entry<K, V>> {
+
+        private final Iterator<Entry<K, V>> overlayIterator = overlay.entrySet().iterator();
+        private final Iterator<Entry<K, V>> baseIterator = base.entrySet().iterator();
+        private Entry<K, V> nextBaseEntry;
+
+        @Override
+        public boolean hasNext() {
+            if (overlayIterator.hasNext()) {
+                return true;
+            }
+            while (nextBaseEntry == null && baseIterator.hasNext()) {
+                Entry<K, V> candidate = baseIterator.next();
+                if (!overlay.containsKey(candidate.getKey())) {
+                    nextBaseEntry = candidate;
+                }
+            }
+            return nextBaseEntry != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (overlayIterator.hasNext()) {
+                return new SimpleImmutableEntry<>(overlayIterator.next());
+            }
+            Entry<K, V> entry = nextBaseEntry;
+            nextBaseEntry = null;
+            return new SimpleImmutableEntry<>(entry);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Items of a parallel loop run one after the other by a single branch.
+ * Kept in the branch context, together with the results of the items that already finished,
+ * so the branches can be joined as if each item ran in its own branch.
+ * The values of the items, contexts and results are encrypted with the branch run environment.
+ */
+public class ParallelLoopChunk implements ValueContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PARALLEL_LOOP_CHUNK_KEY = "parallel.loop.chunk";
+
+    private final String varName;
+    private final List<Value> items;
+    private final Context branchContext;
+    private final List<ReturnValues> itemsReturnValues = new ArrayList<>();
+    private final List<String> itemsPaths = new ArrayList<>();
+    private int nextItemIndex = 0;
+
+    public ParallelLoopChunk(String varName, List<Value> items, Context branchContext) {
+        this.varName = varName;
+        this.items = new ArrayList<>(items);
+        this.branchContext = branchContext;
+    }
+
+    public String getVarName() {
+        return varName;
+    }
+
+    /**
+     * @return the next item to run, and marks it as taken
+     */
+    public Value nextItem() {
+        return items.get(nextItemIndex++);
+    }
+
+    public boolean hasMore() {
+        return nextItemIndex < items.size();
+    }
+
+    /**
+     * @return a context for the next item, starting from the variables the branch started with
+     */
+    public Context createItemContext() {
+        return branchContext.fork();
+    }
+
+    public void addItemResult(String path, ReturnValues returnValues) {
+        itemsPaths.add(path);
+        itemsReturnValues.add(returnValues);
+    }
+
+    /**
+     * @return the results of the items that finished so far, in the order of the items
+     */
+    public List<ReturnValues> getItemsReturnValues() {
+        return itemsReturnValues;
+    }
+
+    /**
+     * @return the execution paths of the items that finished so far, in the order of the items
+     */
+    public List<String> getItemsPaths() {
+        return itemsPaths;
+    }
+
+    @Override
+    public List<Value> getValues() {
+        List<Value> values = new ArrayList<>(items);
+        values.addAll(branchContext.getImmutableViewOfLanguageVariables().values());
+        values.addAll(branchContext.getImmutableViewOfVariables().values());
+        for (ReturnValues itemReturnValues : itemsReturnValues) {
+            if (itemReturnValues.getOutputs() != null) {
+                values.addAll(itemReturnValues.getOutputs().values());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of a parallel loop whose branches are created in rounds of at most <code>roundSize</code> items.
+ * Kept in the flow context between the rounds, together with the data of the branches that already finished.
+ * The values are kept as is, so sensitive values are encrypted with the run environment.
+ */
+public class ParallelLoopState implements ValueContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PARALLEL_LOOP_STATE_KEY = "parallel.loop.state";
+
+    private final List<Value> splitData;
+    private final int roundSize;
+    private final Long splitStepId;
+    private final List<Map<String, Value>> branchesContext = new ArrayList<>();
+    private int nextItemIndex = 0;
+
+    public ParallelLoopState(List<Value> splitData, int roundSize, Long splitStepId) {
+        this.splitData = new ArrayList<>(splitData);
+        this.roundSize = roundSize;
+        this.splitStepId = splitStepId;
+    }
+
+    /**
+     * @return the split items of the next round, and marks them as taken
+     */
+    public List<Value> nextRound() {
+        int end = Math.min(nextItemIndex + roundSize, splitData.size());
+        List<Value> round = new ArrayList<>(splitData.subList(nextItemIndex, end));
+        nextItemIndex = end;
+        return round;
+    }
+
+    public boolean hasMore() {
+        return nextItemIndex < splitData.size();
+    }
+
+    /**
+     * @return the id of the step creating the branches, to go back to for the next round
+     */
+    public Long getSplitStepId() {
+        return splitStepId;
+    }
+
+    /**
+     * @return the data of the branches that finished so far
+     */
+    public List<Map<String, Value>> getBranchesContext() {
+        return branchesContext;
+    }
+
+    @Override
+    public List<Value> getValues() {
+        List<Value> values = new ArrayList<>(splitData);
+        for (Map<String, Value> branchContext : branchesContext) {
+            values.addAll(branchContext.values());
+        }
+        return values;
+    }
+}
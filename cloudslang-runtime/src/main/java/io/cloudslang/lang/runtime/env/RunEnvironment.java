@@ -13,9 +13,12 @@ package io.cloudslang.lang.runtime.env;
 import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.DecryptedValuesCache;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.Validate;
 
 import java.io.Serializable;
@@ -28,6 +31,8 @@ import java.util.*;
  */
 public class RunEnvironment implements Serializable {
 
+    private static final long serialVersionUID = 219682738150731993L;
+
     // Call arguments for the current step
     private Map<String, Value> callArguments;
 
@@ -66,6 +71,50 @@ public class RunEnvironment implements Serializable {
         this(new HashSet<SystemProperty>());
     }
 
+    private RunEnvironment(RunEnvironment runEnvironment) {
+        contextStack = new ContextStack();
+        parentFlowStack = new ParentFlowStack();
+        callArguments = runEnvironment.callArguments.isEmpty() ?
+                new HashMap<String, Value>() : SerializationUtils.clone(new HashMap<>(runEnvironment.callArguments));
+        returnValues = runEnvironment.returnValues == null ? null : SerializationUtils.clone(runEnvironment.returnValues);
+        nextStepPosition = runEnvironment.nextStepPosition;
+        executionPath = new ExecutionPath(runEnvironment.executionPath);
+        serializableDataMap = runEnvironment.serializableDataMap.isEmpty() ?
+                new HashMap<String, SerializableSessionObject>() :
+                SerializationUtils.clone(new HashMap<>(runEnvironment.serializableDataMap));
+        // sensitive system properties are encrypted and decrypted in place
+        systemProperties = runEnvironment.containsSensitiveSystemProperties() ?
+                SerializationUtils.clone(new HashSet<>(runEnvironment.systemProperties)) :
+                runEnvironment.systemProperties;
+    }
+
+    /**
+     * Used when reading the compact serialized form.
+     */
+    RunEnvironment(Map<String, Value> callArguments, ReturnValues returnValues, Long nextStepPosition,
+                   ContextStack contextStack, ParentFlowStack parentFlowStack, ExecutionPath executionPath,
+                   Set<SystemProperty> systemProperties, Map<String, SerializableSessionObject> serializableDataMap) {
+        this.callArguments = callArguments;
+        this.returnValues = returnValues;
+        this.nextStepPosition = nextStepPosition;
+        this.contextStack = contextStack;
+        this.parentFlowStack = parentFlowStack;
+        this.executionPath = executionPath;
+        this.systemProperties = systemProperties;
+        this.serializableDataMap = serializableDataMap;
+    }
+
+    /**
+     * Creates the run environment of a new branch, with empty stacks.
+     * The call arguments, the return values and the session objects are copied. The system properties
+     * are shared with this run environment unless some of them are sensitive, in which case they are copied.
+     *
+     * @return the run environment of the branch
+     */
+    public RunEnvironment createBranchRunEnvironment() {
+        return new RunEnvironment(this);
+    }
+
     public ContextStack getStack(){
         return contextStack;
     }
@@ -116,6 +165,18 @@ public class RunEnvironment implements Serializable {
         return serializableDataMap;
     }
 
+    Map<String, Value> getCallArguments() {
+        return callArguments;
+    }
+
+    ReturnValues getReturnValues() {
+        return returnValues;
+    }
+
+    Long getNextStepPosition() {
+        return nextStepPosition;
+    }
+
     public void resetStacks() {
         contextStack = new ContextStack();
         parentFlowStack = new ParentFlowStack();
@@ -129,14 +190,21 @@ public class RunEnvironment implements Serializable {
     }
 
     public void decryptSensitiveData() {
-        for (Value value: prepareValuesForEncryptDecrypt()) {
-            if(value.isSensitive()) {
-                ((SensitiveValue)value).decrypt();
+        // values passed down the stack are decrypted once
+        DecryptedValuesCache.open();
+        try {
+            for (Value value: prepareValuesForEncryptDecrypt()) {
+                if(value.isSensitive()) {
+                    ((SensitiveValue)value).decrypt();
+                }
             }
+        } finally {
+            DecryptedValuesCache.close();
         }
     }
 
     public void encryptSensitiveData() {
+        DecryptedValuesCache.clear();
         for (Value value: prepareValuesForEncryptDecrypt()) {
             if(value.isSensitive()) {
                 ((SensitiveValue)value).encrypt();
@@ -144,6 +212,19 @@ public class RunEnvironment implements Serializable {
         }
     }
 
+    /**
+     * Run environments are written in a compact form, see {@link SerializedRunEnvironment}, when the
+     * <code>cslang.run.environment.compact.serialization</code> system property is true.
+     * Only nodes having {@link SerializedRunEnvironment} can read that form, so it should be enabled once
+     * every node of the cluster is upgraded. Run environments written with the default serialization
+     * can always be read.
+     */
+    private Object writeReplace() {
+        boolean compact = Boolean.getBoolean(
+                SlangSystemPropertyConstant.CSLANG_RUN_ENVIRONMENT_COMPACT_SERIALIZATION.getValue());
+        return compact ? new SerializedRunEnvironment(this) : this;
+    }
+
     private boolean containsSensitiveCallArgument() {
         return callArguments != null && containsSensitiveData(callArguments.values());
     }
@@ -168,7 +249,7 @@ public class RunEnvironment implements Serializable {
         ContextStack tempStack = new ContextStack();
         Context context;
         while (!hasSensitive && (context = contextStack.popContext()) != null) {
-            hasSensitive = containsSensitiveData(context.getImmutableViewOfLanguageVariables().values());
+            hasSensitive = containsSensitiveData(withContainedValues(context.getImmutableViewOfLanguageVariables().values()));
             hasSensitive = hasSensitive || containsSensitiveData(context.getImmutableViewOfVariables().values());
             tempStack.pushContext(context);
         }
@@ -209,7 +290,7 @@ public class RunEnvironment implements Serializable {
         ContextStack tempStack = new ContextStack();
         Context context;
         while ((context = contextStack.popContext()) != null) {
-            valuesToCheck.addAll(context.getImmutableViewOfLanguageVariables().values());
+            valuesToCheck.addAll(withContainedValues(context.getImmutableViewOfLanguageVariables().values()));
             valuesToCheck.addAll(context.getImmutableViewOfVariables().values());
             tempStack.pushContext(context);
         }
@@ -220,4 +301,21 @@ public class RunEnvironment implements Serializable {
         return valuesToCheck;
     }
 
+    /**
+     * @return the given values, followed by the values held by the {@link ValueContainer}s among them
+     */
+    private List<Value> withContainedValues(Collection<Value> values) {
+        List<Value> result = new ArrayList<>(values);
+        for (Value value : values) {
+            if (value != null && !value.isSensitive() && value.get() instanceof ValueContainer) {
+                for (Value containedValue : withContainedValues(((ValueContainer) value.get()).getValues())) {
+                    if (containedValue != null) {
+                        result.add(containedValue);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
 }
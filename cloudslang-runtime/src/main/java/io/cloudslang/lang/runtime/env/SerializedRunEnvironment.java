@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.VariableLayout;
+import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.SimpleValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact serialized form of a {@link RunEnvironment}, written in its place by the java serialization.
+ *
+ * The contexts, call arguments, return values and execution path are written field by field instead of
+ * as object graphs, and every variable name is written once per run environment and then referred to by
+ * its index. Values of the common types are written as tagged primitives; anything else, including the
+ * parent flow stack, the system properties and the session data, goes through the object stream as before.
+ *
+ * The form starts with its version so it can be changed later. Run environments written before this form
+ * existed are plain serialized {@link RunEnvironment}s and are still read by the default serialization.
+ * Version 2 adds the layout of the variables of each context, written once per stream by the object stream.
+ */
+final class SerializedRunEnvironment implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int FIRST_VARIABLE_LAYOUT_VERSION = 2;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int NULL_VALUE = 0;
+    private static final int NULL_CONTENT = 1;
+    private static final int STRING_CONTENT = 2;
+    private static final int INTEGER_CONTENT = 3;
+    private static final int TRUE_CONTENT = 4;
+    private static final int FALSE_CONTENT = 5;
+    private static final int OBJECT_CONTENT = 6;
+    private static final int ENCRYPTED_SENSITIVE = 7;
+    private static final int NULL_SENSITIVE = 8;
+    private static final int OTHER_VALUE = 9;
+
+    private RunEnvironment runEnvironment;
+
+    // names already written or read, in the order they first appeared
+    private Map<String, Integer> writtenNames;
+    private List<String> readNames;
+
+    /**
+     * Used by the java serialization
+     */
+    public SerializedRunEnvironment() {
+    }
+
+    SerializedRunEnvironment(RunEnvironment runEnvironment) {
+        this.runEnvironment = runEnvironment;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        writtenNames = new HashMap<>();
+        out.writeByte(FORMAT_VERSION);
+        writeValues(out, runEnvironment.getCallArguments());
+        writeReturnValues(out, runEnvironment.getReturnValues());
+        writeNullableLong(out, runEnvironment.getNextStepPosition());
+        List<Context> contexts = runEnvironment.getStack().getContexts();
+        writeSize(out, contexts.size());
+        for (Context context : contexts) {
+            out.writeObject(context.getVariableLayout());
+            writeValues(out, context.getImmutableViewOfVariables());
+            writeValues(out, context.getImmutableViewOfLanguageVariables());
+        }
+        out.writeObject(runEnvironment.getParentFlowStack());
+        writeExecutionPath(out, runEnvironment.getExecutionPath());
+        out.writeObject(runEnvironment.getSystemProperties());
+        out.writeObject(runEnvironment.getSerializableDataMap());
+        writtenNames = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new InvalidObjectException("Unsupported run environment format version: " + version);
+        }
+        readNames = new ArrayList<>();
+        Map<String, Value> callArguments = readValues(in);
+        ReturnValues returnValues = readReturnValues(in);
+        Long nextStepPosition = readNullableLong(in);
+        ContextStack contextStack = new ContextStack();
+        int contexts = readSize(in);
+        for (int i = 0; i < contexts; i++) {
+            VariableLayout variableLayout = version >= FIRST_VARIABLE_LAYOUT_VERSION ?
+                    (VariableLayout) in.readObject() : null;
+            Map<String, Value> variables = readValues(in);
+            if (variableLayout != null && variables != null) {
+                variables = new SlotMap<>(variableLayout, variables);
+            }
+            Map<String, Value> langVariables = readValues(in);
+            contextStack.pushContext(new Context(variables, langVariables));
+        }
+        ParentFlowStack parentFlowStack = (ParentFlowStack) in.readObject();
+        ExecutionPath executionPath = readExecutionPath(in);
+        Set<SystemProperty> systemProperties = (Set<SystemProperty>) in.readObject();
+        Map<String, SerializableSessionObject> serializableDataMap =
+                (Map<String, SerializableSessionObject>) in.readObject();
+        runEnvironment = new RunEnvironment(callArguments, returnValues, nextStepPosition, contextStack,
+                parentFlowStack, executionPath, systemProperties, serializableDataMap);
+        readNames = null;
+    }
+
+    private Object readResolve() {
+        return runEnvironment;
+    }
+
+    private void writeReturnValues(ObjectOutput out, ReturnValues returnValues) throws IOException {
+        out.writeBoolean(returnValues != null);
+        if (returnValues != null) {
+            writeValues(out, returnValues.getOutputs());
+            writeName(out, returnValues.getResult());
+        }
+    }
+
+    private ReturnValues readReturnValues(ObjectInput in) throws IOException, ClassNotFoundException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        Map<String, Value> outputs = readValues(in);
+        return new ReturnValues(outputs, readName(in));
+    }
+
+    private void writeExecutionPath(ObjectOutput out, ExecutionPath executionPath) throws IOException {
+        List<Integer> parentPositions = executionPath.getParentPositions();
+        writeSize(out, parentPositions.size());
+        for (Integer parentPosition : parentPositions) {
+            writeSize(out, parentPosition);
+        }
+        writeSize(out, executionPath.getPosition());
+    }
+
+    private ExecutionPath readExecutionPath(ObjectInput in) throws IOException {
+        int parents = readSize(in);
+        List<Integer> parentPositions = new ArrayList<>(parents);
+        for (int i = 0; i < parents; i++) {
+            parentPositions.add(readSize(in));
+        }
+        return new ExecutionPath(parentPositions, readSize(in));
+    }
+
+    /**
+     * Writes a map of values, or null. The size is written plus one so zero can stand for null.
+     */
+    private void writeValues(ObjectOutput out, Map<String, ? extends Value> values) throws IOException {
+        if (values == null) {
+            writeSize(out, 0);
+            return;
+        }
+        writeSize(out, values.size() + 1);
+        for (Map.Entry<String, ? extends Value> entry : values.entrySet()) {
+            writeName(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private Map<String, Value> readValues(ObjectInput in) throws IOException, ClassNotFoundException {
+        int size = readSize(in) - 1;
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Value> values = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = readName(in);
+            values.put(name, readValue(in));
+        }
+        return values;
+    }
+
+    private void writeValue(ObjectOutput out, Value value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value.getClass() == SimpleValue.class && !(value.get() instanceof Value)) {
+            // a value content would be unwrapped by the value factory, such values are written as they are
+            writeSimpleValueContent(out, value.get());
+        } else if (value.getClass() == SensitiveValue.class && ((SensitiveValue) value).isEncrypted()) {
+            out.writeByte(ENCRYPTED_SENSITIVE);
+            writeString(out, ((SensitiveValue) value).getContent());
+        } else if (value.getClass() == SensitiveValue.class && value.get() == null) {
+            // not encrypted, so reading the content does not decrypt anything
+            out.writeByte(NULL_SENSITIVE);
+        } else {
+            out.writeByte(OTHER_VALUE);
+            out.writeObject(value);
+        }
+    }
+
+    private void writeSimpleValueContent(ObjectOutput out, Serializable content) throws IOException {
+        if (content == null) {
+            out.writeByte(NULL_CONTENT);
+        } else if (content instanceof String) {
+            out.writeByte(STRING_CONTENT);
+            writeString(out, (String) content);
+        } else if (content instanceof Integer) {
+            out.writeByte(INTEGER_CONTENT);
+            out.writeInt((Integer) content);
+        } else if (content instanceof Boolean) {
+            out.writeByte((Boolean) content ? TRUE_CONTENT : FALSE_CONTENT);
+        } else {
+            out.writeByte(OBJECT_CONTENT);
+            out.writeObject(content);
+        }
+    }
+
+    private Value readValue(ObjectInput in) throws IOException, ClassNotFoundException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case NULL_CONTENT:
+                return ValueFactory.create(null);
+            case STRING_CONTENT:
+                return ValueFactory.create(readString(in));
+            case INTEGER_CONTENT:
+                return ValueFactory.create(in.readInt());
+            case TRUE_CONTENT:
+                return ValueFactory.create(Boolean.TRUE);
+            case FALSE_CONTENT:
+                return ValueFactory.create(Boolean.FALSE);
+            case OBJECT_CONTENT:
+                return ValueFactory.create((Serializable) in.readObject());
+            case ENCRYPTED_SENSITIVE:
+                return ValueFactory.createEncryptedValue(readString(in));
+            case NULL_SENSITIVE:
+                return ValueFactory.create(null, true);
+            case OTHER_VALUE:
+                return (Value) in.readObject();
+            default:
+                throw new InvalidObjectException("Unknown value type: " + type);
+        }
+    }
+
+    /**
+     * Writes a name, or null, the first time it is met and only its index afterwards.
+     * Zero stands for a new name and one for null, so the index of a known name is written plus two.
+     */
+    private void writeName(ObjectOutput out, String name) throws IOException {
+        if (name == null) {
+            writeSize(out, 1);
+            return;
+        }
+        Integer index = writtenNames.get(name);
+        if (index != null) {
+            writeSize(out, index + 2);
+        } else {
+            writeSize(out, 0);
+            writeString(out, name);
+            writtenNames.put(name, writtenNames.size());
+        }
+    }
+
+    private String readName(ObjectInput in) throws IOException {
+        int index = readSize(in);
+        if (index == 0) {
+            String name = readString(in);
+            readNames.add(name);
+            return name;
+        }
+        if (index == 1) {
+            return null;
+        }
+        if (index - 2 >= readNames.size()) {
+            throw new InvalidObjectException("Unknown name index: " + (index - 2));
+        }
+        return readNames.get(index - 2);
+    }
+
+    /**
+     * Unlike {@link ObjectOutput#writeUTF(String)} there is no limit on the length of the string.
+     */
+    private void writeString(ObjectOutput out, String string) throws IOException {
+        byte[] bytes = string.getBytes(UTF_8);
+        writeSize(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(ObjectInput in) throws IOException {
+        byte[] bytes = new byte[readSize(in)];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private void writeNullableLong(ObjectOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private Long readNullableLong(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    /**
+     * Writes a non negative int in as few bytes as it needs, seven bits per byte.
+     */
+    private void writeSize(ObjectOutput out, int size) throws IOException {
+        int remaining = size;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private int readSize(ObjectInput in) throws IOException {
+        int size = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            size |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return size;
+            }
+        }
+        throw new InvalidObjectException("Malformed size");
+    }
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.VariableLayout;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map keeping the entries whose keys have a slot in a {@link VariableLayout} in an array indexed by slot.
+ * The layout is shared by all the maps of a flow, so each map only holds the array. Keys the layout does
+ * not know are kept in a hash map created when the first of them is written.
+ */
+class SlotMap<V> extends AbstractMap<String, V> implements Serializable {
+
+    private static final long serialVersionUID = 4217394551078211738L;
+
+    // marks a slot holding null, an empty slot is null itself
+    private enum NullValue { INSTANCE }
+
+    private final VariableLayout layout;
+    private final Object[] slots;
+    private int filledSlots;
+    private Map<String, V> dynamicEntries;
+
+    SlotMap(VariableLayout layout) {
+        this.layout = layout;
+        this.slots = new Object[layout.size()];
+    }
+
+    SlotMap(VariableLayout layout, Map<String, ? extends V> entries) {
+        this(layout);
+        putAll(entries);
+    }
+
+    private SlotMap(SlotMap<V> other) {
+        layout = other.layout;
+        slots = other.slots.clone();
+        filledSlots = other.filledSlots;
+        dynamicEntries = other.dynamicEntries == null ? null : new HashMap<>(other.dynamicEntries);
+    }
+
+    VariableLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return a map with the same layout and entries, which does not share any further change with this map
+     */
+    SlotMap<V> copy() {
+        return new SlotMap<>(this);
+    }
+
+    @Override
+    public V get(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return unmask(slots[slot]);
+        }
+        return dynamicEntries == null ? null : dynamicEntries.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return slots[slot] != null;
+        }
+        return dynamicEntries != null && dynamicEntries.containsKey(key);
+    }
+
+    @Override
+    public V put(String key, V value) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            Object previous = slots[slot];
+            slots[slot] = value == null ? NullValue.INSTANCE : value;
+            if (previous == null) {
+                filledSlots++;
+            }
+            return unmask(previous);
+        }
+        if (dynamicEntries == null) {
+            dynamicEntries = new HashMap<>();
+        }
+        return dynamicEntries.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return clearSlot(slot);
+        }
+        return dynamicEntries == null ? null : dynamicEntries.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = null;
+        }
+        filledSlots = 0;
+        dynamicEntries = null;
+    }
+
+    @Override
+    public int size() {
+        return filledSlots + (dynamicEntries == null ? 0 : dynamicEntries.size());
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new SlotIterator();
+            }
+
+            @Override
+            public int size() {
+                return SlotMap.this.size();
+            }
+        };
+    }
+
+    private int slotOf(Object key) {
+        return key instanceof String ? layout.getSlot((String) key) : -1;
+    }
+
+    private V clearSlot(int slot) {
+        Object previous = slots[slot];
+        if (previous != null) {
+            slots[slot] = null;
+            filledSlots--;
+        }
+        return unmask(previous);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unmask(Object value) {
+        return value == NullValue.INSTANCE ? null : (V) value;
+    }
+
+    private class SlotIterator implements Iterator<Entry<String, V>> {
+
+        private int nextSlot;
+        private int lastSlot = -1;
+        private boolean lastDynamic;
+        private Iterator<Entry<String, V>> dynamicIterator;
+
+        @Override
+        public boolean hasNext() {
+            while (nextSlot < slots.length && slots[nextSlot] == null) {
+                nextSlot++;
+            }
+            if (nextSlot < slots.length) {
+                return true;
+            }
+            if (dynamicIterator == null && dynamicEntries != null) {
+                dynamicIterator = dynamicEntries.entrySet().iterator();
+            }
+            return dynamicIterator != null && dynamicIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSlot < slots.length) {
+                lastSlot = nextSlot++;
+                return new SimpleImmutableEntry<>(layout.getName(lastSlot), unmask(slots[lastSlot]));
+            }
+            lastSlot = -1;
+            lastDynamic = true;
+            Entry<String, V> entry = dynamicIterator.next();
+            return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                clearSlot(lastSlot);
+                lastSlot = -1;
+            } else if (lastDynamic) {
+                dynamicIterator.remove();
+                lastDynamic = false;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
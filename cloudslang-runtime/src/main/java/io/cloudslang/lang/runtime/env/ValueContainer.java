@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Runtime state kept in a language variable which holds values of the run.
+ * The run environment encrypts and decrypts these values together with the values of the contexts.
+ */
+public interface ValueContainer extends Serializable {
+
+    /**
+     * @return the values held by the state
+     */
+    List<Value> getValues();
+}
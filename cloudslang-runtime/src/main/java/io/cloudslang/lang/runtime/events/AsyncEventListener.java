@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.commons.lang.Validate;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers events to a listener on a dedicated thread, so a slow listener does not hold up
+ * the threads firing the events.
+ *
+ * Events are kept in a bounded queue and handed to the listener in batches, in the order they were fired.
+ * When the queue is full the {@link EventDispatchPolicy} decides which events are discarded.
+ * Events ending an execution are never discarded, the firing thread waits for room for them instead.
+ * Events are queued and the listener is closed under one lock, so no event is queued after the
+ * dispatch thread has checked the queue for the last time.
+ */
+public class AsyncEventListener implements ScoreEventListener {
+
+    private static final Logger logger = Logger.getLogger(AsyncEventListener.class);
+
+    private static final Set<String> UNDROPPABLE_EVENT_TYPES = new HashSet<>(Arrays.asList(
+            EventConstants.SCORE_FINISHED_EVENT,
+            EventConstants.SCORE_FINISHED_BRANCH_EVENT,
+            EventConstants.SCORE_BRANCH_FAILURE_EVENT,
+            EventConstants.SCORE_NO_WORKER_FAILURE_EVENT,
+            EventConstants.SCORE_PAUSED_EVENT,
+            EventConstants.SCORE_ERROR_EVENT,
+            EventConstants.SCORE_FAILURE_EVENT,
+            ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
+            ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final ScoreEventListener listener;
+    private final EventDispatchPolicy dispatchPolicy;
+    private final int batchSize;
+    private final int sampleRate;
+    private final BlockingQueue<ScoreEvent> queue;
+    private final Thread dispatchThread;
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong droppedEventsCount = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * @param listener the listener to deliver the events to
+     * @param dispatchPolicy what to do when the queue is full
+     * @param queueSize the maximal number of events waiting to be delivered
+     * @param batchSize the maximal number of events taken from the queue at once
+     * @param sampleRate for the {@link EventDispatchPolicy#SAMPLE} policy, one of every <code>sampleRate</code>
+     *                   events is kept while the queue is full
+     */
+    public AsyncEventListener(ScoreEventListener listener, EventDispatchPolicy dispatchPolicy,
+                              int queueSize, int batchSize, int sampleRate) {
+        Validate.notNull(listener, "Listener can not be null");
+        Validate.notNull(dispatchPolicy, "Dispatch policy can not be null");
+        Validate.isTrue(queueSize > 0, "Queue size must be positive");
+        Validate.isTrue(batchSize > 0, "Batch size must be positive");
+        Validate.isTrue(sampleRate > 0, "Sample rate must be positive");
+        this.listener = listener;
+        this.dispatchPolicy = dispatchPolicy;
+        this.batchSize = batchSize;
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.dispatchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatchEvents();
+            }
+        }, "slang-events-" + listener.getClass().getSimpleName());
+        this.dispatchThread.setDaemon(true);
+    }
+
+    public AsyncEventListener start() {
+        dispatchThread.start();
+        return this;
+    }
+
+    @Override
+    public void onEvent(ScoreEvent event) throws InterruptedException {
+        if (!enqueue(event)) {
+            deliverOnCurrentThread(event);
+        }
+    }
+
+    /**
+     * Stops the dispatch thread once the queued events are delivered.
+     * Events fired afterwards are delivered on the firing thread, after the queued ones.
+     */
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (Thread.currentThread() != dispatchThread) {
+            dispatchThread.join();
+        }
+    }
+
+    public ScoreEventListener getListener() {
+        return listener;
+    }
+
+    public long getDroppedEventsCount() {
+        return droppedEventsCount.get();
+    }
+
+    /**
+     * @return false if the event was neither queued nor discarded, since the events are no longer dispatched
+     */
+    private boolean enqueue(ScoreEvent event) throws InterruptedException {
+        lock.lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            if (queue.offer(event)) {
+                return true;
+            }
+            boolean droppable = !UNDROPPABLE_EVENT_TYPES.contains(event.getEventType());
+            if (droppable && dispatchPolicy == EventDispatchPolicy.SAMPLE
+                    && sampleCounter.getAndIncrement() % sampleRate != 0) {
+                droppedEventsCount.incrementAndGet();
+                return true;
+            }
+            while (true) {
+                if (dispatchPolicy != EventDispatchPolicy.BLOCK && removeOldestDroppableEvent()) {
+                    droppedEventsCount.incrementAndGet();
+                } else {
+                    notFull.await(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (!running || !dispatchThread.isAlive()) {
+                        return false;
+                    }
+                }
+                if (queue.offer(event)) {
+                    return true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deliverOnCurrentThread(ScoreEvent event) throws InterruptedException {
+        // the queued events are delivered first
+        if (Thread.currentThread() != dispatchThread) {
+            dispatchThread.join();
+        }
+        listener.onEvent(event);
+    }
+
+    private void signalNotFull() {
+        lock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isDispatchDone() {
+        lock.lock();
+        try {
+            return !running && queue.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean removeOldestDroppableEvent() {
+        Iterator<ScoreEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (!UNDROPPABLE_EVENT_TYPES.contains(iterator.next().getEventType())) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dispatchEvents() {
+        List<ScoreEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                ScoreEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (isDispatchDone()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                signalNotFull();
+                for (ScoreEvent event : batch) {
+                    deliver(event);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Events dispatch was interrupted, " + queue.size() + " events were not delivered");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(ScoreEvent event) throws InterruptedException {
+        try {
+            listener.onEvent(event);
+        } catch (RuntimeException e) {
+            logger.error("Listener failed handling event: " + event.getEventType(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+/**
+ * What an {@link AsyncEventListener} does when its queue is full
+ */
+public enum EventDispatchPolicy {
+
+    /**
+     * The firing thread waits until the listener catches up
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued event is discarded to make room for the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Only one of every few new events replaces the oldest queued event, the others are discarded
+     */
+    SAMPLE
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the event types the listeners of this JVM are subscribed to, so the runtime can skip
+ * building the data of events no one listens to.
+ *
+ * Skipping is opt-in through the <code>cslang.events.skip.unsubscribed</code> system property,
+ * because listeners registered on the event bus directly, and not through
+ * {@link #subscribe(Object, Set)}, are not visible here. Only enable it when every listener of
+ * this JVM subscribes here. Even then, every event type is considered subscribed until the first
+ * subscription is registered.
+ */
+public final class LanguageEventSubscriptions {
+
+    private static volatile boolean skipUnsubscribed = isSkipUnsubscribedEnabled();
+
+    private static final Map<Object, Set<String>> subscriptions = new ConcurrentHashMap<>();
+    // snapshot of all the subscribed types, null until subscriptions are tracked
+    private static volatile Set<String> subscribedEventTypes;
+
+    private static final AtomicLong builtEventsCount = new AtomicLong();
+    private static final AtomicLong droppedEventsCount = new AtomicLong();
+
+    private LanguageEventSubscriptions() {
+    }
+
+    public static synchronized void subscribe(Object listener, Set<String> eventTypes) {
+        Set<String> listenerEventTypes = new HashSet<>(eventTypes);
+        Set<String> previous = subscriptions.get(listener);
+        if (previous != null) {
+            listenerEventTypes.addAll(previous);
+        }
+        subscriptions.put(listener, listenerEventTypes);
+        updateSubscribedEventTypes();
+    }
+
+    public static synchronized void unsubscribe(Object listener) {
+        if (subscriptions.remove(listener) != null) {
+            updateSubscribedEventTypes();
+        }
+    }
+
+    /**
+     * @return false only if it is known that no listener is subscribed to the event type
+     */
+    public static boolean isSubscribed(String eventType) {
+        Set<String> eventTypes = subscribedEventTypes;
+        return !skipUnsubscribed || eventTypes == null || eventTypes.contains(eventType);
+    }
+
+    public static void recordBuiltEvent() {
+        builtEventsCount.incrementAndGet();
+    }
+
+    public static void recordDroppedEvent() {
+        droppedEventsCount.incrementAndGet();
+    }
+
+    public static long getBuiltEventsCount() {
+        return builtEventsCount.get();
+    }
+
+    public static long getDroppedEventsCount() {
+        return droppedEventsCount.get();
+    }
+
+    static void setSkipUnsubscribed(boolean skip) {
+        skipUnsubscribed = skip;
+    }
+
+    /**
+     * Stops tracking subscriptions, resets the counters and re-reads the system property
+     */
+    public static synchronized void reset() {
+        skipUnsubscribed = isSkipUnsubscribedEnabled();
+        subscriptions.clear();
+        subscribedEventTypes = null;
+        builtEventsCount.set(0);
+        droppedEventsCount.set(0);
+    }
+
+    private static boolean isSkipUnsubscribedEnabled() {
+        return Boolean.getBoolean(SlangSystemPropertyConstant.CSLANG_EVENTS_SKIP_UNSUBSCRIBED.getValue());
+    }
+
+    private static void updateSubscribedEventTypes() {
+        Set<String> eventTypes = new HashSet<>();
+        for (Set<String> listenerEventTypes : subscriptions.values()) {
+            eventTypes.addAll(listenerEventTypes);
+        }
+        subscribedEventTypes = Collections.unmodifiableSet(eventTypes);
+    }
+}
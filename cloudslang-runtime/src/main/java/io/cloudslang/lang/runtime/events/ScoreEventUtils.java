@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.score.api.execution.ExecutionParametersConsts;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.lang.ExecutionRuntimeServices;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Reads the data of both language events and the events fired by score itself.
+ */
+public final class ScoreEventUtils {
+
+    private ScoreEventUtils() {
+    }
+
+    /**
+     * @return the id of the execution that fired the event, or null if the event data does not tell it
+     */
+    public static Long getExecutionId(ScoreEvent scoreEvent) {
+        Serializable data = scoreEvent.getData();
+        if (data instanceof LanguageEventData) {
+            return ((LanguageEventData) data).getExecutionId();
+        }
+        if (data instanceof Map) {
+            Map dataMap = (Map) data;
+            Object executionId = dataMap.get(EventConstants.EXECUTION_ID_CONTEXT);
+            if (executionId instanceof Long) {
+                return (Long) executionId;
+            }
+            Object systemContext = dataMap.get(ExecutionParametersConsts.SYSTEM_CONTEXT);
+            if (systemContext instanceof ExecutionRuntimeServices) {
+                return ((ExecutionRuntimeServices) systemContext).getExecutionId();
+            }
+        }
+        return null;
+    }
+}
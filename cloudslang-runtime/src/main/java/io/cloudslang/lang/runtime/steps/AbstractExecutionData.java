@@ -19,6 +19,7 @@ import io.cloudslang.lang.runtime.env.ParentFlowData;
 import io.cloudslang.lang.runtime.env.ParentFlowStack;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -38,6 +39,9 @@ public abstract class AbstractExecutionData {
                                           String desc,
                                           LanguageEventData.StepType stepType,
                                           String stepName) {
+        if (!shouldFireEvent(ScoreLangConstants.EVENT_INPUT_START)) {
+            return;
+        }
         ArrayList<String> inputNames = new ArrayList<>();
         for (Input input : inputs) {
             inputNames.add(input.getName());
@@ -53,6 +57,9 @@ public abstract class AbstractExecutionData {
                                           String desc,
                                           LanguageEventData.StepType stepType,
                                           String stepName) {
+        if (!shouldFireEvent(ScoreLangConstants.EVENT_INPUT_END)) {
+            return;
+        }
         Map<String, Value> inputsForEvent = new LinkedHashMap<>();
         for (Input input : inputs) {
             String inputName = input.getName();
@@ -69,6 +76,9 @@ public abstract class AbstractExecutionData {
             ExecutionRuntimeServices executionRuntimeServices,
             String description,
             String stepName) {
+        if (!shouldFireEvent(ScoreLangConstants.EVENT_ARGUMENT_START)) {
+            return;
+        }
         ArrayList<String> argumentNames = new ArrayList<>();
         for (Argument argument : arguments) {
             argumentNames.add(argument.getName());
@@ -91,6 +101,9 @@ public abstract class AbstractExecutionData {
             ExecutionRuntimeServices executionRuntimeServices,
             String description,
             String stepName) {
+        if (!shouldFireEvent(ScoreLangConstants.EVENT_ARGUMENT_END)) {
+            return;
+        }
         Map<String, Value> argumentsForEvent = new LinkedHashMap<>();
         for (Argument argument : arguments) {
             String argumentName = argument.getName();
@@ -127,6 +140,9 @@ public abstract class AbstractExecutionData {
                                  LanguageEventData.StepType stepType,
                                  String stepName,
                                  Map.Entry<String, ? extends Serializable>... fields) {
+        if (!shouldFireEvent(type)) {
+            return;
+        }
         LanguageEventData eventData = new LanguageEventData();
         eventData.setStepType(stepType);
         eventData.setStepName(stepName);
@@ -140,6 +156,20 @@ public abstract class AbstractExecutionData {
             eventData.put(field.getKey(), LanguageEventData.maskSensitiveValues(field.getValue()));
         }
         runtimeServices.addEvent(type, eventData);
+        LanguageEventSubscriptions.recordBuiltEvent();
+    }
+
+    /**
+     * Callers building costly event data should check this first, and skip building it when false.
+     *
+     * @return whether a listener may be subscribed to the event type
+     */
+    public static boolean shouldFireEvent(String type) {
+        if (LanguageEventSubscriptions.isSubscribed(type)) {
+            return true;
+        }
+        LanguageEventSubscriptions.recordDroppedEvent();
+        return false;
     }
 
     protected void updateCallArgumentsAndPushContextToStack(RunEnvironment runEnvironment, Context currentContext, Map<String, Value> callArguments) {
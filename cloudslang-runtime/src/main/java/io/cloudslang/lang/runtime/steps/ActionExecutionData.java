@@ -15,6 +15,7 @@ import com.hp.oo.sdk.content.annotations.Param;
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import io.cloudslang.lang.entities.ActionType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.values.DecryptedValuesCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptExecutor;
@@ -72,16 +73,18 @@ public class ActionExecutionData extends AbstractExecutionData {
 
         Map<String, Value> returnValue = new HashMap<>();
         Map<String, Value> callArguments = runEnv.removeCallArguments();
-        Map<String, Value> callArgumentsDeepCopy = new HashMap<>();
-
-        for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
-            callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
-        }
 
         Map<String, SerializableSessionObject> serializableSessionData = runEnv.getSerializableDataMap();
-        fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_START, "Preparing to run action " + actionType,
-                runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null,
-                Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable)callArgumentsDeepCopy));
+        if (shouldFireEvent(ScoreLangConstants.EVENT_ACTION_START)) {
+            Map<String, Value> callArgumentsDeepCopy = new HashMap<>();
+            for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
+                callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
+            }
+            fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_START, "Preparing to run action " + actionType,
+                    runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null,
+                    Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable)callArgumentsDeepCopy));
+        }
+        DecryptedValuesCache.open();
         try {
             switch (actionType) {
                 case JAVA:
@@ -100,6 +103,8 @@ public class ActionExecutionData extends AbstractExecutionData {
                     Pair.of(LanguageEventData.EXCEPTION, ex.getMessage()));
             logger.error(ex);
             throw (ex);
+        } finally {
+            DecryptedValuesCache.close();
         }
 
         ReturnValues returnValues = new ReturnValues(returnValue, null);
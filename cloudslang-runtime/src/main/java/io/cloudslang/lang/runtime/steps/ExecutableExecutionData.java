@@ -11,9 +11,11 @@ package io.cloudslang.lang.runtime.steps;
 import com.hp.oo.sdk.content.annotations.Param;
 import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.VariableLayout;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.DecryptedValuesCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.runtime.bindings.InputsBinding;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
@@ -63,7 +65,9 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                                 @Param(ScoreLangConstants.USER_INPUTS_KEY) Map<String, ? extends Value> userInputs,
                                 @Param(EXECUTION_RUNTIME_SERVICES) ExecutionRuntimeServices executionRuntimeServices,
                                 @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
-                                @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId) {
+                                @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
+                                @Param(ScoreLangConstants.VARIABLE_LAYOUT_KEY) VariableLayout variableLayout) {
+        DecryptedValuesCache.open();
         try {
             Map<String, Value> callArguments = runEnv.removeCallArguments();
 
@@ -87,7 +91,9 @@ public class ExecutableExecutionData extends AbstractExecutionData {
 
             //todo: hook
 
-            updateCallArgumentsAndPushContextToStack(runEnv, new Context(executableContext), actionArguments);
+            Context context = variableLayout == null ?
+                    new Context(executableContext) : new Context(executableContext, variableLayout);
+            updateCallArgumentsAndPushContextToStack(runEnv, context, actionArguments);
 
             sendEndBindingInputsEvent(executableInputs, executableContext, runEnv, executionRuntimeServices,
                     "Post Input binding for operation/flow", LanguageEventData.StepType.EXECUTABLE, nodeName);
@@ -98,6 +104,8 @@ public class ExecutableExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e){
             logger.error("There was an error running the start executable execution step of: \'" + nodeName + "\'.\n\tError is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\'.\n\t " + e.getMessage(), e);
+        } finally {
+            DecryptedValuesCache.close();
         }
     }
 
@@ -115,20 +123,23 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                                  @Param(EXECUTION_RUNTIME_SERVICES) ExecutionRuntimeServices executionRuntimeServices,
                                  @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
                                  @Param(ScoreLangConstants.EXECUTABLE_TYPE) ExecutableType executableType) {
+		DecryptedValuesCache.open();
 		try {
             runEnv.getExecutionPath().up();
             Context operationContext = runEnv.getStack().popContext();
             Map<String, Value> operationVariables = operationContext == null ? null : operationContext.getImmutableViewOfVariables();
             ReturnValues actionReturnValues = buildReturnValues(runEnv, executableType);
-            fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_OUTPUT_START, "Output binding started",
-                    LanguageEventData.StepType.EXECUTABLE, nodeName,
-                    Pair.of(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, (Serializable) executableOutputs),
-                    Pair.of(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable) executableResults),
-                    Pair.of(ACTION_RETURN_VALUES_KEY,
-                            executableType == ExecutableType.OPERATION ?
-                                    new ReturnValues(new HashMap<String, Value>(), actionReturnValues.getResult()) :
-                                    actionReturnValues)
-            );
+            if (shouldFireEvent(ScoreLangConstants.EVENT_OUTPUT_START)) {
+                fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_OUTPUT_START, "Output binding started",
+                        LanguageEventData.StepType.EXECUTABLE, nodeName,
+                        Pair.of(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, (Serializable) executableOutputs),
+                        Pair.of(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable) executableResults),
+                        Pair.of(ACTION_RETURN_VALUES_KEY,
+                                executableType == ExecutableType.OPERATION ?
+                                        new ReturnValues(new HashMap<String, Value>(), actionReturnValues.getResult()) :
+                                        actionReturnValues)
+                );
+            }
 
             // Resolving the result of the operation/flow
             String result = resultsBinding.resolveResult(
@@ -171,6 +182,8 @@ public class ExecutableExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e){
             logger.error("There was an error running the finish executable execution step of: \'" + nodeName + "\'.\n\tError is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\'.\n\t" + e.getMessage(), e);
+        } finally {
+            DecryptedValuesCache.close();
         }
     }
 
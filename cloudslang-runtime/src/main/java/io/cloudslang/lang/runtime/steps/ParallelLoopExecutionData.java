@@ -13,13 +13,19 @@ import com.hp.oo.sdk.content.annotations.Param;
 import io.cloudslang.lang.entities.ParallelLoopStatement;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
 import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.DecryptedValuesCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.ExpressionNamesScanner;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.runtime.RuntimeConstants;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ParallelLoopBinding;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParallelLoopChunk;
+import io.cloudslang.lang.runtime.env.ParallelLoopState;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -28,7 +34,6 @@ import io.cloudslang.score.api.execution.ExecutionParametersConsts;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import io.cloudslang.score.lang.SystemContext;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.log4j.Logger;
@@ -37,10 +42,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static io.cloudslang.score.api.execution.ExecutionParametersConsts.EXECUTION_RUNTIME_SERVICES;
 
@@ -62,6 +71,20 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
     private static final Logger logger = Logger.getLogger(ParallelLoopExecutionData.class);
 
+    // names of python dict methods exposing all the variables of a branch
+    private static final Set<String> WHOLE_BRANCH_ACCESS_NAMES = new HashSet<>(Arrays.asList(
+            "keys", "values", "items", "iterkeys", "itervalues", "iteritems", "viewkeys", "viewvalues", "viewitems", "copy"));
+
+    // applies to parallel loops not setting their own max parallelism, 0 for no limit
+    private int defaultMaxParallelism =
+            Integer.getInteger(SlangSystemPropertyConstant.CSLANG_PARALLEL_LOOP_MAX_PARALLELISM.getValue(), 0);
+    // applies to parallel loops not setting their own chunk size, 1 for a branch per item
+    private int defaultChunkSize =
+            Integer.getInteger(SlangSystemPropertyConstant.CSLANG_PARALLEL_LOOP_CHUNK_SIZE.getValue(), 1);
+    // when set, only the branch variables named in the publish expressions are kept when joining the branches
+    private boolean incrementalJoin =
+            Boolean.getBoolean(SlangSystemPropertyConstant.CSLANG_PARALLEL_LOOP_INCREMENTAL_JOIN.getValue());
+
     public void addBranches(@Param(ScoreLangConstants.PARALLEL_LOOP_STATEMENT_KEY) ParallelLoopStatement parallelLoopStatement,
                             @Param(ScoreLangConstants.RUN_ENV) RunEnvironment runEnv,
                             @Param(EXECUTION_RUNTIME_SERVICES) ExecutionRuntimeServices executionRuntimeServices,
@@ -69,56 +92,88 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                             @Param(ExecutionParametersConsts.RUNNING_EXECUTION_PLAN_ID) Long RUNNING_EXECUTION_PLAN_ID,
                             @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
                             @Param(ScoreLangConstants.BRANCH_BEGIN_STEP_ID_KEY) Long branchBeginStep,
+                            @Param(ScoreLangConstants.SPLIT_STEP_ID_KEY) Long splitStepId,
                             @Param(ScoreLangConstants.REF_ID) String refId) {
 
+        DecryptedValuesCache.open();
         try {
             Context flowContext = runEnv.getStack().popContext();
 
-            List<Value> splitData = parallelLoopBinding.bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
+            // a parallel loop with limited parallelism comes back here until all its items are branched
+            ParallelLoopState parallelLoopState = removeParallelLoopState(flowContext);
+            List<Value> branchesItems;
+            if (parallelLoopState == null) {
+                List<Value> splitData = parallelLoopBinding.bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
+
+                fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_SPLIT_BRANCHES,
+                        "parallel loop expression bound", runEnv.getExecutionPath().getCurrentPath(),
+                        LanguageEventData.StepType.STEP, nodeName,
+                        Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
 
-            fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_SPLIT_BRANCHES,
-                    "parallel loop expression bound", runEnv.getExecutionPath().getCurrentPath(),
-                    LanguageEventData.StepType.STEP, nodeName,
-                    Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+                runEnv.getExecutionPath().down();
+
+                // each branch runs a chunk of items, so a round of branches takes max parallelism chunks
+                int roundSize = getMaxParallelism(parallelLoopStatement) * getChunkSize(parallelLoopStatement);
+                if (roundSize > 0 && splitData.size() > roundSize && splitStepId != null) {
+                    parallelLoopState = new ParallelLoopState(splitData, roundSize, splitStepId);
+                    branchesItems = parallelLoopState.nextRound();
+                } else {
+                    branchesItems = splitData;
+                }
+            } else {
+                branchesItems = parallelLoopState.nextRound();
+            }
 
             runEnv.putNextStepPosition(nextStepId);
-            runEnv.getExecutionPath().down();
 
-            for (Value splitItem : splitData) {
+            for (List<Value> chunkItems : Lists.partition(branchesItems, getChunkSize(parallelLoopStatement))) {
 
-                // first fire event
-                fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_BRANCH_START,
-                        "parallel loop branch created", runEnv.getExecutionPath().getCurrentPath(),
-                        LanguageEventData.StepType.STEP, nodeName, Pair.of(ScoreLangConstants.REF_ID, refId),
-                        Pair.of(RuntimeConstants.SPLIT_ITEM_KEY, splitItem));
                 // take path down one level
                 runEnv.getExecutionPath().down();
 
-                RunEnvironment branchRuntimeEnvironment = (RunEnvironment) SerializationUtils.clone(runEnv);
-                branchRuntimeEnvironment.resetStacks();
+                RunEnvironment branchRuntimeEnvironment = runEnv.createBranchRunEnvironment();
 
-                Context branchContext = (Context) SerializationUtils.clone(flowContext);
-                branchContext.putVariable(parallelLoopStatement.getVarName(), splitItem);
+                // take path up level
+                runEnv.getExecutionPath().up();
+
+                Context branchContext = flowContext.fork();
+                if (chunkItems.size() == 1) {
+                    branchContext.putVariable(parallelLoopStatement.getVarName(), chunkItems.get(0));
+                } else {
+                    // the items are assigned one after the other by the branch steps
+                    ParallelLoopChunk parallelLoopChunk =
+                            new ParallelLoopChunk(parallelLoopStatement.getVarName(), chunkItems, flowContext.fork());
+                    branchContext.putLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY, ValueFactory.create(parallelLoopChunk));
+                }
                 updateCallArgumentsAndPushContextToStack(branchRuntimeEnvironment,
                         branchContext, new HashMap<String, Value>());
 
+                for (Value splitItem : chunkItems) {
+                    fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_BRANCH_START,
+                            "parallel loop branch created", runEnv.getExecutionPath().getCurrentPath(),
+                            LanguageEventData.StepType.STEP, nodeName, Pair.of(ScoreLangConstants.REF_ID, refId),
+                            Pair.of(RuntimeConstants.SPLIT_ITEM_KEY, splitItem));
+
+                    // forward for next item
+                    runEnv.getExecutionPath().forward();
+                }
+
                 createBranch(
                         branchRuntimeEnvironment,
                         executionRuntimeServices,
                         refId,
                         branchBeginStep);
-
-                // take path up level
-                runEnv.getExecutionPath().up();
-
-                // forward for next branch
-                runEnv.getExecutionPath().forward();
             }
 
+            if (parallelLoopState != null) {
+                flowContext.putLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY, ValueFactory.create(parallelLoopState));
+            }
             updateCallArgumentsAndPushContextToStack(runEnv, flowContext, new HashMap<String, Value>());
         } catch (RuntimeException e) {
             logger.error("There was an error running the add branches execution step of: \'" + nodeName + "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: " + nodeName + ": " + e.getMessage(), e);
+        } finally {
+            DecryptedValuesCache.close();
         }
 
     }
@@ -128,12 +183,24 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                              @Param(ScoreLangConstants.STEP_PUBLISH_KEY) List<Output> stepPublishValues,
                              @Param(ScoreLangConstants.STEP_NAVIGATION_KEY) Map<String, ResultNavigation> stepNavigationValues,
                              @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName) {
+        DecryptedValuesCache.open();
         try {
-            runEnv.getExecutionPath().up();
-            List<Map<String, Serializable>> branchesContext = Lists.newArrayList();
             Context flowContext = runEnv.getStack().popContext();
-
-            collectBranchesData(executionRuntimeServices, nodeName, branchesContext);
+            ParallelLoopState parallelLoopState = removeParallelLoopState(flowContext);
+            List<Map<String, Value>> branchesContext = parallelLoopState == null ?
+                    Lists.<Map<String, Value>>newArrayList() : parallelLoopState.getBranchesContext();
+
+            Set<String> retainedVariables = incrementalJoin ? getPublishedBranchVariables(stepPublishValues) : null;
+            collectBranchesData(executionRuntimeServices, nodeName, branchesContext, retainedVariables);
+
+            if (parallelLoopState != null && parallelLoopState.hasMore()) {
+                // create the next round of branches
+                flowContext.putLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY, ValueFactory.create(parallelLoopState));
+                runEnv.getStack().pushContext(flowContext);
+                runEnv.putNextStepPosition(parallelLoopState.getSplitStepId());
+                return;
+            }
+            runEnv.getExecutionPath().up();
 
             Map<String, Value> publishValues =
                     bindPublishValues(
@@ -156,6 +223,8 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the joinBranches execution step of: \'" + nodeName + "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\': \n" + e.getMessage(), e);
+        } finally {
+            DecryptedValuesCache.close();
         }
     }
 
@@ -189,11 +258,11 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         runEnv.putNextStepPosition(nextStepPosition);
     }
 
-    private String getParallelLoopResult(List<Map<String, Serializable>> branchesContext) {
+    private String getParallelLoopResult(List<Map<String, Value>> branchesContext) {
         // if one of the branches failed then return with FAILURE, otherwise return with SUCCESS
         String parallelLoopResult = ScoreLangConstants.SUCCESS_RESULT;
-        for (Map<String, Serializable> branchContext : branchesContext) {
-            String branchResult = (String) branchContext.get(ScoreLangConstants.BRANCH_RESULT_KEY);
+        for (Map<String, Value> branchContext : branchesContext) {
+            String branchResult = (String) branchContext.get(ScoreLangConstants.BRANCH_RESULT_KEY).get();
             if (branchResult.equals(ScoreLangConstants.FAILURE_RESULT)) {
                 parallelLoopResult = ScoreLangConstants.FAILURE_RESULT;
                 break;
@@ -208,10 +277,14 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             List<Output> stepPublishValues,
             Map<String, ResultNavigation> stepNavigationValues,
             String nodeName,
-            List<Map<String, Serializable>> branchesContext) {
+            List<Map<String, Value>> branchesContext) {
 
+        List<Map<String, Serializable>> branchesContextContents = new ArrayList<>(branchesContext.size());
+        for (Map<String, Value> branchContext : branchesContext) {
+            branchesContextContents.add(convert(branchContext));
+        }
         Map<String, Value> publishContext = new HashMap<>();
-        publishContext.put(RuntimeConstants.BRANCHES_CONTEXT_KEY, ValueFactory.create((Serializable) branchesContext));
+        publishContext.put(RuntimeConstants.BRANCHES_CONTEXT_KEY, ValueFactory.create((Serializable) branchesContextContents));
 
         fireEvent(
                 executionRuntimeServices,
@@ -229,10 +302,33 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         );
     }
 
+    /**
+     * @return the names of the branch variables the publish expressions may read, or null if they may read any variable
+     */
+    private Set<String> getPublishedBranchVariables(List<Output> stepPublishValues) {
+        Set<String> names = new HashSet<>();
+        if (stepPublishValues == null) {
+            return names;
+        }
+        for (Output output : stepPublishValues) {
+            String expression = output.getValue() == null ? null : ExpressionUtils.extractExpression(output.getValue().get());
+            if (expression == null) {
+                continue;
+            }
+            Set<String> expressionNames = ExpressionNamesScanner.findNamesAndStringLiterals(expression);
+            if (expressionNames == null || !Collections.disjoint(expressionNames, WHOLE_BRANCH_ACCESS_NAMES)) {
+                return null;
+            }
+            names.addAll(expressionNames);
+        }
+        return names;
+    }
+
     private void collectBranchesData(
             ExecutionRuntimeServices executionRuntimeServices,
             String nodeName,
-            List<Map<String, Serializable>> branchesContext) {
+            List<Map<String, Value>> branchesContext,
+            Set<String> retainedVariables) {
 
         List<EndBranchDataContainer> branches = executionRuntimeServices.getFinishedChildBranchesData();
         for (EndBranchDataContainer branch : branches) {
@@ -240,21 +336,55 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
             Map<String, Serializable> branchContext = branch.getContexts();
             RunEnvironment branchRuntimeEnvironment = (RunEnvironment) branchContext.get(ScoreLangConstants.RUN_ENV);
-            Map<String, Serializable> branchContextMap =
-                    convert(branchRuntimeEnvironment.getStack().popContext().getImmutableViewOfVariables());
+            Context branchFlowContext = branchRuntimeEnvironment.getStack().popContext();
             ReturnValues executableReturnValues = branchRuntimeEnvironment.removeReturnValues();
-            String branchResult = executableReturnValues.getResult();
-            branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, branchResult);
-            branchesContext.add(branchContextMap);
 
             // up branch path
             branchRuntimeEnvironment.getExecutionPath().up();
 
-            fireEvent(executionRuntimeServices, branchRuntimeEnvironment, ScoreLangConstants.EVENT_BRANCH_END,
-                    "Parallel loop branch ended", LanguageEventData.StepType.STEP, nodeName,
-                    Pair.of(RuntimeConstants.BRANCH_RETURN_VALUES_KEY, executableReturnValues)
-            );
+            Value parallelLoopChunk = branchFlowContext.getLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY);
+            if (parallelLoopChunk == null) {
+                addBranchData(branchesContext, branchFlowContext.getImmutableViewOfVariables(),
+                        executableReturnValues.getResult(), retainedVariables);
+                fireEvent(executionRuntimeServices, branchRuntimeEnvironment, ScoreLangConstants.EVENT_BRANCH_END,
+                        "Parallel loop branch ended", LanguageEventData.StepType.STEP, nodeName,
+                        Pair.of(RuntimeConstants.BRANCH_RETURN_VALUES_KEY, executableReturnValues)
+                );
+            } else {
+                // a branch which ran a chunk of items ends once for each of its items
+                ParallelLoopChunk chunk = (ParallelLoopChunk) parallelLoopChunk.get();
+                List<ReturnValues> itemsReturnValues = chunk.getItemsReturnValues();
+                for (int i = 0; i < itemsReturnValues.size(); i++) {
+                    ReturnValues itemReturnValues = itemsReturnValues.get(i);
+                    addBranchData(branchesContext, itemReturnValues.getOutputs(), itemReturnValues.getResult(), retainedVariables);
+                    fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_BRANCH_END,
+                            "Parallel loop branch ended", chunk.getItemsPaths().get(i),
+                            LanguageEventData.StepType.STEP, nodeName,
+                            Pair.of(RuntimeConstants.BRANCH_RETURN_VALUES_KEY, itemReturnValues)
+                    );
+                }
+            }
+        }
+    }
+
+    private void addBranchData(
+            List<Map<String, Value>> branchesContext,
+            Map<String, Value> branchVariables,
+            String branchResult,
+            Set<String> retainedVariables) {
+        Map<String, Value> branchContextMap;
+        if (retainedVariables == null) {
+            branchContextMap = new HashMap<>(branchVariables);
+        } else {
+            branchContextMap = new HashMap<>(retainedVariables.size());
+            for (Map.Entry<String, Value> entry : branchVariables.entrySet()) {
+                if (retainedVariables.contains(entry.getKey())) {
+                    branchContextMap.put(entry.getKey(), entry.getValue());
+                }
+            }
         }
+        branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, ValueFactory.create(branchResult));
+        branchesContext.add(branchContextMap);
     }
 
     private void checkExceptionInBranch(EndBranchDataContainer branch) {
@@ -272,6 +402,29 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         }
     }
 
+    void setIncrementalJoin(boolean incrementalJoin) {
+        this.incrementalJoin = incrementalJoin;
+    }
+
+    private ParallelLoopState removeParallelLoopState(Context flowContext) {
+        Value parallelLoopState = flowContext.removeLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY);
+        return parallelLoopState == null ? null : (ParallelLoopState) parallelLoopState.get();
+    }
+
+    private int getMaxParallelism(ParallelLoopStatement parallelLoopStatement) {
+        int maxParallelism = parallelLoopStatement.getMaxParallelism();
+        return maxParallelism > 0 ? maxParallelism : defaultMaxParallelism;
+    }
+
+    private int getChunkSize(ParallelLoopStatement parallelLoopStatement) {
+        int chunkSize = parallelLoopStatement.getChunkSize();
+        return chunkSize > 0 ? chunkSize : Math.max(defaultChunkSize, 1);
+    }
+
+    void setDefaultChunkSize(int defaultChunkSize) {
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
     private void createBranch(RunEnvironment runEnv,
                               ExecutionRuntimeServices executionRuntimeServices,
                               String refId,
@@ -12,6 +12,7 @@ package io.cloudslang.lang.runtime.steps;
 import com.hp.oo.sdk.content.annotations.Param;
 import io.cloudslang.lang.entities.*;
 import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.values.DecryptedValuesCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.ArgumentsBinding;
@@ -67,6 +68,7 @@ public class StepExecutionData extends AbstractExecutionData {
                           @Param(ExecutionParametersConsts.RUNNING_EXECUTION_PLAN_ID) Long RUNNING_EXECUTION_PLAN_ID,
                           @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
                           @Param(ScoreLangConstants.REF_ID) String refId) {
+        DecryptedValuesCache.open();
         try {
 
             fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_STEP_START,
@@ -101,6 +103,12 @@ public class StepExecutionData extends AbstractExecutionData {
                         loopsBinding.incrementMapForLoop(keyName, valueName, flowContext, forLoopCondition);
                     }
                 }
+            } else {
+                // a branch running a chunk of parallel loop items
+                ParallelLoopChunk parallelLoopChunk = getParallelLoopChunk(flowContext);
+                if (parallelLoopChunk != null) {
+                    flowContext.putVariable(parallelLoopChunk.getVarName(), parallelLoopChunk.nextItem());
+                }
             }
 
             Map<String, Value> flowVariables = flowContext.getImmutableViewOfVariables();
@@ -135,6 +143,8 @@ public class StepExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the beginStep execution step of: \'" + nodeName + "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: " + nodeName + ": " + e.getMessage(), e);
+        } finally {
+            DecryptedValuesCache.close();
         }
     }
 
@@ -152,6 +162,7 @@ public class StepExecutionData extends AbstractExecutionData {
                         @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
                         @Param(ScoreLangConstants.PARALLEL_LOOP_KEY) boolean parallelLoop) {
 
+        DecryptedValuesCache.open();
         try {
             Context flowContext = runEnv.getStack().popContext();
 
@@ -179,6 +190,14 @@ public class StepExecutionData extends AbstractExecutionData {
             }
             flowContext.putVariables(publishValues);
 
+            if (parallelLoop) {
+                ParallelLoopChunk parallelLoopChunk = getParallelLoopChunk(flowContext);
+                if (parallelLoopChunk != null && runNextChunkItem(runEnv, executionRuntimeServices, flowContext,
+                        parallelLoopChunk, executableReturnValues, publishValues, previousStepId, nodeName)) {
+                    return;
+                }
+            }
+
             //loops
             Map<String, Value> langVariables = flowContext.getImmutableViewOfLanguageVariables();
             if (langVariables.containsKey(LoopCondition.LOOP_CONDITION_KEY)) {
@@ -231,6 +250,8 @@ public class StepExecutionData extends AbstractExecutionData {
         } catch (RuntimeException e) {
             logger.error("There was an error running the endStep execution step of: \'" + nodeName + "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\': " + e.getMessage(), e);
+        } finally {
+            DecryptedValuesCache.close();
         }
     }
 
@@ -247,6 +268,49 @@ public class StepExecutionData extends AbstractExecutionData {
                 Pair.of(LanguageEventData.NEXT_STEP_POSITION, nextPosition));
     }
 
+    /**
+     * Keeps the result of the item that finished and, if the chunk has more items,
+     * sends the branch back to the step for the next item.
+     *
+     * @return true if the branch goes on with the next item
+     */
+    private boolean runNextChunkItem(RunEnvironment runEnv,
+                                     ExecutionRuntimeServices executionRuntimeServices,
+                                     Context flowContext,
+                                     ParallelLoopChunk parallelLoopChunk,
+                                     ReturnValues executableReturnValues,
+                                     Map<String, Value> publishValues,
+                                     Long previousStepId,
+                                     String nodeName) {
+        ExecutionPath executionPath = runEnv.getExecutionPath();
+        ReturnValues itemReturnValues = new ReturnValues(
+                new HashMap<>(flowContext.getImmutableViewOfVariables()), executableReturnValues.getResult());
+        parallelLoopChunk.addItemResult(executionPath.getParentPath(), itemReturnValues);
+        if (!parallelLoopChunk.hasMore()) {
+            return false;
+        }
+
+        // every item starts from the variables the branch started with
+        Context itemContext = parallelLoopChunk.createItemContext();
+        itemContext.putLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY,
+                flowContext.getLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY));
+        runEnv.putNextStepPosition(previousStepId);
+        runEnv.getStack().pushContext(itemContext);
+        throwEventOutputEnd(runEnv, executionRuntimeServices, nodeName, publishValues, previousStepId,
+                new ReturnValues(publishValues, executableReturnValues.getResult()));
+
+        // the next item gets the path it would have had in a branch of its own
+        executionPath.up();
+        executionPath.forward();
+        executionPath.down();
+        return true;
+    }
+
+    private ParallelLoopChunk getParallelLoopChunk(Context flowContext) {
+        Value parallelLoopChunk = flowContext.getLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY);
+        return parallelLoopChunk == null ? null : (ParallelLoopChunk) parallelLoopChunk.get();
+    }
+
     private boolean shouldBreakLoop(List<String> breakOn, ReturnValues executableReturnValues) {
         return breakOn.contains(executableReturnValues.getResult());
     }
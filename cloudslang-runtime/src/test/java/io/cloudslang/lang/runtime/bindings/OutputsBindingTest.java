@@ -57,6 +57,9 @@ public class OutputsBindingTest {
     @Autowired
     private OutputsBinding outputsBinding;
 
+    @Autowired
+    private ScriptEvaluator scriptEvaluator;
+
     @Test(timeout = DEFAULT_TIMEOUT)
     public void testOperationEmptyOutputs() {
         Map<String, Value> operationContext = new HashMap<>();
@@ -176,6 +179,44 @@ public class OutputsBindingTest {
         Assert.assertEquals("Binding results are not as expected", expectedOutputs, result);
     }
 
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOutputsEvaluatedInOneBatchSeeEarlierOutputs() {
+        Map<String, Value> operationContext = prepareOperationContext();
+        Map<String, Value> actionReturnValues = prepareActionReturnValues();
+        List<Output> outputs = Arrays.asList(
+                createExpressionOutput("address", "${ hostExpr + ':' + str(port) }"),
+                createNoExpressionOutput("host2"),
+                createExpressionOutput("url", "${ 'http://' + address }"),
+                createExpressionOutput("previous", "${ str(previous) }"));
+        long batchEvaluationsBefore = scriptEvaluator.getBatchEvaluationsCount();
+
+        Map<String, Value> result = outputsBinding.bindOutputs(operationContext, actionReturnValues, EMPTY_SET, outputs);
+
+        Assert.assertEquals(batchEvaluationsBefore + 1, scriptEvaluator.getBatchEvaluationsCount());
+        Assert.assertEquals(Lists.newArrayList("address", "host2", "url", "previous"), Lists.newArrayList(result.keySet()));
+        Assert.assertEquals(ValueFactory.create("hostExpr:9999"), result.get("address"));
+        Assert.assertEquals(ValueFactory.create("valueHost2"), result.get("host2"));
+        Assert.assertEquals(ValueFactory.create("http://hostExpr:9999"), result.get("url"));
+        Assert.assertEquals(ValueFactory.create("None"), result.get("previous"));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOutputFailingInBatchIsReported() {
+        Map<String, Value> operationContext = prepareOperationContext();
+        Map<String, Value> actionReturnValues = prepareActionReturnValues();
+        List<Output> outputs = Arrays.asList(
+                createExpressionOutput("address", "${ hostExpr + ':' + str(port) }"),
+                createExpressionOutput("broken", "${ address + port }"),
+                createExpressionOutput("url", "${ 'http://' + address }"));
+
+        try {
+            outputsBinding.bindOutputs(operationContext, actionReturnValues, EMPTY_SET, outputs);
+            Assert.fail("the broken output should not be bound");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Error binding output: 'broken'"));
+        }
+    }
+
     private Map<String, Value> prepareOperationContext() {
         Map<String, Value> operationContext = new HashMap<>();
         operationContext.put("operationContextKey1", ValueFactory.create("opContextValue1"));
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScopeMapTest {
+
+    @Test
+    public void testUpperLayersHideLowerLayers() {
+        Map<String, String> base = createMap("a", "base", "b", "base", "c", "base");
+        Map<String, String> bound = createMap("a", "bound");
+
+        Map<String, String> scope = ScopeMap.of(base, bound, "b", "override");
+
+        assertEquals("bound", scope.get("a"));
+        assertEquals("override", scope.get("b"));
+        assertEquals("base", scope.get("c"));
+        assertNull(scope.get("d"));
+        assertFalse(scope.containsKey("d"));
+    }
+
+    @Test
+    public void testNullValuesHideLowerLayers() {
+        Map<String, String> base = createMap("a", "base");
+        Map<String, String> bound = createMap("b", null);
+
+        Map<String, String> scope = ScopeMap.of(base, bound, "a", null);
+
+        assertTrue(scope.containsKey("a"));
+        assertNull(scope.get("a"));
+        assertTrue(scope.containsKey("b"));
+    }
+
+    @Test
+    public void testBoundValuesAreSeenWithoutCopying() {
+        Map<String, String> base = createMap("a", "base");
+        Map<String, String> bound = new HashMap<>();
+        Map<String, String> scope = ScopeMap.of(base, bound);
+
+        bound.put("a", "bound");
+        bound.put("b", "bound");
+
+        assertEquals("bound", scope.get("a"));
+        assertEquals(2, scope.size());
+    }
+
+    @Test
+    public void testEntriesAreMerged() {
+        Map<String, String> base = createMap("a", "base", "b", "base", "c", "base");
+        Map<String, String> bound = createMap("a", "bound", "d", "bound");
+
+        Map<String, String> scope = ScopeMap.of(base, bound, "b", "override");
+
+        Map<String, String> expected = createMap("a", "bound", "b", "override", "c", "base");
+        expected.put("d", "bound");
+        assertEquals(expected, new HashMap<>(scope));
+        assertEquals(4, scope.size());
+        assertEquals(expected, scope);
+    }
+
+    @Test
+    public void testEmptyLayers() {
+        Map<String, String> scope = ScopeMap.of(new HashMap<String, String>(), new HashMap<String, String>());
+
+        assertTrue(scope.isEmpty());
+        assertFalse(scope.entrySet().iterator().hasNext());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        ScopeMap.of(createMap("a", "base"), new HashMap<String, String>()).put("a", "value");
+    }
+
+    private Map<String, String> createMap(String... keysAndValues) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+* (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Apache License v2.0 which accompany this distribution.
+*
+* The Apache License is available at
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+*******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.dependency.api.services.DependencyService;
+import io.cloudslang.dependency.api.services.MavenConfig;
+import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
+import io.cloudslang.dependency.impl.services.MavenConfigImpl;
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.encryption.DummyEncryptor;
+import io.cloudslang.lang.entities.encryption.EncryptionProvider;
+import io.cloudslang.lang.entities.utils.ApplicationContextProvider;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
+import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
+import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
+import io.cloudslang.runtime.impl.python.PythonRuntimeServiceImpl;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates lists of values both in one batch and one by one,
+ * and checks both give the same values with the same sensitivity.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = ExpressionBatchTest.Config.class)
+public class ExpressionBatchTest {
+
+    private static final Set<SystemProperty> SYSTEM_PROPERTIES = new HashSet<>();
+
+    @Autowired
+    private ScriptEvaluator scriptEvaluator;
+
+    @After
+    public void tearDown() {
+        scriptEvaluator.setBatchEvaluationEnabled(true);
+    }
+
+    @BeforeClass
+    @AfterClass
+    public static void resetEncryptor() throws Exception {
+        // the encryptor is kept once found, make sure this test and the ones after it find their own
+        Field encryptor = EncryptionProvider.class.getDeclaredField("encryptor");
+        encryptor.setAccessible(true);
+        ((AtomicReference<?>) encryptor.get(null)).set(null);
+    }
+
+    @Test
+    public void testBatchConformsToSingleEvaluations() {
+        List<Output> outputs = Arrays.asList(
+                createOutput("from_secret", "${ secret + '_x' }"),
+                createOutput("plain", "${ str_var.upper() }"),
+                createOutput("from_output", "${ from_secret + '!' }"),
+                createOutput("secret_again", "${ secret.upper() }"),
+                createOutput("plain_again", "${ plain + str(int_var) }"),
+                new Output("literal", ValueFactory.create("literal_value")),
+                createOutput("unbound", "${ unbound }"),
+                new Output("sensitive_output", ValueFactory.create("${ str_var + '1' }", true)));
+        long batchEvaluationsBefore = scriptEvaluator.getBatchEvaluationsCount();
+
+        List<Value> batchValues = scriptEvaluator.evalBatch(outputs, createContext(), SYSTEM_PROPERTIES);
+
+        Assert.assertEquals(batchEvaluationsBefore + 1, scriptEvaluator.getBatchEvaluationsCount());
+        Assert.assertEquals(evaluateOneByOne(outputs), describe(batchValues));
+        Assert.assertEquals(Arrays.asList(true, false, true, true, false, false, false, true), sensitivities(batchValues));
+    }
+
+    @Test
+    public void testBatchStopsAtFailingValue() {
+        List<Output> outputs = Arrays.asList(
+                createOutput("first", "${ str_var.upper() }"),
+                createOutput("broken", "${ first + int_var }"),
+                createOutput("last", "${ first.lower() }"));
+        long batchEvaluationsBefore = scriptEvaluator.getBatchEvaluationsCount();
+
+        List<Value> batchValues = scriptEvaluator.evalBatch(outputs, createContext(), SYSTEM_PROPERTIES);
+
+        Assert.assertEquals(1, batchValues.size());
+        Assert.assertEquals(ValueFactory.create("VALUE"), batchValues.get(0));
+        Assert.assertEquals(batchEvaluationsBefore, scriptEvaluator.getBatchEvaluationsCount());
+    }
+
+    @Test
+    public void testBatchEndsWithListComprehension() {
+        List<Output> outputs = Arrays.asList(
+                createOutput("first", "${ str_var.upper() }"),
+                createOutput("upper_letters", "${ [x.upper() for x in letters] }"),
+                createOutput("from_context", "${ x + '!' }"),
+                createOutput("last", "${ str_var.lower() }"));
+
+        List<Value> batchValues = scriptEvaluator.evalBatch(outputs, createContext(), SYSTEM_PROPERTIES);
+
+        List<String> expectedValues = evaluateOneByOne(outputs);
+        Assert.assertEquals("String context_x!", expectedValues.get(2));
+        Assert.assertEquals(expectedValues.subList(0, 2), describe(batchValues));
+    }
+
+    @Test
+    public void testSingleInterpreterExpressionIsNotBatched() {
+        List<Output> outputs = Arrays.asList(
+                createOutput("simple", "${ str_var }"),
+                createOutput("other", "${ str_var.upper() }"));
+
+        Assert.assertTrue(scriptEvaluator.evalBatch(outputs, createContext(), SYSTEM_PROPERTIES).isEmpty());
+    }
+
+    @Test
+    public void testDisabledBatchBindsNothing() {
+        scriptEvaluator.setBatchEvaluationEnabled(false);
+        List<Output> outputs = Arrays.asList(
+                createOutput("first", "${ str_var.upper() }"),
+                createOutput("second", "${ str_var.lower() }"));
+
+        Assert.assertTrue(scriptEvaluator.evalBatch(outputs, createContext(), SYSTEM_PROPERTIES).isEmpty());
+    }
+
+    private List<String> evaluateOneByOne(List<Output> outputs) {
+        Map<String, Value> context = createContext();
+        List<Value> values = new ArrayList<>();
+        for (Output output : outputs) {
+            Value value = output.getValue();
+            String expression = ExpressionUtils.extractExpression(value.get());
+            if (expression != null) {
+                context.put(output.getName(), context.get(output.getName()));
+                Value evaluatedValue = scriptEvaluator.evalExpr(expression, context, SYSTEM_PROPERTIES,
+                        output.getFunctionDependencies());
+                value = ValueFactory.create(evaluatedValue, value.isSensitive());
+            }
+            values.add(value);
+            context.put(output.getName(), value);
+        }
+        return describe(values);
+    }
+
+    private List<String> describe(List<Value> values) {
+        List<String> descriptions = new ArrayList<>();
+        for (Value value : values) {
+            Object content = value.get();
+            descriptions.add((content == null ? "null" : content.getClass().getSimpleName() + " " + content) +
+                    (value.isSensitive() ? " (sensitive)" : ""));
+        }
+        return descriptions;
+    }
+
+    private List<Boolean> sensitivities(List<Value> values) {
+        List<Boolean> sensitivities = new ArrayList<>();
+        for (Value value : values) {
+            sensitivities.add(value.isSensitive());
+        }
+        return sensitivities;
+    }
+
+    private Output createOutput(String name, String expression) {
+        return new Output(name, ValueFactory.create(expression));
+    }
+
+    private Map<String, Value> createContext() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("str_var", ValueFactory.create("value"));
+        context.put("int_var", ValueFactory.create(5));
+        context.put("secret", ValueFactory.create("secret", true));
+        context.put("x", ValueFactory.create("context_x"));
+        context.put("letters", ValueFactory.create(new ArrayList<>(Arrays.asList("a", "b"))));
+        return context;
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        public ScriptEvaluator scriptEvaluator() {
+            return new ScriptEvaluator();
+        }
+
+        @Bean
+        public DependencyService mavenRepositoryService() {
+            return new DependencyServiceImpl();
+        }
+
+        @Bean
+        public MavenConfig mavenConfig() {
+            return new MavenConfigImpl();
+        }
+
+        @Bean
+        public PythonRuntimeService pythonRuntimeService() {
+            return new PythonRuntimeServiceImpl();
+        }
+
+        @Bean
+        public PythonExecutionEngine pythonExecutionEngine() {
+            return new PythonExecutionCachedEngine();
+        }
+
+        @Bean
+        public ApplicationContextProvider applicationContextProvider() {
+            return new ApplicationContextProvider();
+        }
+
+        @Bean
+        public DummyEncryptor dummyEncryptor() {
+            return new DummyEncryptor();
+        }
+    }
+}
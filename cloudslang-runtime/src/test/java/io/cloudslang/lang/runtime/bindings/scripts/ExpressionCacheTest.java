@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import org.junit.Test;
+import org.python.google.common.collect.Sets;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExpressionCacheTest {
+
+    private static final Set<ScriptFunction> NO_FUNCTIONS = Collections.emptySet();
+
+    @Test
+    public void testKeyIncludesFunctionDependencies() {
+        ExpressionCache expressionCache = new ExpressionCache();
+        PreparedExpression withGet = new PreparedExpression("x", "def get()", false, null);
+        expressionCache.put("x", Sets.newHashSet(ScriptFunction.GET), withGet);
+
+        assertNull(expressionCache.get("x", NO_FUNCTIONS));
+        assertSame(withGet, expressionCache.get("x", Sets.newHashSet(ScriptFunction.GET)));
+        assertNull(expressionCache.get("x", Sets.newHashSet(ScriptFunction.GET, ScriptFunction.CHECK_EMPTY)));
+        assertEquals(1, expressionCache.getHitCount());
+        assertEquals(2, expressionCache.getMissCount());
+    }
+
+    @Test
+    public void testFunctionDependenciesOrderDoesNotMatter() {
+        ExpressionCache expressionCache = new ExpressionCache();
+        PreparedExpression preparedExpression = new PreparedExpression("x", "", false, null);
+        expressionCache.put("x", new LinkedHashSet<>(Arrays.asList(ScriptFunction.CHECK_EMPTY, ScriptFunction.GET)), preparedExpression);
+
+        assertSame(preparedExpression, expressionCache.get("x", new LinkedHashSet<>(Arrays.asList(ScriptFunction.GET, ScriptFunction.CHECK_EMPTY))));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        ExpressionCache expressionCache = new ExpressionCache(10);
+        for (int i = 0; i < 25; i++) {
+            String expression = "x + " + i;
+            expressionCache.put(expression, NO_FUNCTIONS, new PreparedExpression(expression, "", false, null));
+        }
+
+        assertTrue(expressionCache.size() <= 10);
+        assertEquals(25 - expressionCache.size(), expressionCache.getEvictionCount());
+    }
+}
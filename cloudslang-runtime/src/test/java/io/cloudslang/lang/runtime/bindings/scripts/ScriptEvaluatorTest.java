@@ -17,6 +17,7 @@ import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import junit.framework.Assert;
@@ -34,6 +35,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.matchers.JUnitMatchers.containsString;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.isA;
@@ -41,6 +44,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -50,6 +54,9 @@ public class ScriptEvaluatorTest {
 
     private static String LINE_SEPARATOR = System.lineSeparator();
     private static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
+    private static final String COMPILED_EXPRESSION = "__compiled_expression__";
+    private static final String COMPILED_FUNCTIONS = "__compiled_functions__";
+    private static final String EVAL_COMPILED_EXPRESSION = "eval(" + COMPILED_EXPRESSION + ")";
     private static final String GET_FUNCTION_DEFINITION =
             "def get(key, default_value=None):" + LINE_SEPARATOR +
                     "  value = globals().get(key)" + LINE_SEPARATOR +
@@ -93,6 +100,17 @@ public class ScriptEvaluatorTest {
         scriptEvaluator.evalExpr("input_expression", new HashMap<String, Value>(), new HashSet<SystemProperty>());
     }
 
+    @Test
+    public void testEvalCompiledExpressionErrorShowsExpression() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), anyMap())).thenThrow(new RuntimeException(
+                "Error in running script expression: 'eval(__compiled_expression__)',\n\tException is: name 'a' is not defined"));
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Exception is: Error in running script expression: 'a + 1',\n\tException is: name 'a' is not defined");
+        exception.expectMessage(not(containsString("__compiled_expression__")));
+        scriptEvaluator.evalExpr("a + 1", new HashMap<String, Value>(), new HashSet<SystemProperty>());
+    }
+
     @Test
     public void testEvalFunctions() throws Exception {
         reset(pythonRuntimeService);
@@ -134,6 +152,106 @@ public class ScriptEvaluatorTest {
         Assert.assertEquals(expectedFunctions, actualFunctions);
     }
 
+    @Test
+    public void testEvalExprReusesPreparedExpression() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        ExpressionCache expressionCache = scriptEvaluator.getExpressionCache();
+        expressionCache.invalidateAll();
+        long hitsBefore = expressionCache.getHitCount();
+        long missesBefore = expressionCache.getMissCount();
+
+        Set<ScriptFunction> functionDependencies = Sets.newHashSet(ScriptFunction.GET);
+        scriptEvaluator.evalExpr("get('a', 'b') + 'c'", new HashMap<String, Value>(), new HashSet<SystemProperty>(), functionDependencies);
+        scriptEvaluator.evalExpr("get('a', 'b') + 'c'", new HashMap<String, Value>(), new HashSet<SystemProperty>(), functionDependencies);
+        scriptEvaluator.evalExpr("get('a', 'b') + 'c'", new HashMap<String, Value>(), new HashSet<SystemProperty>());
+
+        Assert.assertEquals(1, expressionCache.getHitCount() - hitsBefore);
+        Assert.assertEquals(2, expressionCache.getMissCount() - missesBefore);
+        Assert.assertEquals(2, expressionCache.size());
+        ArgumentCaptor<Map> pythonContextCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(pythonRuntimeService, times(2)).eval(eq("exec " + COMPILED_FUNCTIONS), eq(EVAL_COMPILED_EXPRESSION),
+                pythonContextCaptor.capture());
+        verify(pythonRuntimeService).eval(eq(""), eq(EVAL_COMPILED_EXPRESSION), pythonContextCaptor.capture());
+        List<Map> pythonContexts = pythonContextCaptor.getAllValues();
+        Assert.assertSame(pythonContexts.get(0).get(COMPILED_EXPRESSION), pythonContexts.get(1).get(COMPILED_EXPRESSION));
+        Assert.assertSame(pythonContexts.get(0).get(COMPILED_FUNCTIONS), pythonContexts.get(1).get(COMPILED_FUNCTIONS));
+        Assert.assertNotNull(pythonContexts.get(2).get(COMPILED_EXPRESSION));
+        Assert.assertFalse(pythonContexts.get(2).containsKey(COMPILED_FUNCTIONS));
+    }
+
+    @Test
+    public void testEvalExprVariableNamedEvalGetsExpressionText() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("eval", ValueFactory.create("value"));
+
+        scriptEvaluator.evalExpr("eval + 'x'", context, new HashSet<SystemProperty>());
+
+        verify(pythonRuntimeService).eval(eq(""), eq("eval + 'x'"), anyMap());
+    }
+
+    @Test
+    public void testEvalExprConvertsOnlyReferencedVariables() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        PythonContextStatistics statistics = scriptEvaluator.getPythonContextStatistics();
+        statistics.reset();
+        Map<String, Value> context = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            context.put("var" + i, ValueFactory.create("value" + i));
+        }
+        ArgumentCaptor<Map> pythonContextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("var1 + get('var2', 'default')", context, new HashSet<SystemProperty>(),
+                Sets.newHashSet(ScriptFunction.GET));
+
+        verify(pythonRuntimeService).eval(anyString(), anyString(), pythonContextCaptor.capture());
+        Assert.assertEquals(Sets.newHashSet("var1", "var2", COMPILED_EXPRESSION, COMPILED_FUNCTIONS), pythonContextCaptor.getValue().keySet());
+        Assert.assertEquals(1, statistics.getContextCount());
+        Assert.assertEquals(2, statistics.getConvertedCount());
+        Assert.assertEquals(198, statistics.getSkippedCount());
+    }
+
+    @Test
+    public void testEvalExprConvertsOnlyGivenVariableDependencies() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        context.put("upper", ValueFactory.create("value2"));
+        context.put("sep", ValueFactory.create("value3"));
+        ArgumentCaptor<Map> pythonContextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("var1.upper() + str(var1, sep='')", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>(), Sets.newHashSet("var1", "str"));
+
+        verify(pythonRuntimeService).eval(anyString(), anyString(), pythonContextCaptor.capture());
+        Assert.assertEquals(Sets.newHashSet("var1", COMPILED_EXPRESSION), pythonContextCaptor.getValue().keySet());
+    }
+
+    @Test
+    public void testEvalExprConvertsAllVariablesForDynamicAccess() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("name", ValueFactory.create("var1"));
+        context.put("var1", ValueFactory.create("value1"));
+        ArgumentCaptor<Map> pythonContextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("get(name)", context, new HashSet<SystemProperty>(), Sets.newHashSet(ScriptFunction.GET));
+
+        verify(pythonRuntimeService).eval(anyString(), anyString(), pythonContextCaptor.capture());
+        Assert.assertEquals(Sets.union(context.keySet(), Sets.newHashSet(COMPILED_EXPRESSION, COMPILED_FUNCTIONS)),
+                pythonContextCaptor.getValue().keySet());
+    }
+
     @Configuration
     static class Config {
         @Bean
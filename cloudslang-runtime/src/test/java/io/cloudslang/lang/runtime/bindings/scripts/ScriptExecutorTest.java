@@ -1,5 +1,9 @@
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import io.cloudslang.lang.entities.ActionType;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.dependency.api.services.DependencyService;
@@ -11,11 +15,14 @@ import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
 import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
 import io.cloudslang.runtime.impl.python.PythonExecutor;
 import io.cloudslang.runtime.impl.python.PythonRuntimeServiceImpl;
+import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.ExecutionStep;
 import junit.framework.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.python.core.PyCode;
 import org.python.core.PyObject;
 import org.python.core.PyStringMap;
 import org.python.util.PythonInterpreter;
@@ -26,7 +33,10 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -68,15 +78,67 @@ public class ScriptExecutorTest {
 
         verify(execInterpreter).set(eq("input1"), eq((Value)PyObjectValue1));
         verify(execInterpreter).set(eq("input2"), eq((Value)PyObjectValue2));
-        verify(execInterpreter).exec(script);
+        verify(execInterpreter).set(eq("__compiled_script__"), (Object) any(PyCode.class));
+        verify(execInterpreter).exec("exec __compiled_script__");
         Assert.assertEquals(expectedScriptOutputs, outputs);
     }
 
+    @Test
+    public void testCompiledScriptIsReused() throws Exception {
+        reset(execInterpreter);
+        when(execInterpreter.getLocals()).thenReturn(new PyStringMap());
+        CompiledScriptCache compiledScriptCache = scriptExecutor.getCompiledScriptCache();
+        compiledScriptCache.invalidateAll();
+        long hitCount = compiledScriptCache.getHitCount();
+        String script = "x = 1";
+
+        scriptExecutor.executeScript(script, new HashMap<String, Value>());
+        scriptExecutor.executeScript(script, new HashMap<String, Value>());
+
+        verify(execInterpreter, times(2)).exec("exec __compiled_script__");
+        Assert.assertEquals(1, compiledScriptCache.size());
+        Assert.assertEquals(hitCount + 1, compiledScriptCache.getHitCount());
+    }
+
+    @Test
+    public void testScriptNotCompilingIsExecutedAsText() throws Exception {
+        reset(execInterpreter);
+        when(execInterpreter.getLocals()).thenReturn(new PyStringMap());
+        CompiledScriptCache compiledScriptCache = scriptExecutor.getCompiledScriptCache();
+        compiledScriptCache.invalidateAll();
+        String script = "if x";
+
+        scriptExecutor.executeScript(script, new HashMap<String, Value>());
+
+        verify(execInterpreter).exec(script);
+        Assert.assertEquals(0, compiledScriptCache.size());
+    }
+
+    @Test
+    public void testPrecompileActions() throws Exception {
+        CompiledScriptCache compiledScriptCache = scriptExecutor.getCompiledScriptCache();
+        compiledScriptCache.invalidateAll();
+        long hitCount = compiledScriptCache.getHitCount();
+        ExecutionPlan flowPlan = createExecutionPlan(createJavaActionStep(1L), createPythonActionStep(2L, "y = 2"));
+        ExecutionPlan operationPlan = createExecutionPlan(createPythonActionStep(1L, "z = 3"), new ExecutionStep(2L));
+        Map<String, ExecutionPlan> dependencies = new HashMap<>();
+        dependencies.put("operation", operationPlan);
+        CompilationArtifact compilationArtifact = new CompilationArtifact(
+                flowPlan, dependencies, new ArrayList<Input>(), new HashSet<String>());
+
+        int pythonActions = scriptExecutor.precompileActions(compilationArtifact);
+
+        Assert.assertEquals(2, pythonActions);
+        Assert.assertEquals(2, compiledScriptCache.size());
+        Assert.assertNotNull(compiledScriptCache.getCompiledScript("y = 2"));
+        Assert.assertEquals(hitCount + 1, compiledScriptCache.getHitCount());
+    }
+
     @Test
     public void testExecuteScriptError() throws Exception {
         reset(execInterpreter);
         String script = "pass";
-        doThrow(new RuntimeException("error from interpreter")).when(execInterpreter).exec(eq(script));
+        doThrow(new RuntimeException("error from interpreter")).when(execInterpreter).exec(anyString());
 
         exception.expect(RuntimeException.class);
         exception.expectMessage("error from interpreter");
@@ -85,6 +147,25 @@ public class ScriptExecutorTest {
         scriptExecutor.executeScript(script, new HashMap<String, Value>());
     }
 
+    private ExecutionPlan createExecutionPlan(ExecutionStep... steps) {
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.addSteps(Arrays.asList(steps));
+        return executionPlan;
+    }
+
+    private ExecutionStep createPythonActionStep(Long id, String script) {
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put(ScoreLangConstants.ACTION_TYPE, ActionType.PYTHON);
+        actionData.put(ScoreLangConstants.PYTHON_ACTION_SCRIPT_KEY, script);
+        return new ExecutionStep(id).setActionData(actionData);
+    }
+
+    private ExecutionStep createJavaActionStep(Long id) {
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put(ScoreLangConstants.ACTION_TYPE, ActionType.JAVA);
+        return new ExecutionStep(id).setActionData(actionData);
+    }
+
     @Configuration
     static class Config {
         @Bean
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.python.google.common.collect.Sets;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the time of evaluating simple expressions in java and by the python interpreter.
+ * It is not run by the build, run its main method with the test classpath of the module.
+ */
+public class SimpleExpressionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int ITERATIONS = 2000;
+
+    private static final Set<ScriptFunction> FUNCTIONS = Sets.newHashSet(ScriptFunction.GET, ScriptFunction.CHECK_EMPTY);
+
+    private static final List<String> EXPRESSIONS = Arrays.asList("str_var", "get('missing', 'default')",
+            "check_empty(null_var, 'default')", "str_var == 'value'", "int(int_str) > 0", "'literal'");
+
+    public static void main(String[] args) {
+        AnnotationConfigApplicationContext applicationContext =
+                new AnnotationConfigApplicationContext(SimpleExpressionConformanceTest.Config.class);
+        try {
+            ScriptEvaluator scriptEvaluator = applicationContext.getBean(ScriptEvaluator.class);
+            Map<String, Value> context = new HashMap<>();
+            context.put("str_var", ValueFactory.create("value"));
+            context.put("int_str", ValueFactory.create(" 42 "));
+            context.put("null_var", ValueFactory.create(null));
+
+            for (boolean simpleExpressionsEnabled : Arrays.asList(false, true)) {
+                scriptEvaluator.setSimpleExpressionsEnabled(simpleExpressionsEnabled);
+                evaluate(scriptEvaluator, context, WARMUP_ITERATIONS);
+                long start = System.nanoTime();
+                evaluate(scriptEvaluator, context, ITERATIONS);
+                long evaluations = (long) ITERATIONS * EXPRESSIONS.size();
+                System.out.printf("%s: %.2f us per evaluation%n",
+                        simpleExpressionsEnabled ? "java fast path" : "python interpreter",
+                        (System.nanoTime() - start) / 1000.0 / evaluations);
+            }
+        } finally {
+            applicationContext.close();
+        }
+    }
+
+    private static void evaluate(ScriptEvaluator scriptEvaluator, Map<String, Value> context, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            for (String expression : EXPRESSIONS) {
+                scriptEvaluator.evalExpr(expression, context, new HashSet<SystemProperty>(), FUNCTIONS);
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+* (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Apache License v2.0 which accompany this distribution.
+*
+* The Apache License is available at
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+*******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.dependency.api.services.DependencyService;
+import io.cloudslang.dependency.api.services.MavenConfig;
+import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
+import io.cloudslang.dependency.impl.services.MavenConfigImpl;
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.encryption.DummyEncryptor;
+import io.cloudslang.lang.entities.encryption.EncryptionProvider;
+import io.cloudslang.lang.entities.utils.ApplicationContextProvider;
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
+import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
+import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
+import io.cloudslang.runtime.impl.python.PythonRuntimeServiceImpl;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.python.google.common.collect.Lists;
+import org.python.google.common.collect.Sets;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates each simple expression both in java and by the python interpreter,
+ * and checks both give the same result with the same sensitivity.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SimpleExpressionConformanceTest.Config.class)
+public class SimpleExpressionConformanceTest {
+
+    private static final Set<ScriptFunction> FUNCTIONS = Sets.newHashSet(ScriptFunction.GET, ScriptFunction.CHECK_EMPTY);
+
+    private static final List<String> SIMPLE_EXPRESSIONS = Arrays.asList(
+            "str_var", "int_var", "zero", "bool_var", "null_var", "secret", "secret_int", "secret_null",
+            "'literal'", "\"double quoted\"", "''", "42", "-3", "0", "True", "False", "None",
+            "get('str_var')", "get('missing')", "get('missing', 'default')", "get('null_var', 'default')",
+            "get('secret', 'default')", "get('secret_null', 'default')", "get('missing', 5)", "get( 'int_var' , None )",
+            "check_empty(str_var, 'default')", "check_empty(null_var, 'default')", "check_empty(None, 'default')",
+            "check_empty(None, secret)", "check_empty(secret, str_var)", "check_empty(str_var, secret)",
+            "check_empty(secret_null, 'default')", "check_empty(None)", "check_empty('x', 'y')",
+            "str_var == 'value'", "str_var != 'value'", "str_var == 'other'", "str_var == str_var",
+            "int_var == 5", "int_var > 3", "int_var <= 4", "int_var < zero", "int_var >= -5", "5 == int_var",
+            "int_var == '5'", "str_var == int_var", "int_var != str_var", "zero == 0",
+            "secret == 'secret'", "secret != str_var", "str_var == secret", "secret_int > 2",
+            "int(int_str) > 0", "int(neg_str) < 0", "int(int_var) >= 5", "int(secret_int) == 3",
+            "int('12')", "int(int_str)", "int(secret_int)", "int(5) == int(' 5')", "get('str_var', 'x') == 'value'",
+            "str_var\t== 'value'", "int_var > 3  # comment", "get('str_var',\n 'x')", "check_empty(null_var, \\\n 'default')"
+    );
+
+    // simple expressions whose values at hand are left to the interpreter
+    private static final List<String> INTERPRETER_EXPRESSIONS = Arrays.asList(
+            "list_var", "get('list_var')", "int(bad_int)", "int(big_int)", "bool_var == True", "null_var == None",
+            "str_var < 'x'", "missing", "check_empty(missing, 'default')"
+    );
+
+    @Autowired
+    private ScriptEvaluator scriptEvaluator;
+
+    @After
+    public void tearDown() {
+        scriptEvaluator.setSimpleExpressionsEnabled(true);
+    }
+
+    @BeforeClass
+    @AfterClass
+    public static void resetEncryptor() throws Exception {
+        // the encryptor is kept once found, make sure this test and the ones after it find their own
+        Field encryptor = EncryptionProvider.class.getDeclaredField("encryptor");
+        encryptor.setAccessible(true);
+        ((AtomicReference<?>) encryptor.get(null)).set(null);
+    }
+
+    @Test
+    public void testSimpleExpressionsConform() {
+        Map<String, Value> context = createContext();
+        List<String> mismatches = new ArrayList<>();
+        for (String expression : SIMPLE_EXPRESSIONS) {
+            Assert.assertNotNull(expression, SimpleExpressionParser.parse(expression, FUNCTIONS));
+
+            long simpleEvaluationsBefore = scriptEvaluator.getSimpleEvaluationsCount();
+            Value simpleValue = evaluate(expression, context, true);
+            Assert.assertEquals(expression, simpleEvaluationsBefore + 1, scriptEvaluator.getSimpleEvaluationsCount());
+            Value pythonValue = evaluate(expression, context, false);
+
+            if (!isSameValue(simpleValue, pythonValue)) {
+                mismatches.add(expression + ": " + describe(simpleValue) + " instead of " + describe(pythonValue));
+            }
+        }
+        Assert.assertEquals(new ArrayList<String>(), mismatches);
+    }
+
+    @Test
+    public void testInterpreterEvaluatesUnsupportedValues() {
+        Map<String, Value> context = createContext();
+        for (String expression : INTERPRETER_EXPRESSIONS) {
+            Assert.assertNotNull(expression, SimpleExpressionParser.parse(expression, FUNCTIONS));
+
+            long simpleEvaluationsBefore = scriptEvaluator.getSimpleEvaluationsCount();
+            try {
+                evaluate(expression, context, true);
+            } catch (RuntimeException e) {
+                Assert.assertTrue(expression, e.getMessage().startsWith("Error in running script expression"));
+            }
+            Assert.assertEquals(expression, simpleEvaluationsBefore, scriptEvaluator.getSimpleEvaluationsCount());
+        }
+    }
+
+    @Test
+    public void testOtherExpressionsAreNotSimple() {
+        List<String> expressions = Arrays.asList("str_var + 'x'", "str_var == 'a' and int_var > 0", "int_var > 0 > -1",
+                "get(str_var)", "get('a', str_var)", "not bool_var", "str_var.upper()", "'a\\\\b'", "u'text'", "1.5",
+                "2147483648", "-2147483648", "010", "int_var-1", "len(str_var)", "__name__", "x = 1",
+                "str_var\n== 'x'", "");
+        for (String expression : expressions) {
+            Assert.assertNull(expression, SimpleExpressionParser.parse(expression, FUNCTIONS));
+        }
+        Assert.assertNull(SimpleExpressionParser.parse("get('a')", new HashSet<ScriptFunction>()));
+        Assert.assertNull(SimpleExpressionParser.parse("str_var", Sets.newHashSet(ScriptFunction.GET_SYSTEM_PROPERTY)));
+    }
+
+    private Value evaluate(String expression, Map<String, Value> context, boolean simpleExpressionsEnabled) {
+        scriptEvaluator.setSimpleExpressionsEnabled(simpleExpressionsEnabled);
+        return scriptEvaluator.evalExpr(expression, context, new HashSet<SystemProperty>(), FUNCTIONS);
+    }
+
+    private boolean isSameValue(Value simpleValue, Value pythonValue) {
+        Serializable simpleContent = simpleValue.get();
+        Serializable pythonContent = pythonValue.get();
+        boolean sameContent = simpleContent == null ? pythonContent == null :
+                pythonContent != null && simpleContent.getClass() == pythonContent.getClass() && simpleContent.equals(pythonContent);
+        return sameContent && simpleValue.isSensitive() == pythonValue.isSensitive();
+    }
+
+    private String describe(Value value) {
+        Serializable content = value.get();
+        return (content == null ? "null" : content.getClass().getSimpleName() + " " + content) +
+                (value.isSensitive() ? " (sensitive)" : "");
+    }
+
+    private Map<String, Value> createContext() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("str_var", ValueFactory.create("value"));
+        context.put("int_str", ValueFactory.create(" 42 "));
+        context.put("neg_str", ValueFactory.create("-7"));
+        context.put("bad_int", ValueFactory.create("4.2"));
+        context.put("big_int", ValueFactory.create("12345678901"));
+        context.put("int_var", ValueFactory.create(5));
+        context.put("zero", ValueFactory.create(0));
+        context.put("bool_var", ValueFactory.create(true));
+        context.put("null_var", ValueFactory.create(null));
+        context.put("list_var", ValueFactory.create(Lists.newArrayList("a", "b")));
+        context.put("secret", ValueFactory.create("secret", true));
+        context.put("secret_int", ValueFactory.create(3, true));
+        context.put("secret_null", ValueFactory.create(null, true));
+        return context;
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        public ScriptEvaluator scriptEvaluator() {
+            return new ScriptEvaluator();
+        }
+
+        @Bean
+        public DependencyService mavenRepositoryService() {
+            return new DependencyServiceImpl();
+        }
+
+        @Bean
+        public MavenConfig mavenConfig() {
+            return new MavenConfigImpl();
+        }
+
+        @Bean
+        public PythonRuntimeService pythonRuntimeService() {
+            return new PythonRuntimeServiceImpl();
+        }
+
+        @Bean
+        public PythonExecutionEngine pythonExecutionEngine() {
+            return new PythonExecutionCachedEngine();
+        }
+
+        @Bean
+        public ApplicationContextProvider applicationContextProvider() {
+            return new ApplicationContextProvider();
+        }
+
+        @Bean
+        public DummyEncryptor dummyEncryptor() {
+            return new DummyEncryptor();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.junit.Test;
+import org.python.core.Py;
+import org.python.core.PyObject;
+import org.python.util.PythonInterpreter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SystemPropertiesLookupTest {
+
+    @Test
+    public void testViewWrapsOnlyReadProperties() {
+        SystemPropertiesView view = new SystemPropertiesLookup(createSystemProperties(1000)).createView();
+
+        assertEquals(1000, view.size());
+        assertTrue(view.containsKey("a.b.key7"));
+        assertSame(view.get("a.b.key7"), view.get("a.b.key7"));
+        assertEquals(ValueFactory.createPyObjectValue("value7", false), view.get("a.b.key7"));
+        assertNull(view.get("a.b.missing"));
+    }
+
+    @Test
+    public void testViewsDoNotShareWrappedValues() {
+        SystemPropertiesLookup lookup = new SystemPropertiesLookup(createSystemProperties(2));
+        SystemPropertiesView first = lookup.createView();
+        SystemPropertiesView second = lookup.createView();
+
+        PyObjectValue firstValue = (PyObjectValue) first.get("a.b.key1");
+        ((PyObject) firstValue).__str__();
+        PyObjectValue secondValue = (PyObjectValue) second.get("a.b.key1");
+
+        assertTrue(firstValue.isAccessed());
+        assertFalse(secondValue.isAccessed());
+        assertFalse(first.isSensitiveValueAccessed());
+    }
+
+    @Test
+    public void testViewIsReadByPython() {
+        PythonInterpreter interpreter = new PythonInterpreter();
+        interpreter.set("sys_prop", new SystemPropertiesLookup(createSystemProperties(3)).createView());
+
+        assertEquals(Py.newString("value2"), interpreter.eval("sys_prop.get('a.b.key2') + ''"));
+        assertEquals(Py.None, interpreter.eval("sys_prop.get('a.b.missing')"));
+    }
+
+    @Test
+    public void testLookupIsOutdatedWhenSetSizeChanges() {
+        Set<SystemProperty> systemProperties = createSystemProperties(2);
+        SystemPropertiesLookup lookup = new SystemPropertiesLookup(systemProperties);
+
+        assertTrue(lookup.isUpToDate(systemProperties));
+        systemProperties.add(new SystemProperty("a.b", "other", "value"));
+        assertFalse(lookup.isUpToDate(systemProperties));
+    }
+
+    @Test
+    public void testLookupIsOutdatedWhenPropertyIsReplaced() {
+        Set<SystemProperty> systemProperties = createSystemProperties(2);
+        SystemPropertiesLookup lookup = new SystemPropertiesLookup(systemProperties);
+
+        systemProperties.remove(new SystemProperty("a.b", "key1", "value1"));
+        systemProperties.add(new SystemProperty("a.b", "key1", "changed"));
+
+        assertEquals(2, systemProperties.size());
+        assertFalse(lookup.isUpToDate(systemProperties));
+        assertEquals(ValueFactory.createPyObjectValue("changed", false),
+                new SystemPropertiesLookup(systemProperties).createView().get("a.b.key1"));
+    }
+
+    private Set<SystemProperty> createSystemProperties(int size) {
+        Set<SystemProperty> systemProperties = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            systemProperties.add(new SystemProperty("a.b", "key" + i, "value" + i));
+        }
+        return systemProperties;
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.VariableLayout;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ContextTest {
+
+    @Test
+    public void testForkSharesVariables() {
+        Context context = new Context(createVariables(100));
+
+        Context fork = context.fork();
+
+        assertEquals(context, fork);
+        assertSame(context.getVariable("var1"), fork.getVariable("var1"));
+        assertEquals(100, fork.getImmutableViewOfVariables().size());
+    }
+
+    @Test
+    public void testForkCopiesValuesWhichCanChange() {
+        Map<String, Value> variables = createVariables(1);
+        variables.put("sensitive", ValueFactory.createEncryptedString("{encrypted}secret", true));
+        variables.put("list", ValueFactory.create(new ArrayList<>(Arrays.asList("a", "b"))));
+        Context context = new Context(variables);
+        Context slottedContext = new Context(variables, new VariableLayout(Arrays.asList("sensitive", "var0")));
+
+        for (Context fork : Arrays.asList(context.fork(), slottedContext.fork())) {
+            assertEquals(context.getImmutableViewOfVariables(), fork.getImmutableViewOfVariables());
+            assertSame(variables.get("var0"), fork.getVariable("var0"));
+            assertNotSame(variables.get("sensitive"), fork.getVariable("sensitive"));
+            assertNotSame(variables.get("list"), fork.getVariable("list"));
+            assertNotSame(variables.get("list").get(), fork.getVariable("list").get());
+        }
+    }
+
+    @Test
+    public void testForksDoNotSeeEachOtherWrites() {
+        Context context = new Context(createVariables(3));
+
+        Context first = context.fork();
+        Context second = context.fork();
+        first.putVariable("var0", ValueFactory.create("first"));
+        first.putVariable("new", ValueFactory.create("first"));
+        second.putVariable("var0", ValueFactory.create("second"));
+        context.putVariable("var0", ValueFactory.create("parent"));
+
+        assertEquals(ValueFactory.create("first"), first.getVariable("var0"));
+        assertEquals(ValueFactory.create("second"), second.getVariable("var0"));
+        assertEquals(ValueFactory.create("parent"), context.getVariable("var0"));
+        assertEquals(4, first.getImmutableViewOfVariables().size());
+        assertEquals(3, second.getImmutableViewOfVariables().size());
+        assertFalse(second.getImmutableViewOfVariables().containsKey("new"));
+    }
+
+    @Test
+    public void testForkCopiesLanguageVariables() {
+        Context context = new Context(createVariables(1));
+        context.putLanguageVariable("lang", ValueFactory.create("value"));
+
+        Context fork = context.fork();
+        fork.removeLanguageVariable("lang");
+
+        assertNull(fork.getLanguageVariable("lang"));
+        assertEquals(ValueFactory.create("value"), context.getLanguageVariable("lang"));
+    }
+
+    @Test
+    public void testForkOfWrittenForkDoesNotNest() {
+        Context context = new Context(createVariables(2));
+        Context fork = context.fork();
+        fork.putVariable("var0", ValueFactory.create("fork"));
+
+        Context forkOfFork = fork.fork();
+
+        assertEquals(ValueFactory.create("fork"), forkOfFork.getVariable("var0"));
+        assertEquals(ValueFactory.create("var1"), forkOfFork.getVariable("var1"));
+        assertEquals(fork, forkOfFork);
+    }
+
+    @Test
+    public void testForkSerializesAsPlainContext() {
+        Context context = new Context(createVariables(2));
+        Context fork = context.fork();
+        fork.putVariable("branch", ValueFactory.create("value"));
+
+        Context deserialized = (Context) SerializationUtils.clone(fork);
+
+        assertEquals(fork, deserialized);
+        assertTrue(deserialized.getImmutableViewOfVariables().containsKey("branch"));
+        deserialized.putVariable("other", ValueFactory.create("value"));
+        assertFalse(fork.getImmutableViewOfVariables().containsKey("other"));
+    }
+
+    @Test
+    public void testForksOfSlottedContextDoNotSeeEachOtherWrites() {
+        Context context = new Context(createVariables(3), new VariableLayout(Arrays.asList("var0", "var1")));
+
+        Context first = context.fork();
+        Context second = context.fork();
+        first.putVariable("var0", ValueFactory.create("first"));
+        first.putVariable("new", ValueFactory.create("first"));
+        second.putVariable("var2", ValueFactory.create("second"));
+
+        assertEquals(ValueFactory.create("first"), first.getVariable("var0"));
+        assertEquals(ValueFactory.create("var0"), second.getVariable("var0"));
+        assertEquals(ValueFactory.create("var2"), context.getVariable("var2"));
+        assertEquals(4, first.getImmutableViewOfVariables().size());
+        assertEquals(createVariables(3), context.getImmutableViewOfVariables());
+        assertSame(context.getVariableLayout(), second.getVariableLayout());
+    }
+
+    @Test
+    public void testSlottedContextSerializes() {
+        Context context = new Context(createVariables(2), new VariableLayout(Arrays.asList("var0", "slot")));
+        context.putVariable("slot", null);
+
+        Context deserialized = (Context) SerializationUtils.clone(context);
+
+        assertEquals(context, deserialized);
+        assertTrue(deserialized.getImmutableViewOfVariables().containsKey("slot"));
+        assertEquals(context.getVariableLayout(), deserialized.getVariableLayout());
+    }
+
+    private Map<String, Value> createVariables(int size) {
+        Map<String, Value> variables = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            variables.put("var" + i, ValueFactory.create("var" + i));
+        }
+        return variables;
+    }
+}
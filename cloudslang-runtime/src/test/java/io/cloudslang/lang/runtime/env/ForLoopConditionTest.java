@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ForLoopConditionTest {
+
+    @Test
+    public void testIteratesAllItemsInOrder() {
+        ForLoopCondition forLoopCondition = new ForLoopCondition(Arrays.asList("a", "b", "c"));
+
+        assertEquals(ValueFactory.create("a"), forLoopCondition.next());
+        assertEquals(ValueFactory.create("b"), forLoopCondition.next());
+        assertTrue(forLoopCondition.hasMore());
+        assertEquals(ValueFactory.create("c"), forLoopCondition.next());
+        assertFalse(forLoopCondition.hasMore());
+    }
+
+    @Test
+    public void testValuesAreNotWrappedAgain() {
+        Value value = ValueFactory.create("a");
+        ForLoopCondition forLoopCondition = new ForLoopCondition(Arrays.asList(value));
+
+        assertSame(value, forLoopCondition.next());
+    }
+
+    @Test
+    public void testNonRandomAccessIterables() {
+        ForLoopCondition fromLinkedList = new ForLoopCondition(new LinkedList<>(Arrays.asList(1, 2)));
+        ForLoopCondition fromSet = new ForLoopCondition(new LinkedHashSet<>(Arrays.asList(1, 2)));
+
+        assertEquals(fromLinkedList, fromSet);
+        assertEquals(ValueFactory.create(1), fromSet.next());
+        assertEquals(ValueFactory.create(2), fromSet.next());
+        assertFalse(fromSet.hasMore());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterLastItem() {
+        ForLoopCondition forLoopCondition = new ForLoopCondition(Arrays.asList("a"));
+        forLoopCondition.next();
+        forLoopCondition.next();
+    }
+
+    @Test
+    public void testResumesAfterSerialization() {
+        ForLoopCondition forLoopCondition = new ForLoopCondition(Arrays.asList(1, 2, 3));
+        forLoopCondition.next();
+
+        ForLoopCondition restored = (ForLoopCondition) SerializationUtils.clone(forLoopCondition);
+
+        assertEquals(forLoopCondition, restored);
+        assertEquals(ValueFactory.create(2), restored.next());
+        assertEquals(ValueFactory.create(3), restored.next());
+        assertFalse(restored.hasMore());
+    }
+
+    @Test(timeout = 30000)
+    public void testLargeLoops() {
+        for (int size : new int[]{10000, 100000, 1000000}) {
+            List<Serializable> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(i);
+            }
+            ForLoopCondition forLoopCondition = new ForLoopCondition(items);
+            int iterations = 0;
+            // the step execution checks hasMore() both when beginning and when ending each iteration
+            while (forLoopCondition.hasMore() && forLoopCondition.hasMore()) {
+                assertEquals(iterations, forLoopCondition.next().get());
+                iterations++;
+            }
+            assertEquals(size, iterations);
+        }
+    }
+}
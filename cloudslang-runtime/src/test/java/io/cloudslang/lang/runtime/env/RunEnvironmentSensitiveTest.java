@@ -16,6 +16,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
@@ -171,6 +172,91 @@ public class RunEnvironmentSensitiveTest {
         testEncrypted(systemProperty1, systemProperty2, callValue1, callValue2, output1, output2, true);
     }
 
+    @Test
+    public void testBranchRunEnvironmentDecryptsItsOwnValues() {
+        Set<SystemProperty> sp = Sets.newHashSet();
+        SystemProperty systemProperty = new SystemProperty("a.b", "sp", ValueFactory.createEncryptedString("systemProperty"));
+        sp.add(systemProperty);
+        RunEnvironment runEnvironment = new RunEnvironment(sp);
+        Map<String, Value> callArguments = Maps.newHashMap();
+        Value callValue = ValueFactory.create("callValue", true);
+        callArguments.put("callValue", callValue);
+        runEnvironment.putCallArguments(callArguments);
+        Map<String, Value> outputs = Maps.newHashMap();
+        Value output = ValueFactory.create("output", true);
+        outputs.put("output", output);
+        runEnvironment.putReturnValues(new ReturnValues(outputs, "result"));
+        Map<String, Value> variables = Maps.newHashMap();
+        Value variable = ValueFactory.create("variable", true);
+        variables.put("variable", variable);
+        Context flowContext = new Context(variables);
+
+        RunEnvironment branchRunEnvironment = runEnvironment.createBranchRunEnvironment();
+        branchRunEnvironment.getStack().pushContext(flowContext.fork());
+        branchRunEnvironment.decryptSensitiveData();
+
+        for (Value value : Arrays.asList(systemProperty.getValue(), callValue, output, variable)) {
+            assertTrue(((SensitiveValue) value).isEncrypted());
+        }
+        Context branchContext = branchRunEnvironment.getStack().popContext();
+        assertFalse(((SensitiveValue) branchContext.getVariable("variable")).isEncrypted());
+        assertFalse(((SensitiveValue) branchRunEnvironment.removeCallArguments().get("callValue")).isEncrypted());
+        assertFalse(((SensitiveValue) branchRunEnvironment.removeReturnValues().getOutputs().get("output")).isEncrypted());
+    }
+
+    @Test
+    public void testParallelLoopStateValuesAreEncrypted() {
+        RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        Value splitItem = ValueFactory.create("splitItem", true);
+        ParallelLoopState parallelLoopState = new ParallelLoopState(Arrays.asList(splitItem), 1, 1L);
+        Map<String, Value> branchContext = Maps.newHashMap();
+        Value branchVariable = ValueFactory.create("branchVariable", true);
+        branchContext.put("branchVariable", branchVariable);
+        parallelLoopState.getBranchesContext().add(branchContext);
+        Context flowContext = new Context(Maps.<String, Value>newHashMap());
+        flowContext.putLanguageVariable(ParallelLoopState.PARALLEL_LOOP_STATE_KEY, ValueFactory.create(parallelLoopState));
+        runEnvironment.getStack().pushContext(flowContext);
+        assertTrue(runEnvironment.containsSensitiveData());
+
+        runEnvironment.encryptSensitiveData();
+        assertTrue(((SensitiveValue) splitItem).isEncrypted());
+        assertTrue(((SensitiveValue) branchVariable).isEncrypted());
+
+        runEnvironment.decryptSensitiveData();
+        assertFalse(((SensitiveValue) splitItem).isEncrypted());
+        assertFalse(((SensitiveValue) branchVariable).isEncrypted());
+        assertEquals("branchVariable", branchVariable.get());
+    }
+
+    @Test
+    public void testParallelLoopChunkValuesAreEncrypted() {
+        RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        Value item = ValueFactory.create("item", true);
+        Map<String, Value> variables = Maps.newHashMap();
+        Value variable = ValueFactory.create("variable", true);
+        variables.put("variable", variable);
+        ParallelLoopChunk chunk = new ParallelLoopChunk("item", Arrays.asList(item), new Context(variables));
+        Map<String, Value> outputs = Maps.newHashMap();
+        Value output = ValueFactory.create("output", true);
+        outputs.put("output", output);
+        chunk.addItemResult("0", new ReturnValues(outputs, "result"));
+        Context branchContext = new Context(Maps.<String, Value>newHashMap());
+        branchContext.putLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY, ValueFactory.create(chunk));
+        runEnvironment.getStack().pushContext(branchContext);
+        assertTrue(runEnvironment.containsSensitiveData());
+
+        runEnvironment.encryptSensitiveData();
+        for (Value value : Arrays.asList(item, variable, output)) {
+            assertTrue(((SensitiveValue) value).isEncrypted());
+        }
+
+        runEnvironment.decryptSensitiveData();
+        for (Value value : Arrays.asList(item, variable, output)) {
+            assertFalse(((SensitiveValue) value).isEncrypted());
+        }
+        assertEquals("output", output.get());
+    }
+
     private void testEncrypted(SystemProperty systemProperty1, SystemProperty systemProperty2,
                                Value callValue1, Value callValue2,
                                Value output1, Value output2, boolean encrypted) {
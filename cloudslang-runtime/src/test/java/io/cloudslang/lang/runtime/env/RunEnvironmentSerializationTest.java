@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.VariableLayout;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RunEnvironmentSerializationTest {
+
+    private static final String COMPACT_SERIALIZATION =
+            SlangSystemPropertyConstant.CSLANG_RUN_ENVIRONMENT_COMPACT_SERIALIZATION.getValue();
+
+    @Before
+    public void setUp() {
+        System.setProperty(COMPACT_SERIALIZATION, "true");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(COMPACT_SERIALIZATION);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        RunEnvironment runEnv = createRunEnvironment();
+        Map<String, Value> flowVariables = createFlowVariables();
+        flowVariables.put("null_sensitive", ValueFactory.create(null, true));
+        flowVariables.put("no_value", null);
+        runEnv.getStack().getContexts().get(0).putVariables(flowVariables);
+
+        RunEnvironment deserialized = SerializationUtils.clone(runEnv);
+
+        assertRunEnvironment(deserialized, flowVariables);
+    }
+
+    @Test
+    public void testVariableLayoutIsKept() {
+        VariableLayout variableLayout = new VariableLayout(Arrays.asList("string", "integer", "missing"));
+        RunEnvironment runEnv = new RunEnvironment();
+        runEnv.getStack().pushContext(new Context(createFlowVariables(), variableLayout));
+        runEnv.getStack().pushContext(new Context(createFlowVariables(), variableLayout));
+
+        RunEnvironment deserialized = SerializationUtils.clone(runEnv);
+
+        Context first = deserialized.getStack().popContext();
+        Context second = deserialized.getStack().popContext();
+        assertEquals(variableLayout, first.getVariableLayout());
+        assertSame(first.getVariableLayout(), second.getVariableLayout());
+        assertEquals(createFlowVariables(), first.getImmutableViewOfVariables());
+        assertFalse(first.getImmutableViewOfVariables().containsKey("missing"));
+    }
+
+    @Test
+    public void testReadsDefaultSerializedForm() throws Exception {
+        // written by the default serialization, before the compact form existed
+        InputStream serialized = getClass().getResourceAsStream("/serialization/run_environment_default_form.ser");
+
+        RunEnvironment deserialized = (RunEnvironment) SerializationUtils.deserialize(serialized);
+
+        assertRunEnvironment(deserialized, createFlowVariables());
+    }
+
+    @Test
+    public void testEmptyRunEnvironment() {
+        RunEnvironment deserialized = SerializationUtils.clone(new RunEnvironment());
+
+        assertTrue(deserialized.removeCallArguments().isEmpty());
+        assertNull(deserialized.removeReturnValues());
+        assertNull(deserialized.removeNextStepPosition());
+        assertNull(deserialized.getStack().popContext());
+        assertTrue(deserialized.getParentFlowStack().isEmpty());
+        assertEquals("0", deserialized.getExecutionPath().getCurrentPath());
+        assertTrue(deserialized.getSystemProperties().isEmpty());
+    }
+
+    @Test
+    public void testCompactFormIsSmaller() {
+        RunEnvironment runEnv = new RunEnvironment();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Value> variables = new HashMap<>();
+            for (int j = 0; j < 300; j++) {
+                variables.put("variable_" + j, ValueFactory.create("value_" + i + "_" + j));
+            }
+            runEnv.getStack().pushContext(new Context(variables));
+        }
+
+        int compactSize = SerializationUtils.serialize(runEnv).length;
+        System.setProperty(COMPACT_SERIALIZATION, "false");
+        int defaultSize = SerializationUtils.serialize(runEnv).length;
+
+        assertTrue("compact: " + compactSize + " default: " + defaultSize, compactSize * 3 < defaultSize * 2);
+    }
+
+    @Test
+    public void testDefaultFormCanBeWritten() {
+        System.setProperty(COMPACT_SERIALIZATION, "false");
+
+        RunEnvironment deserialized = SerializationUtils.clone(createRunEnvironment());
+
+        assertRunEnvironment(deserialized, createFlowVariables());
+    }
+
+    @Test
+    public void testDefaultFormIsWrittenUnlessEnabled() {
+        System.clearProperty(COMPACT_SERIALIZATION);
+
+        byte[] serialized = SerializationUtils.serialize(createRunEnvironment());
+
+        assertFalse(new String(serialized, StandardCharsets.ISO_8859_1).contains(SerializedRunEnvironment.class.getName()));
+        assertRunEnvironment((RunEnvironment) SerializationUtils.deserialize(serialized), createFlowVariables());
+    }
+
+    private RunEnvironment createRunEnvironment() {
+        Set<SystemProperty> systemProperties = new HashSet<>();
+        systemProperties.add(new SystemProperty("a.b", "key", "value"));
+        RunEnvironment runEnv = new RunEnvironment(systemProperties);
+        Map<String, Value> callArguments = new HashMap<>();
+        callArguments.put("argument", ValueFactory.create("argument_value"));
+        runEnv.putCallArguments(callArguments);
+        Map<String, Value> outputs = new HashMap<>();
+        outputs.put("output", ValueFactory.create(5));
+        runEnv.putReturnValues(new ReturnValues(outputs, "SUCCESS"));
+        runEnv.putNextStepPosition(3L);
+
+        Context flowContext = new Context(createFlowVariables());
+        flowContext.putLanguageVariable("language", ValueFactory.create("language_value"));
+        runEnv.getStack().pushContext(flowContext);
+        Map<String, Value> stepVariables = new HashMap<>();
+        stepVariables.put("string", ValueFactory.create("two"));
+        runEnv.getStack().pushContext(new Context(stepVariables));
+
+        runEnv.getParentFlowStack().pushParentFlowData(new ParentFlowData(1L, 2L));
+        runEnv.getExecutionPath().forward();
+        runEnv.getExecutionPath().down();
+        runEnv.getExecutionPath().forward();
+        runEnv.getExecutionPath().forward();
+        return runEnv;
+    }
+
+    private Map<String, Value> createFlowVariables() {
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("string", ValueFactory.create("one"));
+        variables.put("integer", ValueFactory.create(2));
+        variables.put("null", ValueFactory.create(null));
+        variables.put("boolean", ValueFactory.create(true));
+        variables.put("list", ValueFactory.create(new ArrayList<>(Arrays.asList("a", "b"))));
+        variables.put("sensitive_string", ValueFactory.createEncryptedString("{encrypted}secret", true));
+        variables.put("sensitive", ValueFactory.createEncryptedValue("{encrypted}content"));
+        return variables;
+    }
+
+    private void assertRunEnvironment(RunEnvironment runEnv, Map<String, Value> expectedFlowVariables) {
+        Map<String, Value> expectedCallArguments = new HashMap<>();
+        expectedCallArguments.put("argument", ValueFactory.create("argument_value"));
+        assertEquals(expectedCallArguments, runEnv.removeCallArguments());
+        ReturnValues returnValues = runEnv.removeReturnValues();
+        assertEquals("SUCCESS", returnValues.getResult());
+        assertEquals(ValueFactory.create(5), returnValues.getOutputs().get("output"));
+        assertEquals(Long.valueOf(3L), runEnv.removeNextStepPosition());
+
+        Context stepContext = runEnv.getStack().popContext();
+        assertEquals(ValueFactory.create("two"), stepContext.getVariable("string"));
+        Context flowContext = runEnv.getStack().popContext();
+        assertEquals(expectedFlowVariables, flowContext.getImmutableViewOfVariables());
+        for (Map.Entry<String, Value> entry : expectedFlowVariables.entrySet()) {
+            Value value = flowContext.getVariable(entry.getKey());
+            assertEquals(entry.getKey(), entry.getValue() == null ? null : entry.getValue().getClass(),
+                    value == null ? null : value.getClass());
+        }
+        assertEquals(ValueFactory.create("language_value"), flowContext.getLanguageVariable("language"));
+        assertNull(runEnv.getStack().popContext());
+
+        ParentFlowData parentFlowData = runEnv.getParentFlowStack().popParentFlowData();
+        assertEquals(Long.valueOf(1L), parentFlowData.getRunningExecutionPlanId());
+        assertEquals(Long.valueOf(2L), parentFlowData.getPosition());
+        assertEquals("1.2", runEnv.getExecutionPath().getCurrentPath());
+        runEnv.getExecutionPath().up();
+        assertEquals("1", runEnv.getExecutionPath().getCurrentPath());
+        Set<SystemProperty> expectedSystemProperties = new HashSet<>();
+        expectedSystemProperties.add(new SystemProperty("a.b", "key", "value"));
+        assertEquals(expectedSystemProperties, runEnv.getSystemProperties());
+        assertEquals(new HashMap<String, Serializable>(), runEnv.getSerializableDataMap());
+    }
+}
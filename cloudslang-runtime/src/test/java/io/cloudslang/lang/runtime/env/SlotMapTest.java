@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.VariableLayout;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SlotMapTest {
+
+    private final VariableLayout layout = new VariableLayout(Arrays.asList("a", "b", "c"));
+
+    @Test
+    public void testSlottedAndDynamicEntries() {
+        SlotMap<String> map = new SlotMap<>(layout);
+
+        assertNull(map.put("a", "1"));
+        assertNull(map.put("d", "4"));
+        assertEquals("1", map.put("a", "2"));
+
+        assertEquals("2", map.get("a"));
+        assertEquals("4", map.get("d"));
+        assertNull(map.get("b"));
+        assertFalse(map.containsKey("b"));
+        assertFalse(map.containsKey("e"));
+        assertEquals(2, map.size());
+        assertEquals(createMap("a", "2", "d", "4"), map);
+    }
+
+    @Test
+    public void testNullValues() {
+        SlotMap<String> map = new SlotMap<>(layout, createMap("a", null, "d", null));
+
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsKey("d"));
+        assertNull(map.get("a"));
+        assertEquals(2, map.size());
+        assertEquals(createMap("a", null, "d", null), map);
+    }
+
+    @Test
+    public void testRemove() {
+        SlotMap<String> map = new SlotMap<>(layout, createMap("a", "1", "b", "2", "d", "4"));
+
+        assertEquals("1", map.remove("a"));
+        assertNull(map.remove("a"));
+        assertEquals("4", map.remove("d"));
+
+        assertEquals(createMap("b", "2"), map);
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        SlotMap<String> map = new SlotMap<>(layout, createMap("a", "1", "c", "3", "d", "4", "e", "5"));
+
+        for (Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator(); iterator.hasNext(); ) {
+            String key = iterator.next().getKey();
+            if (!key.equals("c") && !key.equals("e")) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(createMap("c", "3", "e", "5"), map);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        SlotMap<String> map = new SlotMap<>(layout, createMap("a", "1", "d", "4"));
+
+        SlotMap<String> copy = map.copy();
+        copy.put("a", "copy");
+        copy.put("d", "copy");
+        map.put("b", "2");
+
+        assertEquals(createMap("a", "1", "b", "2", "d", "4"), map);
+        assertEquals(createMap("a", "copy", "d", "copy"), copy);
+    }
+
+    @Test
+    public void testSerialization() {
+        SlotMap<String> map = new SlotMap<>(layout, createMap("a", null, "c", "3", "d", "4"));
+
+        SlotMap<String> deserialized = SerializationUtils.clone(map);
+
+        assertEquals(map, deserialized);
+        assertEquals(layout, deserialized.getLayout());
+        assertTrue(deserialized.containsKey("a"));
+        deserialized.put("b", "2");
+        assertEquals("2", deserialized.get("b"));
+    }
+
+    @Test
+    public void testClear() {
+        SlotMap<String> map = new SlotMap<>(layout, createMap("a", "1", "d", "4"));
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    private Map<String, String> createMap(String... keysAndValues) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
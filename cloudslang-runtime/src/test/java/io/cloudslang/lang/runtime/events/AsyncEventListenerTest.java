@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class AsyncEventListenerTest {
+
+    private static final long DEFAULT_TIMEOUT = 10000;
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testEventsAreDeliveredInOrderOnDispatchThread() throws Exception {
+        RecordingListener listener = new RecordingListener(null);
+        AsyncEventListener asyncListener = new AsyncEventListener(listener, EventDispatchPolicy.BLOCK, 4, 2, 1).start();
+
+        for (int i = 0; i < 20; i++) {
+            asyncListener.onEvent(createEvent("event" + i));
+        }
+        asyncListener.close();
+
+        assertEquals(20, listener.getEventTypes().size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("event" + i, listener.getEventTypes().get(i));
+        }
+        assertNotSame(Thread.currentThread(), listener.deliveryThread);
+        assertEquals(0, asyncListener.getDroppedEventsCount());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testDropOldestKeepsExecutionFinishedEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener listener = new RecordingListener(release);
+        AsyncEventListener asyncListener = new AsyncEventListener(listener, EventDispatchPolicy.DROP_OLDEST, 2, 1, 1).start();
+
+        asyncListener.onEvent(createEvent("event0"));
+        listener.firstEventReceived.await();
+        asyncListener.onEvent(createEvent("event1"));
+        asyncListener.onEvent(createEvent("event2"));
+        asyncListener.onEvent(createEvent("event3"));
+        asyncListener.onEvent(createEvent(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+        release.countDown();
+        asyncListener.close();
+
+        assertEquals(Arrays.asList("event0", "event3", ScoreLangConstants.EVENT_EXECUTION_FINISHED),
+                listener.getEventTypes());
+        assertEquals(2, asyncListener.getDroppedEventsCount());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testSampleKeepsOneOfEverySampleRateEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener listener = new RecordingListener(release);
+        AsyncEventListener asyncListener = new AsyncEventListener(listener, EventDispatchPolicy.SAMPLE, 2, 1, 2).start();
+
+        asyncListener.onEvent(createEvent("event0"));
+        listener.firstEventReceived.await();
+        for (int i = 1; i <= 5; i++) {
+            asyncListener.onEvent(createEvent("event" + i));
+        }
+        release.countDown();
+        asyncListener.close();
+
+        assertEquals(Arrays.asList("event0", "event3", "event5"), listener.getEventTypes());
+        assertEquals(3, asyncListener.getDroppedEventsCount());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testEventsAfterCloseAreDeliveredDirectly() throws Exception {
+        RecordingListener listener = new RecordingListener(null);
+        AsyncEventListener asyncListener = new AsyncEventListener(listener, EventDispatchPolicy.BLOCK, 2, 1, 1).start();
+        asyncListener.close();
+
+        asyncListener.onEvent(createEvent("late"));
+
+        assertEquals(Collections.singletonList("late"), listener.getEventTypes());
+        assertSame(Thread.currentThread(), listener.deliveryThread);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testNoEventIsLostWhenClosedWhileFiring() throws Exception {
+        final int threadsCount = 4;
+        final int eventsCount = 2000;
+        RecordingListener listener = new RecordingListener(null);
+        final AsyncEventListener asyncListener = new AsyncEventListener(listener, EventDispatchPolicy.BLOCK, 4, 2, 1).start();
+        final CountDownLatch firing = new CountDownLatch(threadsCount);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadsCount; i++) {
+            final String prefix = "thread" + i + "-";
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < eventsCount; j++) {
+                            asyncListener.onEvent(createEvent(prefix + j));
+                            if (j == eventsCount / 10) {
+                                firing.countDown();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        firing.await();
+        asyncListener.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<String> eventTypes = listener.getEventTypes();
+        assertEquals(threadsCount * eventsCount, eventTypes.size());
+        for (int i = 0; i < threadsCount; i++) {
+            int next = 0;
+            for (String eventType : eventTypes) {
+                if (eventType.startsWith("thread" + i + "-")) {
+                    assertEquals("thread" + i + "-" + next++, eventType);
+                }
+            }
+        }
+        assertEquals(0, asyncListener.getDroppedEventsCount());
+    }
+
+    private ScoreEvent createEvent(String type) {
+        return new ScoreEvent(type, type);
+    }
+
+    private static class RecordingListener implements ScoreEventListener {
+
+        private final CountDownLatch release;
+        private final CountDownLatch firstEventReceived = new CountDownLatch(1);
+        private final List<String> eventTypes = Collections.synchronizedList(new ArrayList<String>());
+        private volatile Thread deliveryThread;
+
+        private RecordingListener(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onEvent(ScoreEvent event) throws InterruptedException {
+            deliveryThread = Thread.currentThread();
+            eventTypes.add(event.getEventType());
+            firstEventReceived.countDown();
+            if (release != null) {
+                release.await();
+            }
+        }
+
+        private List<String> getEventTypes() {
+            return new ArrayList<>(eventTypes);
+        }
+    }
+}
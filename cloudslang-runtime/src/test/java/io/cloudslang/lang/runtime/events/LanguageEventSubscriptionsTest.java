@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.steps.AbstractExecutionData;
+import io.cloudslang.score.lang.ExecutionRuntimeServices;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LanguageEventSubscriptionsTest {
+
+    private final Object listener = new Object();
+    private final Object otherListener = new Object();
+
+    @Before
+    @After
+    public void resetSubscriptions() {
+        LanguageEventSubscriptions.reset();
+    }
+
+    @Test
+    public void testAllEventsAreSubscribedUntilTracked() {
+        LanguageEventSubscriptions.setSkipUnsubscribed(true);
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START));
+    }
+
+    @Test
+    public void testSkippingIsOptIn() {
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+    }
+
+    @Test
+    public void testSubscriptionsAreTrackedPerListener() {
+        LanguageEventSubscriptions.setSkipUnsubscribed(true);
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+        LanguageEventSubscriptions.subscribe(otherListener, Collections.singleton(ScoreLangConstants.EVENT_ACTION_END));
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_END));
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+
+        LanguageEventSubscriptions.unsubscribe(listener);
+
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_END));
+    }
+
+    @Test
+    public void testUnsubscribedEventsAreDropped() {
+        LanguageEventSubscriptions.setSkipUnsubscribed(true);
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+        ExecutionRuntimeServices runtimeServices = new ExecutionRuntimeServices();
+
+        AbstractExecutionData.fireEvent(runtimeServices, ScoreLangConstants.EVENT_ACTION_START, "desc", "0",
+                LanguageEventData.StepType.ACTION, null, Pair.of(LanguageEventData.CALL_ARGUMENTS, "arguments"));
+        AbstractExecutionData.fireEvent(runtimeServices, ScoreLangConstants.EVENT_EXECUTION_FINISHED, "desc", "0",
+                LanguageEventData.StepType.EXECUTABLE, "flow", Pair.of(LanguageEventData.RESULT, "SUCCESS"));
+
+        assertEquals(1, runtimeServices.getEvents().size());
+        assertEquals(ScoreLangConstants.EVENT_EXECUTION_FINISHED, runtimeServices.getEvents().getFirst().getEventType());
+        assertEquals(1, LanguageEventSubscriptions.getBuiltEventsCount());
+        assertEquals(1, LanguageEventSubscriptions.getDroppedEventsCount());
+    }
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.score.api.execution.ExecutionParametersConsts;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.lang.ExecutionRuntimeServices;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ScoreEventUtilsTest {
+
+    @Test
+    public void testExecutionIdOfLanguageEvent() {
+        LanguageEventData data = new LanguageEventData();
+        data.setExecutionId(1L);
+
+        assertEquals(Long.valueOf(1L), ScoreEventUtils.getExecutionId(new ScoreEvent("type", data)));
+    }
+
+    @Test
+    public void testExecutionIdOfScoreEvents() {
+        Map<String, Serializable> data = new HashMap<>();
+        data.put(EventConstants.EXECUTION_ID_CONTEXT, 2L);
+        ExecutionRuntimeServices runtimeServices = new ExecutionRuntimeServices();
+        runtimeServices.setExecutionId(3L);
+        Map<String, Serializable> systemContextData = new HashMap<>();
+        systemContextData.put(ExecutionParametersConsts.SYSTEM_CONTEXT, runtimeServices);
+
+        assertEquals(Long.valueOf(2L), ScoreEventUtils.getExecutionId(new ScoreEvent("type", (Serializable) data)));
+        assertEquals(Long.valueOf(3L), ScoreEventUtils.getExecutionId(new ScoreEvent("type", (Serializable) systemContextData)));
+        assertNull(ScoreEventUtils.getExecutionId(new ScoreEvent("type", new HashMap<String, Serializable>())));
+        assertNull(ScoreEventUtils.getExecutionId(new ScoreEvent("type", "text")));
+    }
+}
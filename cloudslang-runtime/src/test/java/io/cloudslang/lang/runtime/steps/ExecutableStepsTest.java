@@ -16,6 +16,7 @@ import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
 import io.cloudslang.dependency.impl.services.MavenConfigImpl;
 import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.VariableLayout;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
@@ -28,6 +29,7 @@ import io.cloudslang.lang.runtime.bindings.InputsBinding;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ResultsBinding;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import io.cloudslang.lang.runtime.env.Context;
 import io.cloudslang.lang.runtime.env.ParentFlowData;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
@@ -84,7 +86,7 @@ public class ExecutableStepsTest {
 
     @Test
     public void testStart() throws Exception {
-        executableSteps.startExecutable(new ArrayList<Input>(), new RunEnvironment(), new HashMap<String, Value>(), new ExecutionRuntimeServices(),"", 2L);
+        executableSteps.startExecutable(new ArrayList<Input>(), new RunEnvironment(), new HashMap<String, Value>(), new ExecutionRuntimeServices(),"", 2L, null);
     }
 
     @Test
@@ -96,7 +98,7 @@ public class ExecutableStepsTest {
         resultMap.put("input1", ValueFactory.create(5));
 
         when(inputsBinding.bindInputs(eq(inputs), anyMap(), anySet())).thenReturn(resultMap);
-        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), new ExecutionRuntimeServices(),"", 2L);
+        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), new ExecutionRuntimeServices(),"", 2L, null);
 
         Map<String, Value> opVars = runEnv.getStack().popContext().getImmutableViewOfVariables();
         Assert.assertTrue(opVars.containsKey("input1"));
@@ -108,6 +110,29 @@ public class ExecutableStepsTest {
         Assert.assertEquals(5,callArg.get("input1").get());
     }
 
+    @Test
+    public void testStartWithVariableLayout() throws Exception {
+        List<Input> inputs = Collections.singletonList(new Input.InputBuilder("input1", "input1").build());
+        RunEnvironment runEnv = new RunEnvironment();
+
+        Map<String,Value> resultMap = new HashMap<>();
+        resultMap.put("input1", ValueFactory.create(5));
+
+        when(inputsBinding.bindInputs(eq(inputs), anyMap(), anySet())).thenReturn(resultMap);
+        VariableLayout variableLayout = new VariableLayout(Arrays.asList("input1", "published"));
+        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), new ExecutionRuntimeServices(), "", 2L, variableLayout);
+
+        Context flowContext = runEnv.getStack().popContext();
+        flowContext.putVariable("published", ValueFactory.create("value"));
+        flowContext.putVariable("not_in_layout", ValueFactory.create(true));
+
+        Map<String, Value> expectedVariables = new HashMap<>(resultMap);
+        expectedVariables.put("published", ValueFactory.create("value"));
+        expectedVariables.put("not_in_layout", ValueFactory.create(true));
+        Assert.assertEquals(expectedVariables, flowContext.getImmutableViewOfVariables());
+        Assert.assertEquals(5, flowContext.getVariable("input1").get());
+    }
+
     @Test
     public void testBoundInputEvent(){
         List<Input> inputs = Arrays.asList(
@@ -124,7 +149,7 @@ public class ExecutableStepsTest {
         resultMap.put("input2", ValueFactory.create(inputs.get(1).getValue()));
 
         when(inputsBinding.bindInputs(eq(inputs), anyMap(), anySet())).thenReturn(resultMap);
-        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), runtimeServices, "dockerizeStep", 2L);
+        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), runtimeServices, "dockerizeStep", 2L, null);
         Collection<ScoreEvent> events = runtimeServices.getEvents();
 
         Assert.assertFalse(events.isEmpty());
@@ -162,7 +187,7 @@ public class ExecutableStepsTest {
         RunEnvironment runEnv = new RunEnvironment();
 
         Long nextStepPosition = 2L;
-        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), new ExecutionRuntimeServices(), "", nextStepPosition);
+        executableSteps.startExecutable(inputs, runEnv, new HashMap<String, Value>(), new ExecutionRuntimeServices(), "", nextStepPosition, null);
 
         Assert.assertEquals(nextStepPosition, runEnv.removeNextStepPosition());
     }
@@ -16,6 +16,7 @@ import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
 import io.cloudslang.dependency.impl.services.MavenConfigImpl;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
@@ -27,6 +28,7 @@ import io.cloudslang.lang.runtime.bindings.LoopsBinding;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParallelLoopChunk;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -121,6 +123,7 @@ public class ParallelLoopStepsTest {
                 1234L,
                 5L,
                 branchBeginStepID,
+                2L,
                 refId
         );
 
@@ -170,6 +173,7 @@ public class ParallelLoopStepsTest {
                 1234L,
                 5L,
                 branchBeginStepID,
+                2L,
                 refId
         );
 
@@ -189,6 +193,145 @@ public class ParallelLoopStepsTest {
         Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
     }
 
+    @Test
+    public void testBranchesAreCreatedInRounds() throws Exception {
+        ParallelLoopStatement parallelLoopStatement = new ParallelLoopStatement("varName", "expression", 2);
+
+        RunEnvironment runEnvironment = new RunEnvironment();
+        Context context = new Context(new HashMap<String, Value>());
+        runEnvironment.getStack().pushContext(context);
+
+        List<Output> stepPublishValues = Lists.newArrayList(new Output("outputName", ValueFactory.create("outputExpression")));
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT, new ResultNavigation(0L, ScoreLangConstants.SUCCESS_RESULT));
+        String nodeName = "nodeName";
+        String refId = "branch_id";
+        Long branchBeginStepID = 3L;
+        Long splitStepID = 2L;
+
+        List<Value> splitData = Lists.newArrayList(ValueFactory.create(1), ValueFactory.create(2), ValueFactory.create(3));
+        when(parallelLoopBinding.bindParallelLoopList(eq(parallelLoopStatement), eq(context), eq(runEnvironment.getSystemProperties()), eq(nodeName))).thenReturn(splitData);
+
+        // first round
+        ExecutionRuntimeServices firstRoundServices = mock(ExecutionRuntimeServices.class);
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, firstRoundServices, nodeName,
+                1234L, 5L, branchBeginStepID, splitStepID, refId);
+
+        verify(firstRoundServices, times(2)).addBranch(eq(branchBeginStepID), eq(refId), anyMapOf(String.class, Serializable.class));
+        Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
+
+        Map<String, Serializable> runtimeContext1 = createBranchRuntimeContext("branch1Output", 1);
+        Map<String, Serializable> runtimeContext2 = createBranchRuntimeContext("branch2Output", 2);
+        Map<String, Serializable> runtimeContext3 = createBranchRuntimeContext("branch3Output", 3);
+        when(firstRoundServices.getFinishedChildBranchesData()).thenReturn(
+                Lists.newArrayList(createEndBranchDataContainer(runtimeContext1), createEndBranchDataContainer(runtimeContext2)));
+        parallelLoopSteps.joinBranches(runEnvironment, firstRoundServices, stepPublishValues, stepNavigationValues, nodeName);
+
+        Assert.assertEquals(splitStepID, runEnvironment.removeNextStepPosition());
+        verify(outputsBinding, never()).bindOutputs(anyMapOf(String.class, Value.class), anyMapOf(String.class, Value.class),
+                anySetOf(SystemProperty.class), anyListOf(Output.class));
+
+        // second round
+        ExecutionRuntimeServices secondRoundServices = mock(ExecutionRuntimeServices.class);
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, secondRoundServices, nodeName,
+                1234L, 5L, branchBeginStepID, splitStepID, refId);
+
+        ArgumentCaptor<Map> branchContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(secondRoundServices).addBranch(eq(branchBeginStepID), eq(refId), branchContextArgumentCaptor.capture());
+        RunEnvironment branchRunEnvironment = (RunEnvironment) branchContextArgumentCaptor.getValue().get(ScoreLangConstants.RUN_ENV);
+        Context branchContext = branchRunEnvironment.getStack().popContext();
+        Assert.assertEquals(ValueFactory.create(3), branchContext.getImmutableViewOfVariables().get("varName"));
+        Assert.assertTrue(branchContext.getImmutableViewOfLanguageVariables().isEmpty());
+        Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
+
+        when(secondRoundServices.getFinishedChildBranchesData()).thenReturn(
+                Lists.newArrayList(createEndBranchDataContainer(runtimeContext3)));
+        parallelLoopSteps.joinBranches(runEnvironment, secondRoundServices, stepPublishValues, stepNavigationValues, nodeName);
+
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding).bindOutputs(anyMapOf(String.class, Value.class), aggregateContextArgumentCaptor.capture(),
+                eq(runEnvironment.getSystemProperties()), eq(stepPublishValues));
+        @SuppressWarnings("unchecked")
+        Map<String, Value> aggregateContext = aggregateContextArgumentCaptor.getValue();
+        Assert.assertEquals(Lists.newArrayList(runtimeContext1, runtimeContext2, runtimeContext3),
+                aggregateContext.get(RuntimeConstants.BRANCHES_CONTEXT_KEY).get());
+        Assert.assertEquals(0L, (long) runEnvironment.removeNextStepPosition());
+        Assert.assertTrue(runEnvironment.getStack().popContext().getImmutableViewOfLanguageVariables().isEmpty());
+    }
+
+    @Test
+    public void testBranchesRunChunksOfItems() throws Exception {
+        ParallelLoopStatement parallelLoopStatement = new ParallelLoopStatement("varName", "expression", 0, 2);
+
+        RunEnvironment runEnvironment = new RunEnvironment();
+        Context context = new Context(new HashMap<String, Value>());
+        runEnvironment.getStack().pushContext(context);
+
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT, new ResultNavigation(0L, ScoreLangConstants.SUCCESS_RESULT));
+        stepNavigationValues.put(ScoreLangConstants.FAILURE_RESULT, new ResultNavigation(1L, ScoreLangConstants.FAILURE_RESULT));
+        String nodeName = "nodeName";
+        String refId = "branch_id";
+        Long branchBeginStepID = 3L;
+
+        List<Value> splitData = Lists.newArrayList(ValueFactory.create(1), ValueFactory.create(2), ValueFactory.create(3));
+        when(parallelLoopBinding.bindParallelLoopList(eq(parallelLoopStatement), eq(context), eq(runEnvironment.getSystemProperties()), eq(nodeName))).thenReturn(splitData);
+
+        ExecutionRuntimeServices executionRuntimeServices = mock(ExecutionRuntimeServices.class);
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, executionRuntimeServices, nodeName,
+                1234L, 5L, branchBeginStepID, 2L, refId);
+
+        ArgumentCaptor<Map> branchContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(executionRuntimeServices, times(2)).addBranch(eq(branchBeginStepID), eq(refId), branchContextArgumentCaptor.capture());
+        @SuppressWarnings("unchecked")
+        List<Map> branchContexts = branchContextArgumentCaptor.getAllValues();
+        RunEnvironment chunkRunEnvironment = (RunEnvironment) branchContexts.get(0).get(ScoreLangConstants.RUN_ENV);
+        RunEnvironment singleItemRunEnvironment = (RunEnvironment) branchContexts.get(1).get(ScoreLangConstants.RUN_ENV);
+        Assert.assertEquals("0.2.0", singleItemRunEnvironment.getExecutionPath().getCurrentPath());
+        Context singleItemContext = singleItemRunEnvironment.getStack().popContext();
+        Assert.assertEquals(ValueFactory.create(3), singleItemContext.getVariable("varName"));
+
+        // run the chunk as the branch steps would
+        Context chunkContext = chunkRunEnvironment.getStack().popContext();
+        Assert.assertNull(chunkContext.getVariable("varName"));
+        ParallelLoopChunk chunk = (ParallelLoopChunk) chunkContext
+                .getLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY).get();
+        Assert.assertEquals(ValueFactory.create(1), chunk.nextItem());
+        chunk.addItemResult("0", new ReturnValues(createVariables("item", 1), ScoreLangConstants.SUCCESS_RESULT));
+        Assert.assertTrue(chunk.hasMore());
+        Assert.assertEquals(ValueFactory.create(2), chunk.nextItem());
+        chunk.addItemResult("1", new ReturnValues(createVariables("item", 2), ScoreLangConstants.FAILURE_RESULT));
+        Assert.assertFalse(chunk.hasMore());
+        chunkRunEnvironment.getStack().pushContext(chunkContext);
+        chunkRunEnvironment.putReturnValues(new ReturnValues(new HashMap<String, Value>(), ScoreLangConstants.FAILURE_RESULT));
+
+        singleItemRunEnvironment.getStack().pushContext(createContext(createBranchRuntimeContext("item", 3)));
+        singleItemRunEnvironment.putReturnValues(new ReturnValues(new HashMap<String, Value>(), ScoreLangConstants.SUCCESS_RESULT));
+        List<EndBranchDataContainer> branchesData = Lists.newArrayList(
+                new EndBranchDataContainer(branchContexts.get(0), new HashMap<String, Serializable>(), null),
+                new EndBranchDataContainer(branchContexts.get(1), new HashMap<String, Serializable>(), null));
+        when(executionRuntimeServices.getFinishedChildBranchesData()).thenReturn(branchesData);
+
+        List<Output> stepPublishValues = Lists.newArrayList(new Output("outputName", ValueFactory.create("outputExpression")));
+        parallelLoopSteps.joinBranches(runEnvironment, executionRuntimeServices, stepPublishValues, stepNavigationValues, nodeName);
+
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding).bindOutputs(anyMapOf(String.class, Value.class), aggregateContextArgumentCaptor.capture(),
+                eq(runEnvironment.getSystemProperties()), eq(stepPublishValues));
+        @SuppressWarnings("unchecked")
+        Map<String, Value> aggregateContext = aggregateContextArgumentCaptor.getValue();
+        Map<String, Serializable> failedItemContext = new HashMap<>();
+        failedItemContext.put("item", 2);
+        failedItemContext.put(ScoreLangConstants.BRANCH_RESULT_KEY, ScoreLangConstants.FAILURE_RESULT);
+        Assert.assertEquals(Lists.newArrayList(createBranchRuntimeContext("item", 1), failedItemContext,
+                createBranchRuntimeContext("item", 3)), aggregateContext.get(RuntimeConstants.BRANCHES_CONTEXT_KEY).get());
+        Assert.assertEquals(1L, (long) runEnvironment.removeNextStepPosition());
+    }
+
     @Test
     public void testJoinBranchesPublish() throws Exception {
         // prepare arguments
@@ -255,6 +398,44 @@ public class ParallelLoopStepsTest {
         Assert.assertEquals(expectedBranchContexts, actualBranchesContexts);
     }
 
+    @Test
+    public void testIncrementalJoinKeepsOnlyPublishedVariables() throws Exception {
+        RunEnvironment runEnvironment = new RunEnvironment();
+        runEnvironment.getExecutionPath().down();
+        runEnvironment.getStack().pushContext(new Context(new HashMap<String, Value>()));
+
+        List<Output> stepPublishValues = Lists.newArrayList(
+                new Output("outputName", ValueFactory.create("${ map(lambda x:str(x['published']), branches_context) }")));
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT, new ResultNavigation(0L, ScoreLangConstants.SUCCESS_RESULT));
+
+        Map<String, Serializable> runtimeContext1 = createBranchRuntimeContext("published", 1);
+        runtimeContext1.put("notPublished", 1);
+        Map<String, Serializable> runtimeContext2 = createBranchRuntimeContext("published", 2);
+        runtimeContext2.put("notPublished", 2);
+        ExecutionRuntimeServices executionRuntimeServices = mock(ExecutionRuntimeServices.class);
+        when(executionRuntimeServices.getFinishedChildBranchesData()).thenReturn(
+                Lists.newArrayList(createEndBranchDataContainer(runtimeContext1), createEndBranchDataContainer(runtimeContext2)));
+
+        parallelLoopSteps.setIncrementalJoin(true);
+        try {
+            parallelLoopSteps.joinBranches(runEnvironment, executionRuntimeServices, stepPublishValues, stepNavigationValues, "nodeName");
+        } finally {
+            parallelLoopSteps.setIncrementalJoin(false);
+        }
+
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding).bindOutputs(anyMapOf(String.class, Value.class), aggregateContextArgumentCaptor.capture(),
+                eq(runEnvironment.getSystemProperties()), eq(stepPublishValues));
+        runtimeContext1.remove("notPublished");
+        runtimeContext2.remove("notPublished");
+        @SuppressWarnings("unchecked")
+        Map<String, Value> aggregateContext = aggregateContextArgumentCaptor.getValue();
+        Assert.assertEquals(Lists.newArrayList(runtimeContext1, runtimeContext2),
+                aggregateContext.get(RuntimeConstants.BRANCHES_CONTEXT_KEY).get());
+    }
+
     @Test
     public void testJoinBranchesNavigationAllBranchesSucced() throws Exception {
         // prepare arguments
@@ -496,6 +677,29 @@ public class ParallelLoopStepsTest {
         return executionRuntimeServices;
     }
 
+    private Map<String, Serializable> createBranchRuntimeContext(String outputName, Serializable outputValue) {
+        Map<String, Serializable> runtimeContext = new HashMap<>();
+        runtimeContext.put(outputName, outputValue);
+        runtimeContext.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        return runtimeContext;
+    }
+
+    private EndBranchDataContainer createEndBranchDataContainer(Map<String, Serializable> runtimeContext) {
+        RunEnvironment branchRuntimeEnvironment = new RunEnvironment();
+        branchRuntimeEnvironment.getExecutionPath().down();
+        branchRuntimeEnvironment.getStack().pushContext(createContext(runtimeContext));
+        branchRuntimeEnvironment.putReturnValues(new ReturnValues(new HashMap<String, Value>(), ScoreLangConstants.SUCCESS_RESULT));
+        Map<String, Serializable> branchContext = new HashMap<>();
+        branchContext.put(ScoreLangConstants.RUN_ENV, branchRuntimeEnvironment);
+        return new EndBranchDataContainer(branchContext, new HashMap<String, Serializable>(), null);
+    }
+
+    private Map<String, Value> createVariables(String name, Serializable value) {
+        Map<String, Value> variables = new HashMap<>();
+        variables.put(name, ValueFactory.create(value));
+        return variables;
+    }
+
     private Context createContext(Map<String, Serializable> runtimeContext) {
         Map<String, Value> context = new HashMap<>(runtimeContext.size());
         for (Map.Entry<String, Serializable> entry : runtimeContext.entrySet()) {
@@ -30,6 +30,7 @@ import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.env.Context;
 import io.cloudslang.lang.runtime.env.ForLoopCondition;
 import io.cloudslang.lang.runtime.env.LoopCondition;
+import io.cloudslang.lang.runtime.env.ParallelLoopChunk;
 import io.cloudslang.lang.runtime.env.ParentFlowData;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
@@ -474,6 +475,58 @@ public class StepExecutionDataTest {
         Assert.assertFalse(context.getImmutableViewOfLanguageVariables().containsKey(LoopCondition.LOOP_CONDITION_KEY));
     }
 
+    @Test
+    public void testParallelLoopBranchRunsChunkItemsOneAfterTheOther() throws Exception {
+        RunEnvironment runEnv = new RunEnvironment();
+        runEnv.getExecutionPath().down();
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("flowVar", ValueFactory.create("flowValue"));
+        ParallelLoopChunk chunk = new ParallelLoopChunk("item",
+                Lists.newArrayList(ValueFactory.create(1), ValueFactory.create(2)), new Context(new HashMap<>(variables)));
+        Context branchContext = new Context(variables);
+        branchContext.putLanguageVariable(ParallelLoopChunk.PARALLEL_LOOP_CHUNK_KEY, ValueFactory.create(chunk));
+        runEnv.getStack().pushContext(branchContext);
+        HashMap<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+
+        // first item
+        stepExecutionData.beginStep(new ArrayList<Argument>(), null, runEnv, createRuntimeServices(), "step1", 1L, 2L, "2");
+        Context itemContext = runEnv.getStack().popContext();
+        Assert.assertEquals(ValueFactory.create(1), itemContext.getVariable("item"));
+        runEnv.getStack().pushContext(itemContext);
+        runEnv.putReturnValues(new ReturnValues(createOutputs("out", "first"), ScoreLangConstants.FAILURE_RESULT));
+        stepExecutionData.endStep(runEnv, new ArrayList<Output>(), stepNavigationValues,
+                createRuntimeServices(), 1L, new ArrayList<String>(), "step1", true);
+
+        Assert.assertEquals(1L, (long) runEnv.removeNextStepPosition());
+        Assert.assertEquals("1.0", runEnv.getExecutionPath().getCurrentPath());
+        Context secondItemContext = runEnv.getStack().popContext();
+        Assert.assertNull(secondItemContext.getVariable("out"));
+        Assert.assertEquals(ValueFactory.create("flowValue"), secondItemContext.getVariable("flowVar"));
+        runEnv.getStack().pushContext(secondItemContext);
+
+        // second item
+        stepExecutionData.beginStep(new ArrayList<Argument>(), null, runEnv, createRuntimeServices(), "step1", 1L, 2L, "2");
+        runEnv.putReturnValues(new ReturnValues(createOutputs("out", "second"), ScoreLangConstants.SUCCESS_RESULT));
+        stepExecutionData.endStep(runEnv, new ArrayList<Output>(), stepNavigationValues,
+                createRuntimeServices(), 1L, new ArrayList<String>(), "step1", true);
+
+        Assert.assertNull(runEnv.removeNextStepPosition());
+        Assert.assertEquals(Lists.newArrayList("0", "1"), chunk.getItemsPaths());
+        List<ReturnValues> itemsReturnValues = chunk.getItemsReturnValues();
+        Assert.assertEquals(ScoreLangConstants.FAILURE_RESULT, itemsReturnValues.get(0).getResult());
+        Assert.assertEquals(ValueFactory.create("first"), itemsReturnValues.get(0).getOutputs().get("out"));
+        Assert.assertEquals(ValueFactory.create(1), itemsReturnValues.get(0).getOutputs().get("item"));
+        Assert.assertEquals(ScoreLangConstants.SUCCESS_RESULT, itemsReturnValues.get(1).getResult());
+        Assert.assertEquals(ValueFactory.create("second"), itemsReturnValues.get(1).getOutputs().get("out"));
+        Assert.assertEquals(ValueFactory.create(2), itemsReturnValues.get(1).getOutputs().get("item"));
+    }
+
+    private Map<String, Value> createOutputs(String name, Serializable value) {
+        Map<String, Value> outputs = new HashMap<>();
+        outputs.put(name, ValueFactory.create(value));
+        return outputs;
+    }
+
     private ExecutionRuntimeServices createRuntimeServices(){
         ExecutionRuntimeServices runtimeServices = new ExecutionRuntimeServices();
         runtimeServices.setSubFlowsData(new HashMap<String, Long>(), new HashMap<String, Long>());